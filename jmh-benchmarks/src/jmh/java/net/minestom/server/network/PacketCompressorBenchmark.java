@@ -0,0 +1,92 @@
+package net.minestom.server.network;
+
+import net.minestom.server.network.compression.PacketCompressor;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compression throughput, {@link Ratio} reports the compressed size to compare the bytes saved.
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class PacketCompressorBenchmark {
+
+    @Param({"zlib", "fast"})
+    public String compressor;
+
+    @Param({"1", "6", "9"})
+    public int level;
+
+    @Param({"chunk", "text", "random"})
+    public String data;
+
+    PacketCompressor packetCompressor;
+    ByteBuffer input;
+    ByteBuffer output;
+
+    @Setup
+    public void setup() {
+        final PacketCompressor.LevelPolicy policy = PacketCompressor.LevelPolicy.constant(level);
+        this.packetCompressor = compressor.equals("zlib") ? PacketCompressor.zlib(policy) : PacketCompressor.fast(policy);
+        final byte[] bytes = switch (data) {
+            case "chunk" -> chunkData();
+            case "text" -> "{\"text\":\"Hello World!\",\"color\":\"gold\",\"bold\":true}".repeat(200).getBytes();
+            case "random" -> {
+                byte[] array = new byte[16_384];
+                new Random(0).nextBytes(array);
+                yield array;
+            }
+            default -> throw new IllegalStateException("Unknown data: " + data);
+        };
+        this.input = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        this.output = ByteBuffer.allocateDirect(bytes.length * 2 + 64);
+    }
+
+    @Benchmark
+    public void compress(Ratio ratio) {
+        packetCompressor.compress(0, input.position(0), output.clear());
+        ratio.inputBytes += input.limit();
+        ratio.outputBytes += output.position();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Ratio {
+        public long inputBytes;
+        public long outputBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.inputBytes = 0;
+            this.outputBytes = 0;
+        }
+    }
+
+    /**
+     * Mimics the sections of a chunk data packet, mostly stone with a few ores and air at the top.
+     */
+    private static byte[] chunkData() {
+        Random random = new Random(0);
+        ByteBuffer buffer = ByteBuffer.allocate(24 * (2 + 4 + 256 * 8));
+        for (int section = 0; section < 24; section++) {
+            buffer.putShort((short) (section < 16 ? 4096 : 0));
+            buffer.putInt(section < 16 ? 0x04010203 : 0);
+            for (int i = 0; i < 256; i++) {
+                long value = 0;
+                for (int j = 0; j < 16; j++) {
+                    final int block = section >= 16 ? 0 : random.nextInt(20) == 0 ? 1 + random.nextInt(3) : 0;
+                    value |= (long) block << (j * 4);
+                }
+                buffer.putLong(value);
+            }
+        }
+        return buffer.array();
+    }
+}
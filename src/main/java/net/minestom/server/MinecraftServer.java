@@ -11,8 +11,10 @@ import net.minestom.server.instance.InstanceManager;
 import net.minestom.server.instance.block.BlockManager;
 import net.minestom.server.listener.manager.PacketListenerManager;
 import net.minestom.server.monitoring.BenchmarkManager;
+import net.minestom.server.monitoring.TickProfiler;
 import net.minestom.server.network.ConnectionManager;
 import net.minestom.server.network.PacketProcessor;
+import net.minestom.server.network.compression.PacketCompressor;
 import net.minestom.server.network.packet.server.play.PluginMessagePacket;
 import net.minestom.server.network.packet.server.play.ServerDifficultyPacket;
 import net.minestom.server.network.socket.Server;
@@ -22,6 +24,7 @@ import net.minestom.server.thread.TickSchedulerThread;
 import net.minestom.server.timer.SchedulerManager;
 import net.minestom.server.utils.MathUtils;
 import net.minestom.server.utils.PacketUtils;
+import net.minestom.server.utils.PropertyUtils;
 import net.minestom.server.utils.validate.Check;
 import net.minestom.server.world.Difficulty;
 import net.minestom.server.world.DimensionTypeManager;
@@ -59,6 +62,11 @@ public final class MinecraftServer {
     // Can be modified at performance cost when increased
     public static final int TICK_PER_SECOND = Integer.getInteger("minestom.tps", 20);
     public static final int TICK_MS = 1000 / TICK_PER_SECOND;
+    // Threads ticking chunks and entities, grouped by square regions of chunks when above 1
+    public static final int TICK_THREAD_COUNT = Integer.getInteger("minestom.tick-threads", 1);
+    public static final int TICK_REGION_SIZE = Integer.getInteger("minestom.tick-region-size", 8);
+    public static final boolean TICK_WORK_STEALING = PropertyUtils.getBoolean("minestom.tick-work-stealing", false);
+    public static final boolean TICK_BALANCING = PropertyUtils.getBoolean("minestom.tick-balancing", false);
 
     // In-Game Manager
     private static volatile ServerProcess serverProcess;
@@ -66,6 +74,8 @@ public final class MinecraftServer {
     private static int chunkViewDistance = Integer.getInteger("minestom.chunk-view-distance", 8);
     private static int entityViewDistance = Integer.getInteger("minestom.entity-view-distance", 5);
     private static int compressionThreshold = 256;
+    private static PacketCompressor packetCompressor = "fast".equals(System.getProperty("minestom.packet-compressor")) ?
+            PacketCompressor.fast() : PacketCompressor.zlib();
     private static boolean terminalEnabled = System.getProperty("minestom.terminal.disabled") == null;
     private static String brandName = "Minestom";
     private static Difficulty difficulty = Difficulty.NORMAL;
@@ -174,6 +184,15 @@ public final class MinecraftServer {
         return serverProcess.benchmark();
     }
 
+    /**
+     * Gets the profiler breaking down the server ticks.
+     *
+     * @return the tick profiler
+     */
+    public static TickProfiler getTickProfiler() {
+        return serverProcess.profiler();
+    }
+
     public static ExceptionManager getExceptionManager() {
         return serverProcess.exception();
     }
@@ -268,6 +287,28 @@ public final class MinecraftServer {
         MinecraftServer.compressionThreshold = compressionThreshold;
     }
 
+    /**
+     * Gets the compressor used for packets above the {@link #getCompressionThreshold() compression threshold}.
+     *
+     * @return the packet compressor
+     */
+    public static @NotNull PacketCompressor getPacketCompressor() {
+        return packetCompressor;
+    }
+
+    /**
+     * Changes the packet compressor.
+     * <p>
+     * WARNING: this need to be called before {@link #start(SocketAddress)}.
+     *
+     * @param packetCompressor the new packet compressor
+     * @throws IllegalStateException if this is called after the server started
+     */
+    public static void setPacketCompressor(@NotNull PacketCompressor packetCompressor) {
+        Check.stateCondition(serverProcess.isAlive(), "The packet compressor cannot be changed after the server has been started.");
+        MinecraftServer.packetCompressor = packetCompressor;
+    }
+
     /**
      * Gets if the built in Minestom terminal is enabled.
      *
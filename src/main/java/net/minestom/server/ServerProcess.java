@@ -13,6 +13,7 @@ import net.minestom.server.instance.block.BlockManager;
 import net.minestom.server.instance.block.rule.BlockPlacementRule;
 import net.minestom.server.listener.manager.PacketListenerManager;
 import net.minestom.server.monitoring.BenchmarkManager;
+import net.minestom.server.monitoring.TickProfiler;
 import net.minestom.server.network.ConnectionManager;
 import net.minestom.server.network.PacketProcessor;
 import net.minestom.server.network.socket.Server;
@@ -76,6 +77,11 @@ public interface ServerProcess extends Snapshotable {
 
     @NotNull BenchmarkManager benchmark();
 
+    /**
+     * Breaks down the server ticks, disabled by default.
+     */
+    @NotNull TickProfiler profiler();
+
     /**
      * Handles registered dimensions.
      */
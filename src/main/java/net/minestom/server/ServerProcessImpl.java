@@ -8,16 +8,19 @@ import net.minestom.server.entity.Entity;
 import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.GlobalEventHandler;
 import net.minestom.server.event.server.ServerTickMonitorEvent;
+import net.minestom.server.event.server.ServerTickProfileEvent;
 import net.minestom.server.exception.ExceptionManager;
 import net.minestom.server.extensions.ExtensionManager;
 import net.minestom.server.gamedata.tags.TagManager;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.InstanceContainer;
 import net.minestom.server.instance.InstanceManager;
 import net.minestom.server.instance.block.BlockManager;
 import net.minestom.server.listener.manager.PacketListenerManager;
 import net.minestom.server.monitoring.BenchmarkManager;
 import net.minestom.server.monitoring.TickMonitor;
+import net.minestom.server.monitoring.TickProfiler;
 import net.minestom.server.network.ConnectionManager;
 import net.minestom.server.network.PacketProcessor;
 import net.minestom.server.network.socket.Server;
@@ -27,6 +30,7 @@ import net.minestom.server.snapshot.*;
 import net.minestom.server.terminal.MinestomTerminal;
 import net.minestom.server.thread.Acquirable;
 import net.minestom.server.thread.ThreadDispatcher;
+import net.minestom.server.thread.ThreadProvider;
 import net.minestom.server.timer.SchedulerManager;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.collection.MappedCollection;
@@ -67,6 +71,7 @@ final class ServerProcessImpl implements ServerProcess {
     private final Server server;
 
     private final ThreadDispatcher<Chunk> dispatcher;
+    private final TickProfiler profiler;
     private final Ticker ticker;
 
     private final AtomicBoolean started = new AtomicBoolean();
@@ -93,7 +98,18 @@ final class ServerProcessImpl implements ServerProcess {
         this.tag = new TagManager();
         this.server = new Server(packetProcessor);
 
-        this.dispatcher = ThreadDispatcher.singleThread();
+        final int tickThreads = MinecraftServer.TICK_THREAD_COUNT;
+        if (tickThreads > 1) {
+            ThreadProvider<Chunk> provider = ThreadProvider.region(tickThreads, MinecraftServer.TICK_REGION_SIZE);
+            // Balance whole regions based on their tick time
+            if (MinecraftServer.TICK_BALANCING) provider = ThreadProvider.balanced(provider);
+            this.dispatcher = MinecraftServer.TICK_WORK_STEALING ?
+                    ThreadDispatcher.workStealing(provider, tickThreads) :
+                    ThreadDispatcher.of(provider, tickThreads);
+        } else {
+            this.dispatcher = ThreadDispatcher.singleThread();
+        }
+        this.profiler = new TickProfiler();
         this.ticker = new TickerImpl();
     }
 
@@ -142,6 +158,11 @@ final class ServerProcessImpl implements ServerProcess {
         return benchmark;
     }
 
+    @Override
+    public @NotNull TickProfiler profiler() {
+        return profiler;
+    }
+
     @Override
     public @NotNull DimensionTypeManager dimension() {
         return dimension;
@@ -276,27 +297,37 @@ final class ServerProcessImpl implements ServerProcess {
         @Override
         public void tick(long nanoTime) {
             final long msTime = System.currentTimeMillis();
+            final TickProfiler profiler = profiler();
+            profiler.startTick(nanoTime);
 
             scheduler().processTick();
+            profiler.phase(TickProfiler.Phase.SCHEDULER);
 
             // Waiting players update (newly connected clients waiting to get into the server)
             connection().updateWaitingPlayers();
+            profiler.phase(TickProfiler.Phase.WAITING_PLAYERS);
 
             // Keep Alive Handling
             connection().handleKeepAlive(msTime);
+            profiler.phase(TickProfiler.Phase.KEEP_ALIVE);
 
             // Server tick (chunks/entities)
             serverTick(msTime);
 
             // Flush all waiting packets
             PacketUtils.flush();
+            profiler.phase(TickProfiler.Phase.PACKET_FLUSH);
 
             // Monitoring
             {
                 final double acquisitionTimeMs = Acquirable.resetAcquiringTime() / 1e6D;
-                final double tickTimeMs = (System.nanoTime() - nanoTime) / 1e6D;
+                final long tickTime = System.nanoTime() - nanoTime;
+                final double tickTimeMs = tickTime / 1e6D;
                 final TickMonitor tickMonitor = new TickMonitor(tickTimeMs, acquisitionTimeMs);
                 EventDispatcher.call(new ServerTickMonitorEvent(tickMonitor));
+                if (profiler.endTick(tickTime)) {
+                    EventDispatcher.call(new ServerTickProfileEvent(profiler));
+                }
             }
         }
 
@@ -309,12 +340,18 @@ final class ServerProcessImpl implements ServerProcess {
                     exception().handleException(e);
                 }
             }
+            profiler().phase(TickProfiler.Phase.INSTANCES);
             // Tick all chunks (and entities inside)
             dispatcher().updateAndAwait(tickStart);
+            // Send the block changes of the tick
+            for (Instance instance : instance().getInstances()) {
+                if (instance instanceof InstanceContainer container) container.flushBlockChanges();
+            }
 
-            // Clear removed entities & update threads
+            // Clear removed entities & update threads, using the remaining tick time
             final long tickTime = System.currentTimeMillis() - tickStart;
-            dispatcher().refreshThreads(tickTime);
+            dispatcher().refreshThreads(Math.max(0, MinecraftServer.TICK_MS - tickTime) * 1_000_000L);
+            profiler().phase(TickProfiler.Phase.DISPATCHER);
         }
     }
 }
@@ -8,6 +8,7 @@ import net.minestom.server.entity.EntityType;
 import net.minestom.server.entity.GameMode;
 import net.minestom.server.entity.Player;
 import net.minestom.server.entity.metadata.other.ArmorStandMeta;
+import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import org.jetbrains.annotations.NotNull;
@@ -332,30 +333,38 @@ final class BlockCollision {
     }
 
     static Entity canPlaceBlockAt(Instance instance, Point blockPos, Block b) {
-        for (Entity entity : instance.getNearbyEntities(blockPos, 3)) {
-            final EntityType type = entity.getEntityType();
-            if (type == EntityType.ITEM || type == EntityType.ARROW)
-                continue;
-            // Marker Armor Stands should not prevent block placement
-            if (entity.getEntityMeta() instanceof ArmorStandMeta armorStandMeta && armorStandMeta.isMarker())
-                continue;
-
-            final boolean intersects;
-            if (type == EntityType.PLAYER) {
-                // Ignore spectators
-                if (((Player)entity).getGameMode() == GameMode.SPECTATOR)
-                    continue;
-                // Need to move player slightly away from block we're placing.
-                // If player is at block 40 we cannot place a block at block 39 with side length 1 because the block will be in [39, 40]
-                // For this reason we subtract a small amount from the player position
-                Point playerPos = entity.getPosition().add(entity.getPosition().sub(blockPos).mul(0.0000001));
-                intersects = b.registry().collisionShape().intersectBox(playerPos.sub(blockPos), entity.getBoundingBox());
-            } else {
-                intersects = b.registry().collisionShape().intersectBox(entity.getPosition().sub(blockPos), entity.getBoundingBox());
-            }
-            if (intersects) return entity;
+        // Only look at the entities overlapping the block shape, which can exceed its cell (e.g. fences)
+        final Shape shape = b.registry().collisionShape();
+        final Point start = shape.relativeStart(), end = shape.relativeEnd();
+        if (start.x() > end.x() || start.y() > end.y() || start.z() > end.z()) return null; // No collision
+        final BoundingBox shapeBox = new BoundingBox(end.x() - start.x(), end.y() - start.y(), end.z() - start.z(), start);
+        Entity[] collision = new Entity[1];
+        instance.getEntityTracker().intersectingEntities(blockPos, shapeBox,
+                EntityTracker.Target.ENTITIES, entity -> {
+                    if (collision[0] == null && preventsPlacement(entity, blockPos, b)) collision[0] = entity;
+                });
+        return collision[0];
+    }
+
+    private static boolean preventsPlacement(Entity entity, Point blockPos, Block b) {
+        final EntityType type = entity.getEntityType();
+        if (type == EntityType.ITEM || type == EntityType.ARROW)
+            return false;
+        // Marker Armor Stands should not prevent block placement
+        if (entity.getEntityMeta() instanceof ArmorStandMeta armorStandMeta && armorStandMeta.isMarker())
+            return false;
+
+        if (type == EntityType.PLAYER) {
+            // Ignore spectators
+            if (((Player)entity).getGameMode() == GameMode.SPECTATOR)
+                return false;
+            // Need to move player slightly away from block we're placing.
+            // If player is at block 40 we cannot place a block at block 39 with side length 1 because the block will be in [39, 40]
+            // For this reason we subtract a small amount from the player position
+            Point playerPos = entity.getPosition().add(entity.getPosition().sub(blockPos).mul(0.0000001));
+            return b.registry().collisionShape().intersectBox(playerPos.sub(blockPos), entity.getBoundingBox());
         }
-        return null;
+        return b.registry().collisionShape().intersectBox(entity.getPosition().sub(blockPos), entity.getBoundingBox());
     }
 
     /**
@@ -1,5 +1,8 @@
 package net.minestom.server.entity;
 
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import net.kyori.adventure.sound.Sound;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.HoverEvent;
@@ -32,7 +35,6 @@ import net.minestom.server.instance.InstanceManager;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.network.packet.server.CachedPacket;
-import net.minestom.server.network.packet.server.LazyPacket;
 import net.minestom.server.network.packet.server.ServerPacket;
 import net.minestom.server.network.packet.server.play.*;
 import net.minestom.server.permission.Permission;
@@ -140,10 +142,7 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
 
         @Override
         public void referenceUpdate(@NotNull Point point, @Nullable EntityTracker tracker) {
-            final Instance currentInstance = tracker != null ? instance : null;
-            assert currentInstance == null || currentInstance.getEntityTracker() == tracker :
-                    "EntityTracker does not match current instance";
-            viewEngine.updateTracker(currentInstance, point);
+            viewEngine.updateTracked(tracker != null);
         }
     };
 
@@ -165,6 +164,14 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
     private static final Duration SYNCHRONIZATION_COOLDOWN = Duration.of(1, TimeUnit.MINUTE);
     private Duration customSynchronizationCooldown;
     private long lastAbsoluteSynchronizationTime;
+    private final EntityMovementEncoder movementEncoder = new EntityMovementEncoder();
+    // Whether the position has been refreshed since the last movement synchronization
+    private volatile boolean movementChanged;
+    private volatile List<TrackingTier> trackingTiers = TrackingTier.DEFAULT;
+    // Absolute position sent to the viewers of each tier
+    private EntityMovementEncoder[] tierEncoders = new EntityMovementEncoder[0];
+    // Viewer id -> tier of the last synchronization, -1 if near or unknown
+    private final Int2IntOpenHashMap viewerTiers = new Int2IntOpenHashMap();
 
     protected Metadata metadata = new Metadata(this);
     protected EntityMeta entityMeta;
@@ -183,6 +190,7 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         this.position = Pos.ZERO;
         this.previousPosition = Pos.ZERO;
         this.lastSyncedPosition = Pos.ZERO;
+        this.viewerTiers.defaultReturnValue(-1);
 
         this.entityMeta = EntityTypeImpl.createMeta(entityType, this, this.metadata);
 
@@ -328,8 +336,7 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         final Pos currentPosition = this.position;
         if (currentPosition.sameView(yaw, pitch)) return;
         this.position = currentPosition.withView(yaw, pitch);
-        sendPacketToViewersAndSelf(new EntityHeadLookPacket(getEntityId(), yaw));
-        sendPacketToViewersAndSelf(new EntityRotationPacket(getEntityId(), yaw, pitch, onGround));
+        this.movementChanged = true;
     }
 
     /**
@@ -384,6 +391,17 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         this.viewEngine.viewableOption.updateRule();
     }
 
+    /**
+     * Evaluates the viewable rule again for a single nearby player, cheaper than {@link #updateViewableRule()}
+     * when only the state of this player changed.
+     *
+     * @param player the player to update the visibility for
+     */
+    @ApiStatus.Experimental
+    public void updateViewableRuleFor(@NotNull Player player) {
+        this.viewEngine.viewableOption.updateRule(player);
+    }
+
     /**
      * Gets if surrounding entities are automatically visible by this.
      * True by default.
@@ -415,6 +433,17 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         this.viewEngine.viewerOption.updateRule();
     }
 
+    /**
+     * Evaluates the viewer rule again for a single nearby entity, cheaper than {@link #updateViewerRule()}
+     * when only the state of this entity changed.
+     *
+     * @param entity the entity to update the visibility of
+     */
+    @ApiStatus.Experimental
+    public void updateViewerRuleFor(@NotNull Entity entity) {
+        this.viewEngine.viewerOption.updateRule(entity);
+    }
+
     @Override
     public final boolean addViewer(@NotNull Player player) {
         if (!viewEngine.manualAdd(player)) return false;
@@ -437,19 +466,37 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
      */
     @ApiStatus.Internal
     public void updateNewViewer(@NotNull Player player) {
-        player.sendPacket(getEntityType().registry().spawnType().getSpawnPacket(this));
-        if (hasVelocity()) player.sendPacket(getVelocityPacket());
-        player.sendPacket(new LazyPacket(this::getMetadataPacket));
+        // Relative moves sent afterward must start from the spawn position
+        synchronizeMovement();
+        sendPacketToNewViewer(player, getEntityType().registry().spawnType().getSpawnPacket(this));
+        if (hasVelocity()) sendPacketToNewViewer(player, getVelocityPacket());
+        sendPacketToNewViewer(player, getMetadataPacket());
         // Passengers
         final Set<Entity> passengers = this.passengers;
         if (!passengers.isEmpty()) {
             for (Entity passenger : passengers) {
                 if (passenger != player) passenger.updateNewViewer(player);
             }
-            player.sendPacket(getPassengersPacket());
+            sendPacketToNewViewer(player, getPassengersPacket());
         }
         // Head position
-        player.sendPacket(new EntityHeadLookPacket(getEntityId(), position.yaw()));
+        sendPacketToNewViewer(player, new EntityHeadLookPacket(getEntityId(), position.yaw()));
+    }
+
+    /**
+     * Sends a packet describing this entity to a new viewer.
+     * <p>
+     * The packet is prepared for the entity chunk like the movement updates,
+     * so that the viewer receives it after the movement already pending.
+     *
+     * @param player the new viewer
+     * @param packet the packet to send
+     */
+    @ApiStatus.Internal
+    protected void sendPacketToNewViewer(@NotNull Player player, @NotNull ServerPacket packet) {
+        final Chunk chunk = currentChunk;
+        if (chunk != null) PacketUtils.prepareGroupedPacket(chunk, List.of(player), packet);
+        else player.sendPacket(packet);
     }
 
     /**
@@ -467,6 +514,11 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
             }
         }
         player.sendPacket(destroyPacketCache);
+        if (!trackingTiers.isEmpty()) {
+            synchronized (movementEncoder) {
+                this.viewerTiers.remove(player.getEntityId());
+            }
+        }
     }
 
     @Override
@@ -543,6 +595,7 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
             // remove expired effects
             effectTick(time);
         }
+        synchronizeMovement();
         // Scheduled synchronization
         if (!Cooldown.hasCooldown(time, lastAbsoluteSynchronizationTime, getSynchronizationCooldown())) {
             synchronizePosition(false);
@@ -848,6 +901,11 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         this.isActive = true;
         this.position = spawnPosition;
         this.previousPosition = spawnPosition;
+        synchronized (movementEncoder) {
+            this.lastSyncedPosition = spawnPosition;
+            this.movementEncoder.reset(spawnPosition);
+            this.movementChanged = false;
+        }
         this.instance = instance;
         return instance.loadOptionalChunk(spawnPosition).thenAccept(chunk -> {
             try {
@@ -1279,33 +1337,117 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
     public void refreshPosition(@NotNull final Pos newPosition, boolean ignoreView) {
         final var previousPosition = this.position;
         final Pos position = ignoreView ? previousPosition.withCoord(newPosition) : newPosition;
-        if (position.equals(lastSyncedPosition)) return;
+        if (position.equals(previousPosition)) return;
         this.position = position;
         this.previousPosition = previousPosition;
         if (!position.samePoint(previousPosition)) refreshCoordinate(position);
-        // Update viewers
-        final boolean viewChange = !position.sameView(lastSyncedPosition);
-        final double distanceX = Math.abs(position.x() - lastSyncedPosition.x());
-        final double distanceY = Math.abs(position.y() - lastSyncedPosition.y());
-        final double distanceZ = Math.abs(position.z() - lastSyncedPosition.z());
-        final boolean positionChange = (distanceX + distanceY + distanceZ) > 0;
-
-        final Chunk chunk = getChunk();
-        if (distanceX > 8 || distanceY > 8 || distanceZ > 8) {
-            PacketUtils.prepareViewablePacket(chunk, new EntityTeleportPacket(getEntityId(), position, isOnGround()), this);
-            this.lastAbsoluteSynchronizationTime = System.currentTimeMillis();
-        } else if (positionChange && viewChange) {
-            PacketUtils.prepareViewablePacket(chunk, EntityPositionAndRotationPacket.getPacket(getEntityId(), position,
-                    lastSyncedPosition, isOnGround()), this);
-            // Fix head rotation
-            PacketUtils.prepareViewablePacket(chunk, new EntityHeadLookPacket(getEntityId(), position.yaw()), this);
-        } else if (positionChange) {
-            PacketUtils.prepareViewablePacket(chunk, EntityPositionPacket.getPacket(getEntityId(), position, lastSyncedPosition, onGround), this);
-        } else if (viewChange) {
-            PacketUtils.prepareViewablePacket(chunk, new EntityHeadLookPacket(getEntityId(), position.yaw()), this);
-            PacketUtils.prepareViewablePacket(chunk, new EntityRotationPacket(getEntityId(), position.yaw(), position.pitch(), onGround), this);
+        // Viewers are updated once per tick
+        this.movementChanged = true;
+    }
+
+    /**
+     * Sends the movement since the last synchronization to the viewers, using relative moves when possible.
+     * <p>
+     * Called at the end of the tick, so that multiple position changes result in a single update.
+     */
+    @ApiStatus.Internal
+    public void synchronizeMovement() {
+        final List<TrackingTier> tiers = this.trackingTiers;
+        if (!movementChanged && tiers.isEmpty()) return;
+        synchronized (movementEncoder) {
+            final Chunk chunk = getChunk();
+            if (chunk == null) return;
+            if (!tiers.isEmpty()) {
+                synchronizeTiers(chunk, tiers);
+                return;
+            }
+            if (!movementChanged) return;
+            this.movementChanged = false;
+            final Pos position = this.position;
+            if (movementEncoder.encode(getEntityId(), position, onGround,
+                    packet -> PacketUtils.prepareViewablePacket(chunk, packet, this))) {
+                this.lastAbsoluteSynchronizationTime = System.currentTimeMillis();
+            }
+            this.lastSyncedPosition = position;
         }
-        this.lastSyncedPosition = position;
+    }
+
+    private void synchronizeTiers(Chunk chunk, List<TrackingTier> tiers) {
+        final int entityId = getEntityId();
+        // Tier changes of a still entity are noticed on the next interval of any tier
+        boolean due = movementChanged;
+        for (int i = 0; i < tiers.size() && !due; i++) {
+            due = (ticks + entityId) % tiers.get(i).interval() == 0;
+        }
+        if (!due) return;
+        final Pos position = this.position;
+        if (tierEncoders.length != tiers.size()) {
+            this.tierEncoders = new EntityMovementEncoder[tiers.size()];
+            for (int i = 0; i < tierEncoders.length; i++) tierEncoders[i] = new EntityMovementEncoder();
+        }
+        // Group the viewers by tier
+        List<Player> nearViewers = movementChanged ? new ArrayList<>() : null;
+        List<Player> resyncViewers = null;
+        Int2ObjectMap<List<Player>> tierViewers = null;
+        for (Player viewer : getViewers()) {
+            final int tier = TrackingTier.tierOf(tiers, viewer.getPosition().distanceSquared(position));
+            final int previousTier = viewerTiers.put(viewer.getEntityId(), tier);
+            if (previousTier >= 0 && previousTier != tier) {
+                // Only received the absolute positions of its previous tier
+                if (resyncViewers == null) resyncViewers = new ArrayList<>();
+                resyncViewers.add(viewer);
+            } else if (tier == -1) {
+                if (nearViewers != null) nearViewers.add(viewer);
+            } else if ((ticks + entityId) % tiers.get(tier).interval() == 0) {
+                if (tierViewers == null) tierViewers = new Int2ObjectArrayMap<>(tiers.size());
+                tierViewers.computeIfAbsent(tier, t -> new ArrayList<>()).add(viewer);
+            }
+        }
+        // Sent after the packets already prepared for the chunk, such as a teleport
+        if (nearViewers != null) {
+            this.movementChanged = false;
+            if (movementEncoder.encode(entityId, position, onGround,
+                    packet -> PacketUtils.prepareGroupedPacket(chunk, nearViewers, packet))) {
+                this.lastAbsoluteSynchronizationTime = System.currentTimeMillis();
+            }
+            this.lastSyncedPosition = position;
+        }
+        if (resyncViewers != null) {
+            // Next relative moves start from the last synchronized position
+            final Pos synced = this.lastSyncedPosition;
+            PacketUtils.prepareGroupedPacket(chunk, resyncViewers, new EntityTeleportPacket(entityId, synced, onGround));
+            PacketUtils.prepareGroupedPacket(chunk, resyncViewers, new EntityHeadLookPacket(entityId, synced.yaw()));
+        }
+        if (tierViewers == null) return;
+        for (Int2ObjectMap.Entry<List<Player>> entry : tierViewers.int2ObjectEntrySet()) {
+            final List<Player> viewers = entry.getValue();
+            tierEncoders[entry.getIntKey()].encodeAbsolute(entityId, position, onGround,
+                    packet -> PacketUtils.prepareGroupedPacket(chunk, viewers, packet));
+        }
+    }
+
+    /**
+     * Gets the tiers reducing the movement update rate for far viewers.
+     *
+     * @return the tracking tiers, sorted by distance
+     */
+    @ApiStatus.Experimental
+    public @NotNull List<TrackingTier> getTrackingTiers() {
+        return trackingTiers;
+    }
+
+    /**
+     * Changes the tiers reducing the movement update rate for far viewers.
+     * <p>
+     * An empty list sends every movement to all viewers.
+     *
+     * @param trackingTiers the new tracking tiers
+     */
+    @ApiStatus.Experimental
+    public void setTrackingTiers(@NotNull List<TrackingTier> trackingTiers) {
+        List<TrackingTier> tiers = new ArrayList<>(trackingTiers);
+        tiers.sort(Comparator.comparingDouble(TrackingTier::distance));
+        this.trackingTiers = List.copyOf(tiers);
     }
 
     @ApiStatus.Internal
@@ -1536,11 +1678,15 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
      */
     @ApiStatus.Internal
     protected void synchronizePosition(boolean includeSelf) {
-        final Pos posCache = this.position;
-        final ServerPacket packet = new EntityTeleportPacket(getEntityId(), posCache, isOnGround());
-        PacketUtils.prepareViewablePacket(currentChunk, packet, this);
-        this.lastAbsoluteSynchronizationTime = System.currentTimeMillis();
-        this.lastSyncedPosition = posCache;
+        synchronized (movementEncoder) {
+            final Pos posCache = this.position;
+            final ServerPacket packet = new EntityTeleportPacket(getEntityId(), posCache, isOnGround());
+            PacketUtils.prepareViewablePacket(currentChunk, packet, this);
+            this.lastAbsoluteSynchronizationTime = System.currentTimeMillis();
+            this.lastSyncedPosition = posCache;
+            this.movementEncoder.reset(posCache);
+            this.movementChanged = false;
+        }
     }
 
     /**
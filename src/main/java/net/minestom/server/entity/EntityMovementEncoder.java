@@ -0,0 +1,96 @@
+package net.minestom.server.entity;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.network.packet.server.play.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Encodes the movement of an entity for its viewers, picking the smallest packet for the delta.
+ * <p>
+ * Positions are kept in 1/4096 of a block like the client does,
+ * relative moves therefore never accumulate rounding errors.
+ */
+final class EntityMovementEncoder {
+    // Last position sent to the viewers
+    private long x, y, z;
+    private byte yaw, pitch, headYaw;
+
+    /**
+     * Sets the position known by the viewers, after a teleport or a spawn.
+     */
+    void reset(@NotNull Pos position) {
+        this.x = encode(position.x());
+        this.y = encode(position.y());
+        this.z = encode(position.z());
+        this.yaw = angle(position.yaw());
+        this.pitch = angle(position.pitch());
+        this.headYaw = yaw;
+    }
+
+    /**
+     * Gets if the viewers already know {@code position}.
+     */
+    boolean isSynchronized(@NotNull Pos position) {
+        return x == encode(position.x()) && y == encode(position.y()) && z == encode(position.z()) &&
+                yaw == angle(position.yaw()) && pitch == angle(position.pitch());
+    }
+
+    /**
+     * Writes the packets moving the entity from the last encoded position to {@code position}.
+     * Nothing is written if the entity did not move.
+     *
+     * @return true if the entity had to be teleported
+     */
+    boolean encode(int entityId, @NotNull Pos position, boolean onGround, @NotNull Consumer<ServerPacket> consumer) {
+        final long x = encode(position.x()), y = encode(position.y()), z = encode(position.z());
+        final long deltaX = x - this.x, deltaY = y - this.y, deltaZ = z - this.z;
+        final byte yaw = angle(position.yaw()), pitch = angle(position.pitch());
+        final boolean teleport = deltaX != (short) deltaX || deltaY != (short) deltaY || deltaZ != (short) deltaZ;
+        if (teleport) {
+            consumer.accept(new EntityTeleportPacket(entityId, position, onGround));
+        } else {
+            final boolean moved = (deltaX | deltaY | deltaZ) != 0;
+            final boolean rotated = yaw != this.yaw || pitch != this.pitch;
+            if (moved && rotated) {
+                consumer.accept(new EntityPositionAndRotationPacket(entityId, (short) deltaX, (short) deltaY, (short) deltaZ,
+                        position.yaw(), position.pitch(), onGround));
+            } else if (moved) {
+                consumer.accept(new EntityPositionPacket(entityId, (short) deltaX, (short) deltaY, (short) deltaZ, onGround));
+            } else if (rotated) {
+                consumer.accept(new EntityRotationPacket(entityId, position.yaw(), position.pitch(), onGround));
+            }
+        }
+        if (yaw != headYaw) {
+            consumer.accept(new EntityHeadLookPacket(entityId, position.yaw()));
+            this.headYaw = yaw;
+        }
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        return teleport;
+    }
+
+    /**
+     * Writes a teleport to {@code position} if it changed since the last update,
+     * for the viewers that do not receive every relative move.
+     */
+    void encodeAbsolute(int entityId, @NotNull Pos position, boolean onGround, @NotNull Consumer<ServerPacket> consumer) {
+        if (!isSynchronized(position)) consumer.accept(new EntityTeleportPacket(entityId, position, onGround));
+        if (angle(position.yaw()) != headYaw) consumer.accept(new EntityHeadLookPacket(entityId, position.yaw()));
+        reset(position);
+    }
+
+    private static long encode(double coordinate) {
+        return Math.round(coordinate * 4096);
+    }
+
+    private static byte angle(float angle) {
+        // Same conversion as the packets
+        return (byte) (angle * 256 / 360);
+    }
+}
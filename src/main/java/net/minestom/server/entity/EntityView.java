@@ -4,12 +4,7 @@ import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
-import net.minestom.server.MinecraftServer;
-import net.minestom.server.coordinate.Point;
-import net.minestom.server.instance.EntityTracker;
-import net.minestom.server.instance.Instance;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -17,7 +12,6 @@ import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 final class EntityView {
-    private static final int RANGE = MinecraftServer.getEntityViewDistance();
     private final Entity entity;
     private final Set<Player> manualViewers = new HashSet<>();
 
@@ -29,11 +23,12 @@ final class EntityView {
     final Set<Player> set = new SetImpl();
     private final Object mutex = this;
 
-    private volatile TrackedLocation trackedLocation;
+    // Whether the entity is registered in an entity tracker, guarded by the mutex
+    private boolean tracked;
 
     public EntityView(Entity entity) {
         this.entity = entity;
-        this.viewableOption = new Option<>(EntityTracker.Target.PLAYERS, Entity::autoViewEntities,
+        this.viewableOption = new Option<>(Entity::autoViewEntities,
                 player -> {
                     // Add viewable
                     var lock1 = player.getEntityId() < entity.getEntityId() ? player : entity;
@@ -60,16 +55,23 @@ final class EntityView {
                     }
                     entity.updateOldViewer(player);
                 });
-        this.viewerOption = new Option<>(EntityTracker.Target.ENTITIES, Entity::isAutoViewable,
+        this.viewerOption = new Option<>(Entity::isAutoViewable,
                 entity instanceof Player player ? e -> e.viewEngine.viewableOption.addition.accept(player) : null,
                 entity instanceof Player player ? e -> e.viewEngine.viewableOption.removal.accept(player) : null);
     }
 
-    public void updateTracker(@Nullable Instance instance, @NotNull Point point) {
-        this.trackedLocation = instance != null ? new TrackedLocation(instance, point) : null;
-    }
-
-    record TrackedLocation(Instance instance, Point point) {
+    public void updateTracked(boolean tracked) {
+        final Entity[] viewers, viewables;
+        synchronized (mutex) {
+            if (this.tracked == tracked) return;
+            this.tracked = tracked;
+            if (tracked) return;
+            viewers = viewerOption.nearby.values().toArray(Entity[]::new);
+            viewables = viewableOption.nearby.values().toArray(Entity[]::new);
+        }
+        // Drop the pairs left by deltas racing with the unregistration
+        for (Entity nearby : viewers) trackNearby(nearby, false);
+        for (Entity nearby : viewables) trackNearby(nearby, false);
     }
 
     public boolean manualAdd(@NotNull Player player) {
@@ -108,13 +110,39 @@ final class EntityView {
     }
 
     public void handleAutoViewAddition(Entity entity) {
+        if (!trackNearby(entity, true)) return;
         handleAutoView(entity, viewerOption.addition, viewableOption.addition);
     }
 
     public void handleAutoViewRemoval(Entity entity) {
+        trackNearby(entity, false);
         handleAutoView(entity, viewerOption.removal, viewableOption.removal);
     }
 
+    private boolean trackNearby(Entity entity, boolean inRange) {
+        // The tracker only notifies one side of the pair, update both under a single lock pass
+        final boolean viewer = this.entity instanceof Player, viewable = entity instanceof Player;
+        if (!viewer && !viewable) return false;
+        final EntityView other = entity.viewEngine;
+        final var lock1 = entity.getEntityId() < this.entity.getEntityId() ? other : this;
+        final var lock2 = lock1 == this ? other : this;
+        synchronized (lock1.mutex) {
+            synchronized (lock2.mutex) {
+                // A late addition must not revive a pair after either side left its tracker
+                if (inRange && (!tracked || !other.tracked)) return false;
+                if (viewer) {
+                    viewerOption.trackNearby0(entity, inRange);
+                    other.viewableOption.trackNearby0((Player) this.entity, inRange);
+                }
+                if (viewable) {
+                    viewableOption.trackNearby0((Player) entity, inRange);
+                    other.viewerOption.trackNearby0(this.entity, inRange);
+                }
+                return true;
+            }
+        }
+    }
+
     private void handleAutoView(Entity entity, Consumer<Entity> viewer, Consumer<Player> viewable) {
         if (this.entity instanceof Player && viewerOption.isAuto() && entity.isAutoViewable()) {
             if (viewer != null) viewer.accept(entity); // Send packet to this player
@@ -127,23 +155,22 @@ final class EntityView {
     public final class Option<T extends Entity> {
         @SuppressWarnings("rawtypes")
         private static final AtomicIntegerFieldUpdater<EntityView.Option> UPDATER = AtomicIntegerFieldUpdater.newUpdater(EntityView.Option.class, "auto");
-        // Entities that should be tracked from this option
-        private final EntityTracker.Target<T> target;
         // The condition that must be met for this option to be considered auto.
         private final Predicate<T> loopPredicate;
         // The consumers to be called when an entity is added/removed.
         public final Consumer<T> addition, removal;
         // Contains all the auto-entity ids that are viewable by this option.
         public final IntSet bitSet = new IntOpenHashSet();
+        // Entities within the view distance, maintained from the tracker updates
+        private final Int2ObjectOpenHashMap<T> nearby = new Int2ObjectOpenHashMap<>();
         // 1 if auto, 0 if manual
         private volatile int auto = 1;
         // The custom rule used to determine if an entity is viewable.
         // null if auto-viewable
         private Predicate<T> predicate = null;
 
-        public Option(EntityTracker.Target<T> target, Predicate<T> loopPredicate,
+        public Option(Predicate<T> loopPredicate,
                       Consumer<T> addition, Consumer<T> removal) {
-            this.target = target;
             this.loopPredicate = loopPredicate;
             this.addition = addition;
             this.removal = removal;
@@ -194,6 +221,34 @@ final class EntityView {
             }
         }
 
+        /**
+         * Evaluates the rule again for a single entity, whose state changed.
+         */
+        public void updateRule(T entity) {
+            synchronized (mutex) {
+                if (!nearby.containsKey(entity.getEntityId())) return;
+                final Predicate<T> predicate = this.predicate;
+                update(entity, loopPredicate, nearbyEntity -> {
+                    final boolean result = predicate == null || predicate.test(nearbyEntity);
+                    if (result != isRegistered(nearbyEntity)) {
+                        if (result) addition.accept(nearbyEntity);
+                        else removal.accept(nearbyEntity);
+                    }
+                });
+            }
+        }
+
+        private void trackNearby0(T entity, boolean inRange) {
+            if (inRange) nearby.put(entity.getEntityId(), entity);
+            else nearby.remove(entity.getEntityId());
+        }
+
+        int nearbyCount() {
+            synchronized (mutex) {
+                return nearby.size();
+            }
+        }
+
         void updateRule0(Predicate<T> predicate) {
             if (predicate == null) {
                 update(loopPredicate, entity -> {
@@ -212,27 +267,19 @@ final class EntityView {
 
         private void update(Predicate<T> visibilityPredicate,
                             Consumer<T> action) {
-            references().forEach(entity -> {
-                if (entity == EntityView.this.entity || !visibilityPredicate.test(entity)) return;
-                if (entity instanceof Player player && manualViewers.contains(player)) return;
-                if (entity.getVehicle() != null) return;
-                action.accept(entity);
-            });
+            if (nearby.isEmpty()) return;
+            // Copy since the actions may change the nearby entities
+            for (Object entity : nearby.values().toArray()) {
+                //noinspection unchecked
+                update((T) entity, visibilityPredicate, action);
+            }
         }
 
-        private int lastSize;
-
-        private Collection<T> references() {
-            final TrackedLocation trackedLocation = EntityView.this.trackedLocation;
-            if (trackedLocation == null) return List.of();
-            final Instance instance = trackedLocation.instance();
-            final Point point = trackedLocation.point();
-
-            Int2ObjectOpenHashMap<T> entityMap = new Int2ObjectOpenHashMap<>(lastSize);
-            instance.getEntityTracker().nearbyEntitiesByChunkRange(point, RANGE, target,
-                    (entity) -> entityMap.putIfAbsent(entity.getEntityId(), entity));
-            this.lastSize = entityMap.size();
-            return entityMap.values();
+        private void update(T entity, Predicate<T> visibilityPredicate, Consumer<T> action) {
+            if (entity == EntityView.this.entity || !visibilityPredicate.test(entity)) return;
+            if (entity instanceof Player player && manualViewers.contains(player)) return;
+            if (entity.getVehicle() != null) return;
+            action.accept(entity);
         }
     }
 
@@ -18,7 +18,6 @@ import net.minestom.server.instance.EntityTracker;
 import net.minestom.server.inventory.EquipmentHandler;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.network.ConnectionState;
-import net.minestom.server.network.packet.server.LazyPacket;
 import net.minestom.server.network.packet.server.play.CollectItemPacket;
 import net.minestom.server.network.packet.server.play.EntityAnimationPacket;
 import net.minestom.server.network.packet.server.play.EntityPropertiesPacket;
@@ -203,18 +202,16 @@ public class LivingEntity extends Entity implements EquipmentHandler {
         // Items picking
         if (canPickupItem() && itemPickupCooldown.isReady(time)) {
             itemPickupCooldown.refreshLastUpdate(time);
-            this.instance.getEntityTracker().nearbyEntities(position, expandedBoundingBox.width(),
+            this.instance.getEntityTracker().intersectingEntities(position, expandedBoundingBox,
                     EntityTracker.Target.ITEMS, itemEntity -> {
                         if (this instanceof Player player && !itemEntity.isViewer(player)) return;
                         if (!itemEntity.isPickable()) return;
-                        if (expandedBoundingBox.intersectEntity(position, itemEntity)) {
-                            PickupItemEvent pickupItemEvent = new PickupItemEvent(this, itemEntity);
-                            EventDispatcher.callCancellable(pickupItemEvent, () -> {
-                                final ItemStack item = itemEntity.getItemStack();
-                                sendPacketToViewersAndSelf(new CollectItemPacket(itemEntity.getEntityId(), getEntityId(), item.amount()));
-                                itemEntity.remove();
-                            });
-                        }
+                        PickupItemEvent pickupItemEvent = new PickupItemEvent(this, itemEntity);
+                        EventDispatcher.callCancellable(pickupItemEvent, () -> {
+                            final ItemStack item = itemEntity.getItemStack();
+                            sendPacketToViewersAndSelf(new CollectItemPacket(itemEntity.getEntityId(), getEntityId(), item.amount()));
+                            itemEntity.remove();
+                        });
                     });
         }
     }
@@ -516,9 +513,9 @@ public class LivingEntity extends Entity implements EquipmentHandler {
     @Override
     public void updateNewViewer(@NotNull Player player) {
         super.updateNewViewer(player);
-        player.sendPacket(new LazyPacket(this::getEquipmentsPacket));
-        player.sendPacket(new LazyPacket(this::getPropertiesPacket));
-        if (getTeam() != null) player.sendPacket(getTeam().createTeamsCreationPacket());
+        sendPacketToNewViewer(player, getEquipmentsPacket());
+        sendPacketToNewViewer(player, getPropertiesPacket());
+        if (getTeam() != null) sendPacketToNewViewer(player, getTeam().createTeamsCreationPacket());
     }
 
     @Override
@@ -328,15 +328,13 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
         // Experience orb pickup
         if (experiencePickupCooldown.isReady(time)) {
             experiencePickupCooldown.refreshLastUpdate(time);
-            this.instance.getEntityTracker().nearbyEntities(position, expandedBoundingBox.width(),
+            this.instance.getEntityTracker().intersectingEntities(position, expandedBoundingBox,
                     EntityTracker.Target.EXPERIENCE_ORBS, experienceOrb -> {
-                        if (expandedBoundingBox.intersectEntity(position, experienceOrb)) {
-                            PickupExperienceEvent pickupExperienceEvent = new PickupExperienceEvent(this, experienceOrb);
-                            EventDispatcher.callCancellable(pickupExperienceEvent, () -> {
-                                short experienceCount = pickupExperienceEvent.getExperienceCount(); // TODO give to player
-                                experienceOrb.remove();
-                            });
-                        }
+                        PickupExperienceEvent pickupExperienceEvent = new PickupExperienceEvent(this, experienceOrb);
+                        EventDispatcher.callCancellable(pickupExperienceEvent, () -> {
+                            short experienceCount = pickupExperienceEvent.getExperienceCount(); // TODO give to player
+                            experienceOrb.remove();
+                        });
                     });
         }
 
@@ -1747,6 +1745,8 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
         final PacketListenerManager manager = MinecraftServer.getPacketListenerManager();
         // This method is NOT thread-safe
         this.packets.drain(packet -> manager.processClientPacket(packet, this), PACKET_PER_TICK);
+        // Single movement update for all the received positions
+        synchronizeMovement();
     }
 
     /**
@@ -0,0 +1,46 @@
+package net.minestom.server.entity;
+
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Reduces the movement update rate of an entity for the viewers farther than {@code distance}.
+ * <p>
+ * Viewers within the distance of the first tier receive relative moves every tick, the others receive
+ * the absolute position every {@code interval} ticks of their tier when the entity moved.
+ *
+ * @param distance the minimum distance between the entity and the viewer
+ * @param interval the number of ticks between two updates
+ * @see Entity#setTrackingTiers(List)
+ */
+@ApiStatus.Experimental
+public record TrackingTier(double distance, int interval) {
+    /**
+     * Tiers of new entities, none unless the {@code minestom.tracking-tier-distance} property is set.
+     */
+    public static final List<TrackingTier> DEFAULT = defaultTiers();
+
+    public TrackingTier {
+        Check.argCondition(distance <= 0, "Distance must be positive");
+        Check.argCondition(interval < 1, "Interval must be at least 1");
+    }
+
+    static int tierOf(@NotNull List<TrackingTier> tiers, double distanceSquared) {
+        int tier = -1;
+        for (int i = 0; i < tiers.size(); i++) {
+            final double distance = tiers.get(i).distance();
+            if (distanceSquared < distance * distance) break;
+            tier = i;
+        }
+        return tier;
+    }
+
+    private static List<TrackingTier> defaultTiers() {
+        final int distance = Integer.getInteger("minestom.tracking-tier-distance", 0);
+        if (distance <= 0) return List.of();
+        return List.of(new TrackingTier(distance, Integer.getInteger("minestom.tracking-tier-interval", 4)));
+    }
+}
@@ -0,0 +1,21 @@
+package net.minestom.server.event.server;
+
+import net.minestom.server.event.Event;
+import net.minestom.server.monitoring.TickProfiler;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Called at the end of each tick when the {@link TickProfiler} is enabled,
+ * the last tick timings are available with a {@code ticksAgo} of 0.
+ */
+public final class ServerTickProfileEvent implements Event {
+    private final TickProfiler profiler;
+
+    public ServerTickProfileEvent(@NotNull TickProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    public @NotNull TickProfiler getProfiler() {
+        return profiler;
+    }
+}
@@ -5,6 +5,7 @@ import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -14,21 +15,34 @@ import org.jglrxavpok.hephaistos.nbt.mutable.MutableNBTCompound;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class AnvilLoader implements IChunkLoader {
     private final static Logger LOGGER = LoggerFactory.getLogger(AnvilLoader.class);
     private static final Biome BIOME = Biome.PLAINS;
+    private static final int IO_THREADS = Integer.getInteger("minestom.anvil-io-threads",
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    private static final int LOCK_STRIPES = 64; // Power of two
+    private static final AtomicInteger IO_THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService IO_EXECUTOR = Executors.newFixedThreadPool(IO_THREADS, r -> {
+        Thread thread = new Thread(r, "Ms-AnvilIO-" + IO_THREAD_COUNTER.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private final Map<String, RegionFile> alreadyLoaded = new ConcurrentHashMap<>();
+    // RegionFile is not thread-safe, each region is guarded by its stripe
+    private final ReentrantLock[] regionLocks = new ReentrantLock[LOCK_STRIPES];
     private final Path path;
     private final Path levelPath;
     private final Path regionPath;
@@ -37,6 +51,7 @@ public class AnvilLoader implements IChunkLoader {
         this.path = path;
         this.levelPath = path.resolve("level.dat");
         this.regionPath = path.resolve("region");
+        Arrays.setAll(regionLocks, i -> new ReentrantLock());
     }
 
     public AnvilLoader(@NotNull String path) {
@@ -64,22 +79,37 @@ public class AnvilLoader implements IChunkLoader {
             // No world folder
             return CompletableFuture.completedFuture(null);
         }
+        // Read the chunk data on the I/O threads, decode it outside
+        return CompletableFuture.supplyAsync(() -> readChunkData(instance, chunkX, chunkZ), IO_EXECUTOR)
+                .thenApplyAsync(data -> {
+                    if (data == null) return null;
+                    try {
+                        return loadMCA(instance, new ChunkColumn(data), chunkX, chunkZ);
+                    } catch (Exception e) {
+                        MinecraftServer.getExceptionManager().handleException(e);
+                        return null;
+                    }
+                });
+    }
+
+    private @Nullable NBTCompound readChunkData(Instance instance, int chunkX, int chunkZ) {
+        final int regionX = CoordinatesKt.chunkToRegion(chunkX);
+        final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
+        final ReentrantLock lock = regionLock(regionX, regionZ);
+        lock.lock();
         try {
-            return loadMCA(instance, chunkX, chunkZ);
+            final RegionFile mcaFile = getMCAFile(instance, regionX, regionZ, false);
+            if (mcaFile == null || !mcaFile.hasChunk(chunkX, chunkZ)) return null;
+            return mcaFile.getChunkData(chunkX, chunkZ);
         } catch (Exception e) {
             MinecraftServer.getExceptionManager().handleException(e);
+            return null;
+        } finally {
+            lock.unlock();
         }
-        return CompletableFuture.completedFuture(null);
     }
 
-    private @NotNull CompletableFuture<@Nullable Chunk> loadMCA(Instance instance, int chunkX, int chunkZ) throws IOException, AnvilException {
-        final RegionFile mcaFile = getMCAFile(instance, chunkX, chunkZ);
-        if (mcaFile == null)
-            return CompletableFuture.completedFuture(null);
-        final ChunkColumn fileChunk = mcaFile.getChunk(chunkX, chunkZ);
-        if (fileChunk == null)
-            return CompletableFuture.completedFuture(null);
-
+    private @NotNull Chunk loadMCA(Instance instance, ChunkColumn fileChunk, int chunkX, int chunkZ) throws AnvilException {
         Chunk chunk = new DynamicChunk(instance, chunkX, chunkZ);
         if(fileChunk.getMinY() < instance.getDimensionType().getMinY()) {
             throw new AnvilException(
@@ -101,24 +131,7 @@ public class AnvilLoader implements IChunkLoader {
         // TODO: Parallelize block, block entities and biome loading
 
         if (fileChunk.getGenerationStatus().compareTo(ChunkColumn.GenerationStatus.Biomes) > 0) {
-            HashMap<String, Biome> biomeCache = new HashMap<>();
-
-            for (ChunkSection section : fileChunk.getSections().values()) {
-                if (section.getEmpty()) continue;
-                for (int y = 0; y < Chunk.CHUNK_SECTION_SIZE; y++) {
-                    for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
-                        for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
-                            int finalX = fileChunk.getX() * Chunk.CHUNK_SIZE_X + x;
-                            int finalZ = fileChunk.getZ() * Chunk.CHUNK_SIZE_Z + z;
-                            int finalY = section.getY() * Chunk.CHUNK_SECTION_SIZE + y;
-                            String biomeName = section.getBiome(x, y, z);
-                            Biome biome = biomeCache.computeIfAbsent(biomeName, n ->
-                                    Objects.requireNonNullElse(MinecraftServer.getBiomeManager().getByName(NamespaceID.from(n)), BIOME));
-                            chunk.setBiome(finalX, finalY, finalZ, biome);
-                        }
-                    }
-                }
-            }
+            loadBiomes(chunk, fileChunk);
         }
         // Blocks
         loadBlocks(chunk, fileChunk);
@@ -130,56 +143,119 @@ public class AnvilLoader implements IChunkLoader {
             section.setSkyLight(chunkSection.getSkyLights());
             section.setBlockLight(chunkSection.getBlockLights());
         }
-        mcaFile.forget(fileChunk);
-        return CompletableFuture.completedFuture(chunk);
+        return chunk;
     }
 
-    private @Nullable RegionFile getMCAFile(Instance instance, int chunkX, int chunkZ) {
-        final int regionX = CoordinatesKt.chunkToRegion(chunkX);
-        final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-        return alreadyLoaded.computeIfAbsent(RegionFile.Companion.createFileName(regionX, regionZ), n -> {
-            try {
-                final Path regionPath = this.regionPath.resolve(n);
-                if (!Files.exists(regionPath)) {
-                    return null;
-                }
-                return new RegionFile(new RandomAccessFile(regionPath.toFile(), "rw"), regionX, regionZ, instance.getDimensionType().getMinY(), instance.getDimensionType().getMaxY()-1);
-            } catch (IOException | AnvilException e) {
-                MinecraftServer.getExceptionManager().handleException(e);
-                return null;
+    private @Nullable RegionFile getMCAFile(Instance instance, int regionX, int regionZ, boolean create) {
+        final String fileName = RegionFile.Companion.createFileName(regionX, regionZ);
+        RegionFile mcaFile = alreadyLoaded.get(fileName);
+        if (mcaFile != null) return mcaFile;
+        final Path regionPath = this.regionPath.resolve(fileName);
+        try {
+            if (!Files.exists(regionPath)) {
+                if (!create) return null;
+                Files.createDirectories(this.regionPath);
             }
-        });
+            mcaFile = new RegionFile(new RegionFileSource(regionPath), regionX, regionZ,
+                    instance.getDimensionType().getMinY(), instance.getDimensionType().getMaxY() - 1);
+        } catch (IOException | AnvilException e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+            return null;
+        }
+        // Only called with the region lock held
+        this.alreadyLoaded.put(fileName, mcaFile);
+        return mcaFile;
+    }
+
+    private ReentrantLock regionLock(int regionX, int regionZ) {
+        return regionLocks[(31 * regionX + regionZ) & (LOCK_STRIPES - 1)];
+    }
+
+    private void loadBiomes(Chunk chunk, ChunkColumn fileChunk) {
+        HashMap<String, Biome> biomeCache = new HashMap<>();
+        for (ChunkSection fileSection : fileChunk.getSections().values()) {
+            if (fileSection.getEmpty()) continue;
+            final Section section = chunk.getSection(fileSection.getY());
+            // Biomes are stored per 4x4x4 cell, translate each name once
+            section.biomePalette().setAll((x, y, z) -> {
+                final String biomeName = fileSection.getBiome(x * 4, y * 4, z * 4);
+                final Biome biome = biomeCache.computeIfAbsent(biomeName, n ->
+                        Objects.requireNonNullElse(MinecraftServer.getBiomeManager().getByName(NamespaceID.from(n)), BIOME));
+                return biome.id();
+            });
+        }
     }
 
     private void loadBlocks(Chunk chunk, ChunkColumn fileChunk) {
-        for (var section : fileChunk.getSections().values()) {
-            if (section.getEmpty()) continue;
-            final int yOffset = Chunk.CHUNK_SECTION_SIZE * section.getY();
-            for (int x = 0; x < Chunk.CHUNK_SECTION_SIZE; x++) {
+        // Blocks resolved from the file states, shared by all sections of the chunk
+        HashMap<BlockState, Block> blockCache = new HashMap<>();
+        Block[] blocks = new Block[Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SECTION_SIZE];
+        for (ChunkSection fileSection : fileChunk.getSections().values()) {
+            if (fileSection.getEmpty()) continue;
+            final int yOffset = Chunk.CHUNK_SECTION_SIZE * fileSection.getY();
+            // Translate the section states, consecutive positions usually share the same state instance
+            BlockState lastState = null;
+            Block lastBlock = Block.AIR;
+            boolean hasEntries = false;
+            int index = 0;
+            for (int y = 0; y < Chunk.CHUNK_SECTION_SIZE; y++) {
                 for (int z = 0; z < Chunk.CHUNK_SECTION_SIZE; z++) {
-                    for (int y = 0; y < Chunk.CHUNK_SECTION_SIZE; y++) {
+                    for (int x = 0; x < Chunk.CHUNK_SECTION_SIZE; x++) {
+                        final BlockState blockState;
                         try {
-                            final BlockState blockState = section.get(x, y, z);
-                            final String blockName = blockState.getName();
-                            if (blockName.equals("minecraft:air")) continue;
-                            Block block = Objects.requireNonNull(Block.fromNamespaceId(blockName));
-                            // Properties
-                            final Map<String, String> properties = blockState.getProperties();
-                            if (!properties.isEmpty()) block = block.withProperties(properties);
-                            // Handler
-                            final BlockHandler handler = MinecraftServer.getBlockManager().getHandler(block.name());
-                            if (handler != null) block = block.withHandler(handler);
-
-                            chunk.setBlock(x, y + yOffset, z, block);
-                        } catch (Exception e) {
+                            blockState = fileSection.get(x, y, z);
+                        } catch (AnvilException e) {
                             MinecraftServer.getExceptionManager().handleException(e);
+                            blocks[index++] = Block.AIR;
+                            continue;
                         }
+                        if (blockState != lastState) {
+                            lastState = blockState;
+                            lastBlock = blockCache.computeIfAbsent(blockState, AnvilLoader::toBlock);
+                        }
+                        blocks[index++] = lastBlock;
+                        hasEntries |= isEntry(lastBlock);
+                    }
+                }
+            }
+            final Section section = chunk.getSection(fileSection.getY());
+            section.blockPalette().setAll((x, y, z) -> blocks[(y << 8) | (z << 4) | x].stateId());
+            if (!hasEntries) continue;
+            // Blocks with a handler or block entity data need to be registered by the chunk
+            index = 0;
+            for (int y = 0; y < Chunk.CHUNK_SECTION_SIZE; y++) {
+                for (int z = 0; z < Chunk.CHUNK_SECTION_SIZE; z++) {
+                    for (int x = 0; x < Chunk.CHUNK_SECTION_SIZE; x++) {
+                        final Block block = blocks[index++];
+                        if (isEntry(block)) chunk.setBlock(x, y + yOffset, z, block);
                     }
                 }
             }
         }
     }
 
+    private static Block toBlock(BlockState blockState) {
+        final String blockName = blockState.getName();
+        if (blockName.equals("minecraft:air")) return Block.AIR;
+        try {
+            Block block = Objects.requireNonNull(Block.fromNamespaceId(blockName));
+            // Properties
+            final Map<String, String> properties = blockState.getProperties();
+            if (!properties.isEmpty()) block = block.withProperties(properties);
+            // Handler
+            final BlockHandler handler = MinecraftServer.getBlockManager().getHandler(block.name());
+            if (handler != null) block = block.withHandler(handler);
+            return block;
+        } catch (Exception e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+            return Block.AIR;
+        }
+    }
+
+    private static boolean isEntry(Block block) {
+        return block.handler() != null || block.registry().isBlockEntity();
+    }
+
     private void loadTileEntities(Chunk loadedChunk, ChunkColumn fileChunk) {
         for (NBTCompound te : fileChunk.getTileEntities()) {
             final var x = te.getInt("x");
@@ -227,51 +303,69 @@ public class AnvilLoader implements IChunkLoader {
 
     @Override
     public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
-        final int chunkX = chunk.getChunkX();
-        final int chunkZ = chunk.getChunkZ();
-        RegionFile mcaFile;
-        synchronized (alreadyLoaded) {
-            mcaFile = getMCAFile(chunk.instance, chunkX, chunkZ);
-            if (mcaFile == null) {
-                final int regionX = CoordinatesKt.chunkToRegion(chunkX);
-                final int regionZ = CoordinatesKt.chunkToRegion(chunkZ);
-                final String n = RegionFile.Companion.createFileName(regionX, regionZ);
-                File regionFile = new File(regionPath.toFile(), n);
+        return saveChunks(List.of(chunk));
+    }
+
+    /**
+     * Saves the chunks from the I/O threads, grouped by region so that each region
+     * is locked once and its sectors are written in batches.
+     * <p>
+     * The chunks are copied in the calling thread, the saved data is therefore the one at call time.
+     */
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+        Map<Long, List<Chunk>> regions = new HashMap<>();
+        for (Chunk chunk : chunks) {
+            // Sections are shared with the copy until their next write
+            final Chunk copy;
+            synchronized (chunk) {
+                copy = chunk.copy(chunk.getInstance(), chunk.getChunkX(), chunk.getChunkZ());
+            }
+            final int regionX = CoordinatesKt.chunkToRegion(chunk.getChunkX());
+            final int regionZ = CoordinatesKt.chunkToRegion(chunk.getChunkZ());
+            regions.computeIfAbsent(ChunkUtils.getChunkIndex(regionX, regionZ), i -> new ArrayList<>()).add(copy);
+        }
+        CompletableFuture<?>[] futures = new CompletableFuture[regions.size()];
+        int i = 0;
+        for (var entry : regions.entrySet()) {
+            final long index = entry.getKey();
+            final List<Chunk> regionChunks = entry.getValue();
+            futures[i++] = CompletableFuture.runAsync(() -> saveRegion(ChunkUtils.getChunkCoordX(index),
+                    ChunkUtils.getChunkCoordZ(index), regionChunks), IO_EXECUTOR);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    private void saveRegion(int regionX, int regionZ, List<Chunk> chunks) {
+        final ReentrantLock lock = regionLock(regionX, regionZ);
+        lock.lock();
+        try {
+            final RegionFile mcaFile = getMCAFile(chunks.get(0).instance, regionX, regionZ, true);
+            if (mcaFile == null) return;
+            for (Chunk chunk : chunks) {
+                final int chunkX = chunk.getChunkX();
+                final int chunkZ = chunk.getChunkZ();
                 try {
-                    if (!regionFile.exists()) {
-                        if (!regionFile.getParentFile().exists()) {
-                            regionFile.getParentFile().mkdirs();
-                        }
-                        regionFile.createNewFile();
+                    final ChunkColumn column = mcaFile.getOrCreateChunk(chunkX, chunkZ);
+                    // Only locked to satisfy the chunk accessors, the copy is not shared
+                    synchronized (chunk) {
+                        save(chunk, column);
                     }
-                    mcaFile = new RegionFile(new RandomAccessFile(regionFile, "rw"), regionX, regionZ);
-                    alreadyLoaded.put(n, mcaFile);
+                    LOGGER.debug("Attempt saving at {} {}", chunkX, chunkZ);
+                    mcaFile.writeColumn(column);
+                    mcaFile.forget(column);
                 } catch (AnvilException | IOException e) {
                     LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
                     MinecraftServer.getExceptionManager().handleException(e);
-                    return AsyncUtils.VOID_FUTURE;
                 }
             }
-        }
-        ChunkColumn column;
-        try {
-            column = mcaFile.getOrCreateChunk(chunkX, chunkZ);
-        } catch (AnvilException | IOException e) {
-            LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
-            MinecraftServer.getExceptionManager().handleException(e);
-            return AsyncUtils.VOID_FUTURE;
-        }
-        save(chunk, column);
-        try {
-            LOGGER.debug("Attempt saving at {} {}", chunk.getChunkX(), chunk.getChunkZ());
-            mcaFile.writeColumn(column);
-            mcaFile.forget(column);
+            ((RegionFileSource) mcaFile.getDataSource()).flush();
         } catch (IOException e) {
-            LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
+            LOGGER.error("Failed to save region " + regionX + ", " + regionZ, e);
             MinecraftServer.getExceptionManager().handleException(e);
-            return AsyncUtils.VOID_FUTURE;
+        } finally {
+            lock.unlock();
         }
-        return AsyncUtils.VOID_FUTURE;
     }
 
     private void save(Chunk chunk, ChunkColumn chunkColumn) {
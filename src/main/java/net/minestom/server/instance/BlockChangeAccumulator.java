@@ -0,0 +1,120 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.network.packet.server.play.BlockChangePacket;
+import net.minestom.server.network.packet.server.play.BlockEntityDataPacket;
+import net.minestom.server.network.packet.server.play.MultiBlockChangePacket;
+import net.minestom.server.registry.Registry;
+import net.minestom.server.utils.block.BlockUtils;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the block changes of an instance during a tick to send them once, grouped by section.
+ * <p>
+ * Only the positions are recorded, the blocks are read from the chunk when flushing,
+ * so that other ways of changing or sending blocks (e.g. batches) cannot be overridden by an outdated state.
+ * Sections are locked independently, so that different threads can record changes concurrently.
+ */
+final class BlockChangeAccumulator {
+    private final Map<Long, SectionChanges> sections = new ConcurrentHashMap<>();
+
+    void add(@NotNull Chunk chunk, int x, int y, int z) {
+        final int sectionY = ChunkUtils.getChunkCoordinate(y);
+        final long key = (long) chunk.getChunkX() << 42 | (long) (chunk.getChunkZ() & 0x3FFFFF) << 20 | (sectionY & 0xFFFFF);
+        // Same layout as the MultiBlockChangePacket positions
+        final int index = (int) ChunkUtils.encodeSectionBlockChange(x, y, z, 0);
+        while (true) {
+            final SectionChanges changes = sections.computeIfAbsent(key, k -> new SectionChanges(chunk, sectionY));
+            synchronized (changes) {
+                if (changes.removed) continue; // Removed by a concurrent flush
+                if (changes.chunk != chunk) {
+                    // Chunk reloaded, the previous one cannot be viewed anymore
+                    changes.removed = true;
+                    this.sections.remove(key, changes);
+                    continue;
+                }
+                changes.indexes.addAndMoveToLast(index);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sends the changes collected since the last flush.
+     */
+    void flush() {
+        for (var entry : sections.entrySet()) {
+            final SectionChanges changes = entry.getValue();
+            final IntLinkedOpenHashSet indexes;
+            synchronized (changes) {
+                indexes = changes.indexes;
+                if (indexes.isEmpty()) {
+                    // Unchanged for a whole tick
+                    changes.removed = true;
+                    this.sections.remove(entry.getKey(), changes);
+                    continue;
+                }
+                changes.indexes = new IntLinkedOpenHashSet();
+            }
+            changes.send(indexes);
+        }
+    }
+
+    private static final class SectionChanges {
+        private final Chunk chunk;
+        private final int sectionY;
+        private IntLinkedOpenHashSet indexes = new IntLinkedOpenHashSet();
+        private boolean removed;
+
+        SectionChanges(Chunk chunk, int sectionY) {
+            this.chunk = chunk;
+            this.sectionY = sectionY;
+        }
+
+        void send(IntLinkedOpenHashSet indexes) {
+            if (!chunk.isLoaded() || chunk.getViewers().isEmpty()) return;
+            // Current state, the block may have been changed again since
+            final Block[] blocks = new Block[indexes.size()];
+            synchronized (chunk) {
+                int i = 0;
+                for (IntIterator it = indexes.iterator(); it.hasNext(); ) {
+                    final int index = it.nextInt();
+                    blocks[i++] = chunk.getBlock(index >> 8 & 0xF, sectionY * Chunk.CHUNK_SECTION_SIZE + (index & 0xF),
+                            index >> 4 & 0xF);
+                }
+            }
+            final int[] positions = indexes.toIntArray();
+            if (blocks.length == 1) {
+                chunk.sendPacketToViewers(new BlockChangePacket(position(positions[0]), blocks[0].stateId()));
+            } else {
+                long[] encoded = new long[blocks.length];
+                for (int i = 0; i < blocks.length; i++) {
+                    encoded[i] = (long) blocks[i].stateId() << 12 | positions[i];
+                }
+                chunk.sendPacketToViewers(new MultiBlockChangePacket(chunk.getChunkX(), sectionY, chunk.getChunkZ(),
+                        false, encoded));
+            }
+            // Block entities must be sent after the blocks
+            for (int i = 0; i < blocks.length; i++) {
+                final Block block = blocks[i];
+                final Registry.BlockEntry registry = block.registry();
+                if (!registry.isBlockEntity()) continue;
+                chunk.sendPacketToViewers(new BlockEntityDataPacket(position(positions[i]),
+                        registry.blockEntityId(), BlockUtils.extractClientNbt(block)));
+            }
+        }
+
+        private Vec position(int index) {
+            return new Vec(chunk.getChunkX() * Chunk.CHUNK_SIZE_X + (index >> 8 & 0xF),
+                    sectionY * Chunk.CHUNK_SECTION_SIZE + (index & 0xF),
+                    chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z + (index >> 4 & 0xF));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package net.minestom.server.instance;
 
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minestom.server.Tickable;
 import net.minestom.server.Viewable;
 import net.minestom.server.coordinate.Point;
@@ -14,6 +15,7 @@ import net.minestom.server.tag.Taggable;
 import net.minestom.server.utils.chunk.ChunkSupplier;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.biomes.Biome;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -93,6 +95,39 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
         return getSection(ChunkUtils.getChunkCoordinate(blockY));
     }
 
+    /**
+     * Gets a heightmap of this chunk.
+     * <p>
+     * The default implementation computes it from the sections at each call.
+     *
+     * @param type the heightmap type
+     * @return the heightmap of this chunk
+     */
+    public @NotNull Heightmap heightmap(@NotNull Heightmap.Type type) {
+        Heightmap heightmap = new Heightmap(type, minSection * CHUNK_SECTION_SIZE, (maxSection - minSection) * CHUNK_SECTION_SIZE);
+        heightmap.refresh(getSections());
+        return heightmap;
+    }
+
+    /**
+     * Notifies the chunk that its sections have been modified without {@link #setBlock(int, int, int, Block)},
+     * for example by writing to their palettes.
+     */
+    @ApiStatus.Internal
+    public void invalidate() {
+    }
+
+    /**
+     * Notifies the chunk that blocks have been written straight into the section palettes,
+     * updating the state usually maintained by {@link #setBlock(int, int, int, Block)}.
+     *
+     * @param blockIndexes the {@link ChunkUtils#getBlockIndex(int, int, int) indexes} of the changed blocks
+     */
+    @ApiStatus.Internal
+    public void onBulkChange(@NotNull IntList blockIndexes) {
+        invalidate();
+    }
+
     /**
      * Executes a chunk tick.
      * <p>
@@ -0,0 +1,358 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.binary.BinaryReader;
+import net.minestom.server.utils.binary.BinaryWriter;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jglrxavpok.hephaistos.nbt.NBTCompound;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Chunk loader storing a whole world in a single file, in a format close to the in-memory representation.
+ * <p>
+ * Sections are stored as written by {@link net.minestom.server.instance.palette.Palette#write(BinaryWriter)}
+ * followed by their light arrays, and block entities as their handler and NBT.
+ * An index at the start of the file gives the location of each chunk, and the file is memory-mapped once,
+ * making chunk loading a copy of the palettes data. Chunks can optionally be deflated.
+ * <p>
+ * Meant for read-mostly worlds (e.g. minigame maps), saving rewrites the whole file.
+ * Chunks are encoded in the saving thread, the rewrite is then done by a writer thread
+ * and includes all the chunks saved while the previous one was running.
+ * <p>
+ * Layout: {@code magic, version, minSection, maxSection, chunkCount}, then for each chunk
+ * {@code chunkX, chunkZ, offset, length, uncompressedLength} ({@code 0} if not compressed), then the chunk data.
+ */
+public final class CompactChunkLoader implements IChunkLoader {
+    private static final int MAGIC = 0x4D434857; // MCHW
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES * 4 + Byte.BYTES;
+    private static final int ENTRY_SIZE = Integer.BYTES * 4 + Long.BYTES;
+    private static final ExecutorService WRITE_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Ms-CompactWriter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path path;
+    private final boolean compress;
+
+    private volatile Storage storage;
+
+    // Chunks waiting for the next rewrite, guarded by the pending lock
+    private final Object pendingLock = new Object();
+    private Long2ObjectMap<byte[]> pending;
+    private int pendingMinSection, pendingMaxSection;
+    private CompletableFuture<Void> pendingFuture;
+
+    public CompactChunkLoader(@NotNull Path path, boolean compress) {
+        this.path = path;
+        this.compress = compress;
+    }
+
+    public CompactChunkLoader(@NotNull Path path) {
+        this(path, false);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable Chunk> loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        try {
+            final Storage storage = storage();
+            final Entry entry = storage.entries.get(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+            if (entry == null) return CompletableFuture.completedFuture(null);
+            Chunk chunk = new DynamicChunk(instance, chunkX, chunkZ);
+            if (chunk.getMinSection() != storage.minSection || chunk.getMaxSection() != storage.maxSection) {
+                throw new IllegalStateException("World height does not match the dimension type of " + instance);
+            }
+            readChunk(chunk, storage.data(entry));
+            return CompletableFuture.completedFuture(chunk);
+        } catch (Exception e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+        return saveChunks(List.of(chunk));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+        if (chunks.isEmpty()) return AsyncUtils.VOID_FUTURE;
+        Long2ObjectMap<byte[]> written = new Long2ObjectOpenHashMap<>(chunks.size());
+        for (Chunk chunk : chunks) {
+            // Writing a palette may replace it by its optimized version
+            synchronized (chunk) {
+                written.put(ChunkUtils.getChunkIndex(chunk), writeChunk(chunk));
+            }
+        }
+        final Chunk first = chunks.iterator().next();
+        synchronized (pendingLock) {
+            if (pendingFuture == null) {
+                this.pending = new Long2ObjectOpenHashMap<>();
+                this.pendingMinSection = first.getMinSection();
+                this.pendingMaxSection = first.getMaxSection();
+                this.pendingFuture = new CompletableFuture<>();
+                WRITE_EXECUTOR.execute(this::writePending);
+            } else if (pendingMinSection != first.getMinSection() || pendingMaxSection != first.getMaxSection()) {
+                return CompletableFuture.failedFuture(
+                        new IllegalStateException("Cannot save chunks of a different height in " + path));
+            }
+            this.pending.putAll(written);
+            return pendingFuture;
+        }
+    }
+
+    private void writePending() {
+        final Long2ObjectMap<byte[]> written;
+        final int minSection, maxSection;
+        final CompletableFuture<Void> future;
+        synchronized (pendingLock) {
+            written = this.pending;
+            minSection = this.pendingMinSection;
+            maxSection = this.pendingMaxSection;
+            future = this.pendingFuture;
+            this.pending = null;
+            this.pendingFuture = null;
+        }
+        try {
+            Long2ObjectMap<Entry> writtenEntries = new Long2ObjectOpenHashMap<>(written.size());
+            for (Long2ObjectMap.Entry<byte[]> entry : written.long2ObjectEntrySet()) {
+                byte[] data = entry.getValue();
+                int uncompressedLength = 0;
+                if (compress) {
+                    final byte[] compressed = deflate(data);
+                    if (compressed.length < data.length) {
+                        uncompressedLength = data.length;
+                        data = compressed;
+                        entry.setValue(data);
+                    }
+                }
+                writtenEntries.put(entry.getLongKey(), new Entry(0, data.length, uncompressedLength));
+            }
+            synchronized (this) {
+                rewrite(minSection, maxSection, written, writtenEntries);
+            }
+            future.complete(null);
+        } catch (Throwable e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+            future.completeExceptionally(e);
+        }
+    }
+
+    @Override
+    public boolean supportsParallelLoading() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsParallelSaving() {
+        return true;
+    }
+
+    private Storage storage() throws IOException {
+        Storage storage = this.storage;
+        if (storage == null) {
+            synchronized (this) {
+                storage = this.storage;
+                if (storage == null) {
+                    storage = Storage.open(path);
+                    this.storage = storage;
+                }
+            }
+        }
+        return storage;
+    }
+
+    private void rewrite(int minSection, int maxSection,
+                         Long2ObjectMap<byte[]> written, Long2ObjectMap<Entry> writtenEntries) throws IOException {
+        final Storage previous = storage();
+        if (!previous.entries.isEmpty() &&
+                (previous.minSection != minSection || previous.maxSection != maxSection)) {
+            throw new IllegalStateException("Cannot save chunks of a different height in " + path);
+        }
+        // Keep the chunks which have not been saved again
+        Long2ObjectMap<Entry> entries = new Long2ObjectOpenHashMap<>(previous.entries);
+        entries.putAll(writtenEntries);
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + ENTRY_SIZE * entries.size());
+            header.putInt(MAGIC).put(VERSION).putInt(minSection).putInt(maxSection).putInt(entries.size());
+            List<ByteBuffer> chunks = new ArrayList<>(entries.size());
+            long offset = header.capacity();
+            for (Long2ObjectMap.Entry<Entry> mapEntry : entries.long2ObjectEntrySet()) {
+                final long index = mapEntry.getLongKey();
+                final Entry entry = mapEntry.getValue();
+                final byte[] data = written.get(index);
+                chunks.add(data != null ? ByteBuffer.wrap(data) : previous.raw(entry));
+                header.putInt(ChunkUtils.getChunkCoordX(index)).putInt(ChunkUtils.getChunkCoordZ(index))
+                        .putLong(offset).putInt(entry.length).putInt(entry.uncompressedLength);
+                offset += entry.length;
+            }
+            writeFully(channel, header.flip());
+            for (ByteBuffer chunk : chunks) writeFully(channel, chunk);
+        }
+        previous.close();
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        this.storage = Storage.open(path);
+    }
+
+    private static void readChunk(Chunk chunk, ByteBuffer data) {
+        BinaryReader reader = new BinaryReader(data);
+        for (Section section : chunk.getSections()) {
+            section.blockPalette().read(reader);
+            section.biomePalette().read(reader);
+            section.setSkyLight(reader.readByteArray());
+            section.setBlockLight(reader.readByteArray());
+        }
+        // Block entities
+        final int entryCount = reader.readVarInt();
+        for (int i = 0; i < entryCount; i++) {
+            final int index = reader.readInt();
+            final String handlerId = reader.readSizedString();
+            final NBTCompound nbt = reader.readBoolean() ? (NBTCompound) reader.readTag() : null;
+            final int x = ChunkUtils.blockIndexToChunkPositionX(index);
+            final int y = ChunkUtils.blockIndexToChunkPositionY(index);
+            final int z = ChunkUtils.blockIndexToChunkPositionZ(index);
+            Block block = chunk.getBlock(x, y, z, Block.Getter.Condition.TYPE);
+            if (!handlerId.isEmpty()) {
+                final BlockHandler handler = MinecraftServer.getBlockManager().getHandlerOrDummy(handlerId);
+                block = block.withHandler(handler);
+            }
+            if (nbt != null) block = block.withNbt(nbt);
+            chunk.setBlock(x, y, z, block);
+        }
+    }
+
+    private static byte[] writeChunk(Chunk chunk) {
+        BinaryWriter writer = new BinaryWriter();
+        for (Section section : chunk.getSections()) {
+            writer.write(section.blockPalette());
+            writer.write(section.biomePalette());
+            writer.writeByteArray(section.getSkyLight());
+            writer.writeByteArray(section.getBlockLight());
+        }
+        // Block entities
+        Map<Integer, Block> entries = new HashMap<>();
+        if (chunk instanceof DynamicChunk dynamicChunk) {
+            entries.putAll(dynamicChunk.entries);
+        } else {
+            for (int y = chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE; y < chunk.getMaxSection() * Chunk.CHUNK_SECTION_SIZE; y++) {
+                for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+                    for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                        final Block block = chunk.getBlock(x, y, z, Block.Getter.Condition.CACHED);
+                        if (block != null) entries.put(ChunkUtils.getBlockIndex(x, y, z), block);
+                    }
+                }
+            }
+        }
+        writer.writeVarInt(entries.size());
+        for (Map.Entry<Integer, Block> entry : entries.entrySet()) {
+            final Block block = entry.getValue();
+            final BlockHandler handler = block.handler();
+            final NBTCompound nbt = block.nbt();
+            writer.writeInt(entry.getKey());
+            writer.writeSizedString(handler != null ? handler.getNamespaceId().asString() : "");
+            writer.writeBoolean(nbt != null);
+            if (nbt != null) writer.writeNBT("", nbt);
+        }
+        return writer.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] output = new byte[data.length];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == output.length) return data; // Not compressible
+                length += deflater.deflate(output, length, output.length - length);
+            }
+            return Arrays.copyOf(output, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    private record Entry(long offset, int length, int uncompressedLength) {
+    }
+
+    private record Storage(@Nullable FileChannel channel, @Nullable MappedByteBuffer buffer,
+                           int minSection, int maxSection, Long2ObjectMap<Entry> entries) {
+        static Storage open(Path path) throws IOException {
+            if (!Files.exists(path)) return new Storage(null, null, 0, 0, new Long2ObjectOpenHashMap<>());
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION) {
+                channel.close();
+                throw new IOException("Invalid chunk storage file " + path);
+            }
+            final int minSection = buffer.getInt(5);
+            final int maxSection = buffer.getInt(9);
+            final int count = buffer.getInt(13);
+            Long2ObjectMap<Entry> entries = new Long2ObjectOpenHashMap<>(count);
+            for (int i = 0; i < count; i++) {
+                final int position = HEADER_SIZE + i * ENTRY_SIZE;
+                final int chunkX = buffer.getInt(position);
+                final int chunkZ = buffer.getInt(position + 4);
+                entries.put(ChunkUtils.getChunkIndex(chunkX, chunkZ), new Entry(buffer.getLong(position + 8),
+                        buffer.getInt(position + 16), buffer.getInt(position + 20)));
+            }
+            return new Storage(channel, buffer, minSection, maxSection, entries);
+        }
+
+        ByteBuffer raw(Entry entry) {
+            assert buffer != null;
+            return buffer.slice((int) entry.offset, entry.length);
+        }
+
+        ByteBuffer data(Entry entry) {
+            final ByteBuffer slice = raw(entry);
+            if (entry.uncompressedLength == 0) return slice;
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(slice);
+                ByteBuffer output = ByteBuffer.allocate(entry.uncompressedLength);
+                inflater.inflate(output);
+                return output.flip();
+            } catch (DataFormatException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                inflater.end();
+            }
+        }
+
+        void close() throws IOException {
+            if (channel != null) channel.close();
+        }
+    }
+}
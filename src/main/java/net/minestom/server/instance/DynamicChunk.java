@@ -2,6 +2,7 @@ package net.minestom.server.instance;
 
 import com.extollit.gaming.ai.path.model.ColumnarOcclusionFieldList;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.entity.Entity;
@@ -18,8 +19,6 @@ import net.minestom.server.snapshot.ChunkSnapshot;
 import net.minestom.server.snapshot.SnapshotImpl;
 import net.minestom.server.snapshot.SnapshotUpdater;
 import net.minestom.server.utils.ArrayUtils;
-import net.minestom.server.utils.MathUtils;
-import net.minestom.server.utils.Utils;
 import net.minestom.server.utils.binary.BinaryWriter;
 import net.minestom.server.utils.binary.PooledBuffers;
 import net.minestom.server.utils.chunk.ChunkUtils;
@@ -46,7 +45,12 @@ public class DynamicChunk extends Chunk {
     protected final Int2ObjectOpenHashMap<Block> entries = new Int2ObjectOpenHashMap<>(0);
     protected final Int2ObjectOpenHashMap<Block> tickableMap = new Int2ObjectOpenHashMap<>(0);
 
+    private final Heightmap motionBlocking, worldSurface;
+    private NBTCompound heightmapsNBT;
+
     private long lastChange;
+    // Encoded sections reused by the chunk packet, null when the section changed since
+    private final byte[][] sectionsData;
     private final CachedPacket chunkCache = new CachedPacket(this::createChunkPacket);
     private final CachedPacket lightCache = new CachedPacket(this::createLightPacket);
 
@@ -55,6 +59,11 @@ public class DynamicChunk extends Chunk {
         var sectionsTemp = new Section[maxSection - minSection];
         Arrays.setAll(sectionsTemp, value -> new Section());
         this.sections = List.of(sectionsTemp);
+        this.sectionsData = new byte[sectionsTemp.length][];
+        final int minY = minSection * CHUNK_SECTION_SIZE;
+        final int height = (maxSection - minSection) * CHUNK_SECTION_SIZE;
+        this.motionBlocking = new Heightmap(Heightmap.Type.MOTION_BLOCKING, minY, height);
+        this.worldSurface = new Heightmap(Heightmap.Type.WORLD_SURFACE, minY, height);
     }
 
     @Override
@@ -62,7 +71,6 @@ public class DynamicChunk extends Chunk {
         assertLock();
         this.lastChange = System.currentTimeMillis();
         this.chunkCache.invalidate();
-        this.lightCache.invalidate();
         // Update pathfinder
         if (columnarSpace != null) {
             final ColumnarOcclusionFieldList columnarOcclusionFieldList = columnarSpace.occlusionFields();
@@ -70,8 +78,15 @@ public class DynamicChunk extends Chunk {
             columnarOcclusionFieldList.onBlockChanged(x, y, z, blockDescription, 0);
         }
         Section section = getSectionAt(y);
+        this.sectionsData[sectionIndex(y)] = null;
         section.blockPalette()
                 .set(toSectionRelativeCoordinate(x), toSectionRelativeCoordinate(y), toSectionRelativeCoordinate(z), block.stateId());
+        // Heightmaps
+        final int localX = toSectionRelativeCoordinate(x), localZ = toSectionRelativeCoordinate(z);
+        if (motionBlocking.update(sections, localX, y, localZ, block) |
+                worldSurface.update(sections, localX, y, localZ, block)) {
+            this.heightmapsNBT = null;
+        }
 
         final int index = ChunkUtils.getBlockIndex(x, y, z);
         // Handler
@@ -94,12 +109,51 @@ public class DynamicChunk extends Chunk {
         assertLock();
         this.chunkCache.invalidate();
         Section section = getSectionAt(y);
+        this.sectionsData[sectionIndex(y)] = null;
         section.biomePalette().set(
                 toSectionRelativeCoordinate(x) / 4,
                 toSectionRelativeCoordinate(y) / 4,
                 toSectionRelativeCoordinate(z) / 4, biome.id());
     }
 
+    @Override
+    public synchronized @NotNull Heightmap heightmap(@NotNull Heightmap.Type type) {
+        final Heightmap heightmap = switch (type) {
+            case MOTION_BLOCKING -> motionBlocking;
+            case WORLD_SURFACE -> worldSurface;
+        };
+        if (!heightmap.isValid()) heightmap.refresh(sections);
+        return heightmap;
+    }
+
+    @Override
+    public synchronized void invalidate() {
+        this.chunkCache.invalidate();
+        this.lightCache.invalidate();
+        Arrays.fill(sectionsData, null);
+        this.motionBlocking.invalidate();
+        this.worldSurface.invalidate();
+        this.heightmapsNBT = null;
+    }
+
+    @Override
+    public synchronized void onBulkChange(@NotNull IntList blockIndexes) {
+        this.lastChange = System.currentTimeMillis();
+        // Update pathfinder
+        if (columnarSpace != null) {
+            final ColumnarOcclusionFieldList columnarOcclusionFieldList = columnarSpace.occlusionFields();
+            for (int i = 0; i < blockIndexes.size(); i++) {
+                final int index = blockIndexes.getInt(i);
+                final int x = ChunkUtils.blockIndexToChunkPositionX(index);
+                final int y = ChunkUtils.blockIndexToChunkPositionY(index);
+                final int z = ChunkUtils.blockIndexToChunkPositionZ(index);
+                final var blockDescription = PFBlock.get(getBlock(x, y, z, Condition.TYPE));
+                columnarOcclusionFieldList.onBlockChanged(x, y, z, blockDescription, 0);
+            }
+        }
+        invalidate();
+    }
+
     @Override
     public @NotNull List<Section> getSections() {
         return sections;
@@ -170,42 +224,61 @@ public class DynamicChunk extends Chunk {
         sendPacketToViewers(chunkCache);
     }
 
+    /**
+     * Notifies that the light arrays of the sections have been replaced.
+     */
+    void invalidateLight() {
+        this.chunkCache.invalidate();
+        this.lightCache.invalidate();
+    }
+
+    void sendLight() {
+        if (!isLoaded()) return;
+        sendPacketToViewers(lightCache);
+    }
+
     @Override
     public @NotNull Chunk copy(@NotNull Instance instance, int chunkX, int chunkZ) {
-        DynamicChunk dynamicChunk = new DynamicChunk(instance, chunkX, chunkZ);
-        dynamicChunk.sections = sections.stream().map(Section::clone).toList();
-        dynamicChunk.entries.putAll(entries);
-        return dynamicChunk;
+        return copyTo(new DynamicChunk(instance, chunkX, chunkZ));
+    }
+
+    <T extends DynamicChunk> @NotNull T copyTo(@NotNull T copy) {
+        final DynamicChunk dynamicChunk = copy;
+        // Cloning marks the palettes as shared, writers must notice it before their next write
+        synchronized (this) {
+            dynamicChunk.sections = sections.stream().map(Section::clone).toList();
+            dynamicChunk.entries.putAll(entries);
+            dynamicChunk.motionBlocking.copyFrom(motionBlocking);
+            dynamicChunk.worldSurface.copyFrom(worldSurface);
+        }
+        return copy;
     }
 
     @Override
     public void reset() {
         for (Section section : sections) section.clear();
         this.entries.clear();
+        invalidate();
     }
 
     private synchronized @NotNull ChunkDataPacket createChunkPacket() {
-        final NBTCompound heightmapsNBT;
-        // TODO: don't hardcode heightmaps
-        // Heightmap
-        {
-            int dimensionHeight = getInstance().getDimensionType().getHeight();
-            int[] motionBlocking = new int[16 * 16];
-            int[] worldSurface = new int[16 * 16];
-            for (int x = 0; x < 16; x++) {
-                for (int z = 0; z < 16; z++) {
-                    motionBlocking[x + z * 16] = 0;
-                    worldSurface[x + z * 16] = dimensionHeight - 1;
-                }
-            }
-            final int bitsForHeight = MathUtils.bitsToRepresent(dimensionHeight);
+        NBTCompound heightmapsNBT = this.heightmapsNBT;
+        if (heightmapsNBT == null) {
             heightmapsNBT = NBT.Compound(Map.of(
-                    "MOTION_BLOCKING", NBT.LongArray(Utils.encodeBlocks(motionBlocking, bitsForHeight)),
-                    "WORLD_SURFACE", NBT.LongArray(Utils.encodeBlocks(worldSurface, bitsForHeight))));
+                    "MOTION_BLOCKING", NBT.LongArray(heightmap(Heightmap.Type.MOTION_BLOCKING).encoded()),
+                    "WORLD_SURFACE", NBT.LongArray(heightmap(Heightmap.Type.WORLD_SURFACE).encoded())));
+            this.heightmapsNBT = heightmapsNBT;
         }
-        // Data
+        // Data, only the modified sections are encoded again
         final BinaryWriter writer = new BinaryWriter(PooledBuffers.tempBuffer());
-        for (Section section : sections) writer.write(section);
+        for (int i = 0; i < sectionsData.length; i++) {
+            byte[] data = sectionsData[i];
+            if (data == null) {
+                data = BinaryWriter.makeArray(sections.get(i)::write);
+                this.sectionsData[i] = data;
+            }
+            writer.writeBytes(data);
+        }
         return new ChunkDataPacket(chunkX, chunkZ,
                 new ChunkData(heightmapsNBT, writer.toByteArray(), entries),
                 createLightData());
@@ -250,15 +323,23 @@ public class DynamicChunk extends Chunk {
     @Override
     public @NotNull ChunkSnapshot updateSnapshot(@NotNull SnapshotUpdater updater) {
         Section[] clonedSections = new Section[sections.size()];
-        for (int i = 0; i < clonedSections.length; i++)
-            clonedSections[i] = sections.get(i).clone();
+        final Int2ObjectOpenHashMap<Block> entries;
+        synchronized (this) {
+            for (int i = 0; i < clonedSections.length; i++)
+                clonedSections[i] = sections.get(i).clone();
+            entries = this.entries.clone();
+        }
         var entities = instance.getEntityTracker().chunkEntities(chunkX, chunkZ, EntityTracker.Target.ENTITIES);
         final int[] entityIds = ArrayUtils.mapToIntArray(entities, Entity::getEntityId);
         return new SnapshotImpl.Chunk(minSection, chunkX, chunkZ,
-                clonedSections, entries.clone(), entityIds, updater.reference(instance),
+                clonedSections, entries, entityIds, updater.reference(instance),
                 tagHandler().readableCopy());
     }
 
+    private int sectionIndex(int y) {
+        return ChunkUtils.getChunkCoordinate(y) - minSection;
+    }
+
     private void assertLock() {
         assert Thread.holdsLock(this) : "Chunk must be locked before access";
     }
@@ -0,0 +1,33 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.doubles.Double2IntRBTreeMap;
+
+/**
+ * Largest bounding box extent of the entities in a tracker, used to expand box and ray queries.
+ * <p>
+ * Counts the entities of each extent, so that it shrinks again once the largest entities leave.
+ */
+final class EntityExtents {
+    private final Double2IntRBTreeMap counts = new Double2IntRBTreeMap();
+    private volatile double max;
+
+    double max() {
+        return max;
+    }
+
+    synchronized void add(double extent) {
+        this.counts.addTo(extent, 1);
+        this.max = counts.lastDoubleKey();
+    }
+
+    synchronized void remove(double extent) {
+        if (counts.addTo(extent, -1) == 1) counts.remove(extent);
+        this.max = counts.isEmpty() ? 0 : counts.lastDoubleKey();
+    }
+
+    synchronized void replace(double previous, double extent) {
+        if (counts.addTo(previous, -1) == 1) counts.remove(previous);
+        this.counts.addTo(extent, 1);
+        this.max = counts.lastDoubleKey();
+    }
+}
@@ -0,0 +1,70 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Geometry shared by the {@link EntityTracker} box and ray queries.
+ * <p>
+ * Queries look for entity positions in the area expanded by the largest bounding box extent
+ * seen by the tracker, then test the bounding box of each candidate.
+ */
+final class EntityQueries {
+    private EntityQueries() {
+    }
+
+    /**
+     * Gets the largest distance between the position of an entity and its bounding box.
+     */
+    static double extent(@NotNull Entity entity) {
+        final BoundingBox box = entity.getBoundingBox();
+        return Math.max(Math.max(Math.max(-box.minX(), box.maxX()), Math.max(-box.minY(), box.maxY())),
+                Math.max(-box.minZ(), box.maxZ()));
+    }
+
+    static boolean intersects(@NotNull Entity entity, double x, double y, double z,
+                              double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        final BoundingBox box = entity.getBoundingBox();
+        return x + box.minX() <= maxX && x + box.maxX() >= minX &&
+                y + box.minY() <= maxY && y + box.maxY() >= minY &&
+                z + box.minZ() <= maxZ && z + box.maxZ() >= minZ;
+    }
+
+    static boolean rayIntersects(@NotNull Entity entity, double x, double y, double z,
+                                 double originX, double originY, double originZ,
+                                 double directionX, double directionY, double directionZ, double maxDistance) {
+        final BoundingBox box = entity.getBoundingBox();
+        return rayIntersects(originX, originY, originZ, directionX, directionY, directionZ, maxDistance,
+                x + box.minX(), y + box.minY(), z + box.minZ(), x + box.maxX(), y + box.maxY(), z + box.maxZ());
+    }
+
+    /**
+     * Slab test between a ray with a normalized direction and a box.
+     */
+    static boolean rayIntersects(double originX, double originY, double originZ,
+                                 double directionX, double directionY, double directionZ, double maxDistance,
+                                 double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        final double enter = Math.max(Math.max(0, rayEnter(originX, directionX, minX, maxX)),
+                Math.max(rayEnter(originY, directionY, minY, maxY), rayEnter(originZ, directionZ, minZ, maxZ)));
+        final double exit = Math.min(Math.min(maxDistance, rayExit(originX, directionX, minX, maxX)),
+                Math.min(rayExit(originY, directionY, minY, maxY), rayExit(originZ, directionZ, minZ, maxZ)));
+        return enter <= exit;
+    }
+
+    /**
+     * Gets the distance at which a ray enters the slab between {@code min} and {@code max} on one axis.
+     */
+    static double rayEnter(double origin, double direction, double min, double max) {
+        if (direction == 0) return origin >= min && origin <= max ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        return Math.min((min - origin) / direction, (max - origin) / direction);
+    }
+
+    /**
+     * Gets the distance at which a ray exits the slab between {@code min} and {@code max} on one axis.
+     */
+    static double rayExit(double origin, double direction, double min, double max) {
+        if (direction == 0) return origin >= min && origin <= max ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        return Math.max((min - origin) / direction, (max - origin) / direction);
+    }
+}
@@ -1,6 +1,8 @@
 package net.minestom.server.instance;
 
+import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.ExperienceOrb;
 import net.minestom.server.entity.ItemEntity;
@@ -21,9 +23,13 @@ import java.util.function.Consumer;
  * Implementations are expected to be thread-safe.
  */
 @ApiStatus.Experimental
-public sealed interface EntityTracker permits EntityTrackerImpl {
+public sealed interface EntityTracker permits EntityTrackerImpl, GridEntityTracker {
+    /**
+     * Creates a new tracker, the grid implementation can be enabled
+     * using the {@code minestom.entity-tracker=grid} property.
+     */
     static @NotNull EntityTracker newTracker() {
-        return new EntityTrackerImpl();
+        return EntityTrackerImpl.GRID ? new GridEntityTracker() : new EntityTrackerImpl();
     }
 
     /**
@@ -63,6 +69,22 @@ public sealed interface EntityTracker permits EntityTrackerImpl {
     <T extends Entity> void nearbyEntities(@NotNull Point point, double range,
                                            @NotNull Target<T> target, @NotNull Consumer<T> query);
 
+    /**
+     * Gets the entities whose bounding box intersects {@code boundingBox} placed at {@code point}.
+     */
+    <T extends Entity> void intersectingEntities(@NotNull Point point, @NotNull BoundingBox boundingBox,
+                                                 @NotNull Target<T> target, @NotNull Consumer<T> query);
+
+    /**
+     * Gets the entities whose bounding box is crossed by a ray, in no particular order.
+     *
+     * @param origin      the start of the ray
+     * @param direction   the direction of the ray, does not need to be normalized
+     * @param maxDistance the length of the ray
+     */
+    <T extends Entity> void raycastEntities(@NotNull Point origin, @NotNull Vec direction, double maxDistance,
+                                            @NotNull Target<T> target, @NotNull Consumer<T> query);
+
     /**
      * Gets all the entities tracked by this class.
      */
@@ -1,7 +1,9 @@
 package net.minestom.server.instance;
 
 import net.minestom.server.MinecraftServer;
+import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import org.jetbrains.annotations.NotNull;
@@ -25,17 +27,24 @@ import static net.minestom.server.utils.chunk.ChunkUtils.*;
 
 final class EntityTrackerImpl implements EntityTracker {
     static final AtomicInteger TARGET_COUNTER = new AtomicInteger();
+    static final boolean GRID = "grid".equals(System.getProperty("minestom.entity-tracker"));
 
     // Store all data associated to a Target
     // The array index is the Target enum ordinal
     final TargetEntry<Entity>[] entries = EntityTracker.Target.TARGETS.stream().map((Function<Target<?>, TargetEntry>) TargetEntry::new).toArray(TargetEntry[]::new);
     private final Int2ObjectSyncMap<Point> entityPositions = Int2ObjectSyncMap.hashmap();
+    // Bounding box extent of each entity, and the largest one to expand box and ray queries
+    private final Int2ObjectSyncMap<Double> entityExtents = Int2ObjectSyncMap.hashmap();
+    private final EntityExtents extents = new EntityExtents();
 
     @Override
     public <T extends Entity> void register(@NotNull Entity entity, @NotNull Point point,
                                             @NotNull Target<T> target, @Nullable Update<T> update) {
         var prevPoint = entityPositions.putIfAbsent(entity.getEntityId(), point);
         if (prevPoint != null) return;
+        final double extent = EntityQueries.extent(entity);
+        this.entityExtents.put(entity.getEntityId(), Double.valueOf(extent));
+        this.extents.add(extent);
         final long index = getChunkIndex(point);
         for (TargetEntry<Entity> entry : entries) {
             if (entry.target.type().isInstance(entity)) {
@@ -57,6 +66,8 @@ final class EntityTrackerImpl implements EntityTracker {
                                               @NotNull Target<T> target, @Nullable Update<T> update) {
         final Point point = entityPositions.remove(entity.getEntityId());
         if (point == null) return;
+        final Double extent = entityExtents.remove(entity.getEntityId());
+        if (extent != null) this.extents.remove(extent);
         final long index = getChunkIndex(point);
         for (TargetEntry<Entity> entry : entries) {
             if (entry.target.type().isInstance(entity)) {
@@ -77,7 +88,9 @@ final class EntityTrackerImpl implements EntityTracker {
     public <T extends Entity> void move(@NotNull Entity entity, @NotNull Point newPoint,
                                         @NotNull Target<T> target, @Nullable Update<T> update) {
         Point oldPoint = entityPositions.put(entity.getEntityId(), newPoint);
-        if (oldPoint == null || oldPoint.sameChunk(newPoint)) return;
+        if (oldPoint == null) return;
+        updateExtent(entity);
+        if (oldPoint.sameChunk(newPoint)) return;
         final long oldIndex = getChunkIndex(oldPoint);
         final long newIndex = getChunkIndex(newPoint);
         for (TargetEntry<Entity> entry : entries) {
@@ -162,12 +175,78 @@ final class EntityTrackerImpl implements EntityTracker {
         }
     }
 
+    @Override
+    public <T extends Entity> void intersectingEntities(@NotNull Point point, @NotNull BoundingBox boundingBox,
+                                                        @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        final Long2ObjectSyncMap<List<Entity>> entities = entries[target.ordinal()].chunkEntities;
+        final double minX = point.x() + boundingBox.minX(), maxX = point.x() + boundingBox.maxX();
+        final double minY = point.y() + boundingBox.minY(), maxY = point.y() + boundingBox.maxY();
+        final double minZ = point.z() + boundingBox.minZ(), maxZ = point.z() + boundingBox.maxZ();
+        final double extent = this.extents.max();
+        final int maxChunkX = getChunkCoordinate(maxX + extent), maxChunkZ = getChunkCoordinate(maxZ + extent);
+        for (int chunkX = getChunkCoordinate(minX - extent); chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = getChunkCoordinate(minZ - extent); chunkZ <= maxChunkZ; chunkZ++) {
+                final List<Entity> chunkEntities = entities.get(getChunkIndex(chunkX, chunkZ));
+                if (chunkEntities == null || chunkEntities.isEmpty()) continue;
+                for (Entity entity : chunkEntities) {
+                    final Point position = entityPositions.get(entity.getEntityId());
+                    if (position != null && EntityQueries.intersects(entity, position.x(), position.y(), position.z(),
+                            minX, minY, minZ, maxX, maxY, maxZ)) {
+                        query.accept((T) entity);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public <T extends Entity> void raycastEntities(@NotNull Point origin, @NotNull Vec direction, double maxDistance,
+                                                   @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        final Long2ObjectSyncMap<List<Entity>> entities = entries[target.ordinal()].chunkEntities;
+        final Vec normalized = direction.normalize();
+        final double originX = origin.x(), originY = origin.y(), originZ = origin.z();
+        final double directionX = normalized.x(), directionY = normalized.y(), directionZ = normalized.z();
+        final double endX = originX + directionX * maxDistance, endZ = originZ + directionZ * maxDistance;
+        final double extent = this.extents.max();
+        final int maxChunkX = getChunkCoordinate(Math.max(originX, endX) + extent);
+        final int maxChunkZ = getChunkCoordinate(Math.max(originZ, endZ) + extent);
+        for (int chunkX = getChunkCoordinate(Math.min(originX, endX) - extent); chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = getChunkCoordinate(Math.min(originZ, endZ) - extent); chunkZ <= maxChunkZ; chunkZ++) {
+                final List<Entity> chunkEntities = entities.get(getChunkIndex(chunkX, chunkZ));
+                if (chunkEntities == null || chunkEntities.isEmpty()) continue;
+                // Skip the columns that the ray does not cross
+                final double minX = chunkX * Chunk.CHUNK_SIZE_X - extent, minZ = chunkZ * Chunk.CHUNK_SIZE_Z - extent;
+                if (!EntityQueries.rayIntersects(originX, originY, originZ, directionX, directionY, directionZ, maxDistance,
+                        minX, Double.NEGATIVE_INFINITY, minZ,
+                        minX + Chunk.CHUNK_SIZE_X + extent * 2, Double.POSITIVE_INFINITY, minZ + Chunk.CHUNK_SIZE_Z + extent * 2)) {
+                    continue;
+                }
+                for (Entity entity : chunkEntities) {
+                    final Point position = entityPositions.get(entity.getEntityId());
+                    if (position != null && EntityQueries.rayIntersects(entity, position.x(), position.y(), position.z(),
+                            originX, originY, originZ, directionX, directionY, directionZ, maxDistance)) {
+                        query.accept((T) entity);
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public @UnmodifiableView @NotNull <T extends Entity> Set<@NotNull T> entities(@NotNull Target<T> target) {
         //noinspection unchecked
         return (Set<T>) entries[target.ordinal()].entitiesView;
     }
 
+    private void updateExtent(Entity entity) {
+        final double extent = EntityQueries.extent(entity);
+        final Double previous = entityExtents.get(entity.getEntityId());
+        if (previous == null || previous == extent) return;
+        // The bounding box changed
+        this.entityExtents.put(entity.getEntityId(), Double.valueOf(extent));
+        this.extents.replace(previous, extent);
+    }
+
     private <T extends Entity> void difference(Point oldPoint, Point newPoint,
                                                @NotNull Target<T> target, @NotNull Update<T> update) {
         final TargetEntry<Entity> entry = entries[target.ordinal()];
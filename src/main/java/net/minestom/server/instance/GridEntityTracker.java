@@ -0,0 +1,537 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.collision.BoundingBox;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+import static net.minestom.server.utils.chunk.ChunkUtils.*;
+
+/**
+ * {@link EntityTracker} storing entities in primitive arrays, one slot per entity.
+ * <p>
+ * Positions are kept as doubles next to the entity, and the entities of each chunk are linked
+ * through the slot indexes, one list per target. All entities are also linked by section (16x16x16)
+ * for the box and ray queries. Moving inside a section only writes the position, and queries
+ * do not allocate: matching entities are collected in a thread-local buffer
+ * then given to the consumer once the lock has been released, so that it can modify the tracker.
+ */
+final class GridEntityTracker implements EntityTracker {
+    private static final int NONE = -1;
+    private static final int TARGET_COUNT = Target.TARGETS.size();
+    private static final ThreadLocal<QueryBuffers> BUFFERS = ThreadLocal.withInitial(QueryBuffers::new);
+
+    private final StampedLock lock = new StampedLock();
+    // Entity id -> slot
+    private final Int2IntOpenHashMap slots = new Int2IntOpenHashMap();
+    // Chunk index -> first slot of the chunk, for each target
+    private final Long2IntOpenHashMap[] heads = new Long2IntOpenHashMap[TARGET_COUNT];
+    private final Set<Entity>[] entities;
+    private final Set<Entity>[] entitiesViews;
+    // Section index -> first slot of the section
+    private final Long2IntOpenHashMap sectionHeads = new Long2IntOpenHashMap();
+    // Largest bounding box extent, used to expand box and ray queries
+    private final EntityExtents extents = new EntityExtents();
+
+    // Slot data
+    private Entity[] slotEntities = new Entity[64];
+    private double[] xs = new double[64], ys = new double[64], zs = new double[64];
+    private double[] extentSlots = new double[64];
+    private long[] chunks = new long[64], sections = new long[64];
+    private int[] sectionNext = new int[64], sectionPrevious = new int[64];
+    private int[][] next = new int[TARGET_COUNT][64], previous = new int[TARGET_COUNT][64];
+    private int[] freeSlots = new int[16];
+    private int freeCount, slotCount;
+
+    @SuppressWarnings("unchecked")
+    GridEntityTracker() {
+        this.slots.defaultReturnValue(NONE);
+        this.sectionHeads.defaultReturnValue(NONE);
+        this.entities = new Set[TARGET_COUNT];
+        this.entitiesViews = new Set[TARGET_COUNT];
+        for (int i = 0; i < TARGET_COUNT; i++) {
+            Long2IntOpenHashMap head = new Long2IntOpenHashMap();
+            head.defaultReturnValue(NONE);
+            this.heads[i] = head;
+            this.entities[i] = ConcurrentHashMap.newKeySet(); // Thread-safe since exposed
+            this.entitiesViews[i] = Collections.unmodifiableSet(entities[i]);
+        }
+    }
+
+    @Override
+    public <T extends Entity> void register(@NotNull Entity entity, @NotNull Point point,
+                                            @NotNull Target<T> target, @Nullable Update<T> update) {
+        final long stamp = lock.writeLock();
+        try {
+            if (slots.containsKey(entity.getEntityId())) return;
+            final int slot = allocateSlot();
+            this.slots.put(entity.getEntityId(), slot);
+            this.slotEntities[slot] = entity;
+            this.xs[slot] = point.x();
+            this.ys[slot] = point.y();
+            this.zs[slot] = point.z();
+            this.extentSlots[slot] = EntityQueries.extent(entity);
+            this.chunks[slot] = getChunkIndex(point);
+            this.sections[slot] = sectionIndex(point);
+            linkSection(slot);
+            for (int i = 0; i < TARGET_COUNT; i++) {
+                if (!Target.TARGETS.get(i).type().isInstance(entity)) continue;
+                link(i, slot);
+                this.entities[i].add(entity);
+            }
+            this.extents.add(extentSlots[slot]);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (update != null) {
+            update.referenceUpdate(point, this);
+            nearbyEntitiesByChunkRange(point, MinecraftServer.getEntityViewDistance(), target, newEntity -> {
+                if (newEntity != entity) update.add(newEntity);
+            });
+        }
+    }
+
+    @Override
+    public <T extends Entity> void unregister(@NotNull Entity entity,
+                                              @NotNull Target<T> target, @Nullable Update<T> update) {
+        final Point point;
+        final long stamp = lock.writeLock();
+        try {
+            final int slot = slots.remove(entity.getEntityId());
+            if (slot == NONE) return;
+            point = position(slot);
+            unlinkSection(slot);
+            for (int i = 0; i < TARGET_COUNT; i++) {
+                if (!Target.TARGETS.get(i).type().isInstance(entity)) continue;
+                unlink(i, slot);
+                this.entities[i].remove(entity);
+            }
+            this.slotEntities[slot] = null;
+            this.extents.remove(extentSlots[slot]);
+            freeSlot(slot);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (update != null) {
+            update.referenceUpdate(point, null);
+            nearbyEntitiesByChunkRange(point, MinecraftServer.getEntityViewDistance(), target, newEntity -> {
+                if (newEntity != entity) update.remove(newEntity);
+            });
+        }
+    }
+
+    @Override
+    public <T extends Entity> void move(@NotNull Entity entity, @NotNull Point newPoint,
+                                        @NotNull Target<T> target, @Nullable Update<T> update) {
+        final long newIndex = getChunkIndex(newPoint);
+        final long newSection = sectionIndex(newPoint);
+        final long oldIndex;
+        long stamp = lock.readLock();
+        try {
+            final int slot = slots.get(entity.getEntityId());
+            if (slot == NONE) return;
+            // Only the entity thread writes its own position
+            this.xs[slot] = newPoint.x();
+            this.ys[slot] = newPoint.y();
+            this.zs[slot] = newPoint.z();
+            updateExtent(entity, slot);
+            oldIndex = chunks[slot];
+            if (oldIndex == newIndex && sections[slot] == newSection) return;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        stamp = lock.writeLock();
+        try {
+            final int slot = slots.get(entity.getEntityId());
+            if (slot == NONE || chunks[slot] != oldIndex) return; // Concurrently modified
+            if (sections[slot] != newSection) {
+                unlinkSection(slot);
+                this.sections[slot] = newSection;
+                linkSection(slot);
+            }
+            if (oldIndex == newIndex) return;
+            for (int i = 0; i < TARGET_COUNT; i++) {
+                if (!Target.TARGETS.get(i).type().isInstance(entity)) continue;
+                unlink(i, slot);
+            }
+            this.chunks[slot] = newIndex;
+            for (int i = 0; i < TARGET_COUNT; i++) {
+                if (!Target.TARGETS.get(i).type().isInstance(entity)) continue;
+                link(i, slot);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (update != null) {
+            final int ordinal = target.ordinal();
+            forDifferingChunksInRange(newPoint.chunkX(), newPoint.chunkZ(), getChunkCoordX(oldIndex), getChunkCoordZ(oldIndex),
+                    MinecraftServer.getEntityViewDistance(), (chunkX, chunkZ) -> {
+                        // Add
+                        chunkQuery(getChunkIndex(chunkX, chunkZ), ordinal, (T added) -> {
+                            if (added != entity) update.add(added);
+                        });
+                    }, (chunkX, chunkZ) -> {
+                        // Remove
+                        chunkQuery(getChunkIndex(chunkX, chunkZ), ordinal, (T removed) -> {
+                            if (removed != entity) update.remove(removed);
+                        });
+                    });
+            update.referenceUpdate(newPoint, this);
+        }
+    }
+
+    @Override
+    public @UnmodifiableView <T extends Entity> Collection<T> chunkEntities(int chunkX, int chunkZ, @NotNull Target<T> target) {
+        return new ChunkView<>(getChunkIndex(chunkX, chunkZ), target.ordinal());
+    }
+
+    @Override
+    public <T extends Entity> void nearbyEntitiesByChunkRange(@NotNull Point point, int chunkRange,
+                                                              @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        final int ordinal = target.ordinal();
+        final int chunkX = point.chunkX(), chunkZ = point.chunkZ();
+        final QueryBuffers buffers = BUFFERS.get();
+        Entity[] buffer = buffers.acquire();
+        int count = 0;
+        try {
+            final long stamp = lock.readLock();
+            try {
+                final Long2IntOpenHashMap head = heads[ordinal];
+                final int[] next = this.next[ordinal];
+                for (int x = chunkX - chunkRange; x <= chunkX + chunkRange; x++) {
+                    for (int z = chunkZ - chunkRange; z <= chunkZ + chunkRange; z++) {
+                        for (int slot = head.get(getChunkIndex(x, z)); slot != NONE; slot = next[slot]) {
+                            if (count == buffer.length) buffer = buffers.grow();
+                            buffer[count++] = slotEntities[slot];
+                        }
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            accept(buffer, count, query);
+        } finally {
+            buffers.release(count);
+        }
+    }
+
+    @Override
+    public <T extends Entity> void nearbyEntities(@NotNull Point point, double range,
+                                                  @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        final int ordinal = target.ordinal();
+        final double x = point.x(), y = point.y(), z = point.z();
+        final double squaredRange = range * range;
+        final int minChunkX = getChunkCoordinate(x - range), maxChunkX = getChunkCoordinate(x + range);
+        final int minChunkZ = getChunkCoordinate(z - range), maxChunkZ = getChunkCoordinate(z + range);
+        final QueryBuffers buffers = BUFFERS.get();
+        Entity[] buffer = buffers.acquire();
+        int count = 0;
+        try {
+            final long stamp = lock.readLock();
+            try {
+                final Long2IntOpenHashMap head = heads[ordinal];
+                final int[] next = this.next[ordinal];
+                for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                    for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                        for (int slot = head.get(getChunkIndex(chunkX, chunkZ)); slot != NONE; slot = next[slot]) {
+                            final double dx = xs[slot] - x, dy = ys[slot] - y, dz = zs[slot] - z;
+                            if (dx * dx + dy * dy + dz * dz > squaredRange) continue;
+                            if (count == buffer.length) buffer = buffers.grow();
+                            buffer[count++] = slotEntities[slot];
+                        }
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            accept(buffer, count, query);
+        } finally {
+            buffers.release(count);
+        }
+    }
+
+    @Override
+    public <T extends Entity> void intersectingEntities(@NotNull Point point, @NotNull BoundingBox boundingBox,
+                                                        @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        final Class<T> type = target.type();
+        final double minX = point.x() + boundingBox.minX(), maxX = point.x() + boundingBox.maxX();
+        final double minY = point.y() + boundingBox.minY(), maxY = point.y() + boundingBox.maxY();
+        final double minZ = point.z() + boundingBox.minZ(), maxZ = point.z() + boundingBox.maxZ();
+        final double extent = this.extents.max();
+        final int minSectionX = getChunkCoordinate(minX - extent), maxSectionX = getChunkCoordinate(maxX + extent);
+        final int minSectionY = getChunkCoordinate(minY - extent), maxSectionY = getChunkCoordinate(maxY + extent);
+        final int minSectionZ = getChunkCoordinate(minZ - extent), maxSectionZ = getChunkCoordinate(maxZ + extent);
+        final QueryBuffers buffers = BUFFERS.get();
+        Entity[] buffer = buffers.acquire();
+        int count = 0;
+        try {
+            final long stamp = lock.readLock();
+            try {
+                for (int sectionX = minSectionX; sectionX <= maxSectionX; sectionX++) {
+                    for (int sectionZ = minSectionZ; sectionZ <= maxSectionZ; sectionZ++) {
+                        for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                            final long section = sectionIndex(sectionX, sectionY, sectionZ);
+                            for (int slot = sectionHeads.get(section); slot != NONE; slot = sectionNext[slot]) {
+                                final Entity entity = slotEntities[slot];
+                                if (!type.isInstance(entity) || !EntityQueries.intersects(entity, xs[slot], ys[slot], zs[slot],
+                                        minX, minY, minZ, maxX, maxY, maxZ)) continue;
+                                if (count == buffer.length) buffer = buffers.grow();
+                                buffer[count++] = entity;
+                            }
+                        }
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            accept(buffer, count, query);
+        } finally {
+            buffers.release(count);
+        }
+    }
+
+    @Override
+    public <T extends Entity> void raycastEntities(@NotNull Point origin, @NotNull Vec direction, double maxDistance,
+                                                   @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        final Class<T> type = target.type();
+        final Vec normalized = direction.normalize();
+        final double originX = origin.x(), originY = origin.y(), originZ = origin.z();
+        final double directionX = normalized.x(), directionY = normalized.y(), directionZ = normalized.z();
+        final double endX = originX + directionX * maxDistance, endZ = originZ + directionZ * maxDistance;
+        final double extent = this.extents.max();
+        final int maxSectionX = getChunkCoordinate(Math.max(originX, endX) + extent);
+        final int maxSectionZ = getChunkCoordinate(Math.max(originZ, endZ) + extent);
+        final QueryBuffers buffers = BUFFERS.get();
+        Entity[] buffer = buffers.acquire();
+        int count = 0;
+        try {
+            final long stamp = lock.readLock();
+            try {
+                for (int sectionX = getChunkCoordinate(Math.min(originX, endX) - extent); sectionX <= maxSectionX; sectionX++) {
+                    for (int sectionZ = getChunkCoordinate(Math.min(originZ, endZ) - extent); sectionZ <= maxSectionZ; sectionZ++) {
+                        // Part of the ray crossing the column, then only visit the sections it goes through
+                        final double minX = sectionX * Chunk.CHUNK_SECTION_SIZE - extent;
+                        final double minZ = sectionZ * Chunk.CHUNK_SECTION_SIZE - extent;
+                        final double size = Chunk.CHUNK_SECTION_SIZE + extent * 2;
+                        final double enter = Math.max(0, Math.max(EntityQueries.rayEnter(originX, directionX, minX, minX + size),
+                                EntityQueries.rayEnter(originZ, directionZ, minZ, minZ + size)));
+                        final double exit = Math.min(maxDistance, Math.min(EntityQueries.rayExit(originX, directionX, minX, minX + size),
+                                EntityQueries.rayExit(originZ, directionZ, minZ, minZ + size)));
+                        if (enter > exit) continue;
+                        final double enterY = originY + directionY * enter, exitY = originY + directionY * exit;
+                        final int maxSectionY = getChunkCoordinate(Math.max(enterY, exitY) + extent);
+                        for (int sectionY = getChunkCoordinate(Math.min(enterY, exitY) - extent); sectionY <= maxSectionY; sectionY++) {
+                            final long section = sectionIndex(sectionX, sectionY, sectionZ);
+                            for (int slot = sectionHeads.get(section); slot != NONE; slot = sectionNext[slot]) {
+                                final Entity entity = slotEntities[slot];
+                                if (!type.isInstance(entity) || !EntityQueries.rayIntersects(entity, xs[slot], ys[slot], zs[slot],
+                                        originX, originY, originZ, directionX, directionY, directionZ, maxDistance)) continue;
+                                if (count == buffer.length) buffer = buffers.grow();
+                                buffer[count++] = entity;
+                            }
+                        }
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            accept(buffer, count, query);
+        } finally {
+            buffers.release(count);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @UnmodifiableView @NotNull <T extends Entity> Set<@NotNull T> entities(@NotNull Target<T> target) {
+        return (Set<T>) entitiesViews[target.ordinal()];
+    }
+
+    private <T extends Entity> void chunkQuery(long chunkIndex, int ordinal, Consumer<T> query) {
+        final QueryBuffers buffers = BUFFERS.get();
+        Entity[] buffer = buffers.acquire();
+        int count = 0;
+        try {
+            final long stamp = lock.readLock();
+            try {
+                final int[] next = this.next[ordinal];
+                for (int slot = heads[ordinal].get(chunkIndex); slot != NONE; slot = next[slot]) {
+                    if (count == buffer.length) buffer = buffers.grow();
+                    buffer[count++] = slotEntities[slot];
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            accept(buffer, count, query);
+        } finally {
+            buffers.release(count);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Entity> void accept(Entity[] buffer, int count, Consumer<T> query) {
+        for (int i = 0; i < count; i++) query.accept((T) buffer[i]);
+    }
+
+    private Point position(int slot) {
+        return new Vec(xs[slot], ys[slot], zs[slot]);
+    }
+
+    private void updateExtent(Entity entity, int slot) {
+        final double extent = EntityQueries.extent(entity);
+        final double previous = extentSlots[slot];
+        if (previous == extent) return;
+        // The bounding box changed
+        this.extentSlots[slot] = extent;
+        this.extents.replace(previous, extent);
+    }
+
+    private static long sectionIndex(int sectionX, int sectionY, int sectionZ) {
+        return (long) sectionX << 42 | (long) (sectionZ & 0x3FFFFF) << 20 | (sectionY & 0xFFFFF);
+    }
+
+    private static long sectionIndex(Point point) {
+        return sectionIndex(point.chunkX(), point.section(), point.chunkZ());
+    }
+
+    private void linkSection(int slot) {
+        final int first = sectionHeads.put(sections[slot], slot);
+        this.sectionPrevious[slot] = NONE;
+        this.sectionNext[slot] = first;
+        if (first != NONE) this.sectionPrevious[first] = slot;
+    }
+
+    private void unlinkSection(int slot) {
+        final int before = sectionPrevious[slot], after = sectionNext[slot];
+        if (before != NONE) {
+            sectionNext[before] = after;
+        } else if (after != NONE) {
+            sectionHeads.put(sections[slot], after);
+        } else {
+            sectionHeads.remove(sections[slot]);
+        }
+        if (after != NONE) sectionPrevious[after] = before;
+    }
+
+    private void link(int ordinal, int slot) {
+        final Long2IntOpenHashMap head = heads[ordinal];
+        final int first = head.put(chunks[slot], slot);
+        this.previous[ordinal][slot] = NONE;
+        this.next[ordinal][slot] = first;
+        if (first != NONE) this.previous[ordinal][first] = slot;
+    }
+
+    private void unlink(int ordinal, int slot) {
+        final int[] next = this.next[ordinal], previous = this.previous[ordinal];
+        final int before = previous[slot], after = next[slot];
+        if (before != NONE) {
+            next[before] = after;
+        } else if (after != NONE) {
+            heads[ordinal].put(chunks[slot], after);
+        } else {
+            heads[ordinal].remove(chunks[slot]);
+        }
+        if (after != NONE) previous[after] = before;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+        final int slot = slotCount++;
+        if (slot == slotEntities.length) {
+            final int capacity = slot * 2;
+            this.slotEntities = Arrays.copyOf(slotEntities, capacity);
+            this.xs = Arrays.copyOf(xs, capacity);
+            this.ys = Arrays.copyOf(ys, capacity);
+            this.zs = Arrays.copyOf(zs, capacity);
+            this.extentSlots = Arrays.copyOf(extentSlots, capacity);
+            this.chunks = Arrays.copyOf(chunks, capacity);
+            this.sections = Arrays.copyOf(sections, capacity);
+            this.sectionNext = Arrays.copyOf(sectionNext, capacity);
+            this.sectionPrevious = Arrays.copyOf(sectionPrevious, capacity);
+            for (int i = 0; i < TARGET_COUNT; i++) {
+                this.next[i] = Arrays.copyOf(next[i], capacity);
+                this.previous[i] = Arrays.copyOf(previous[i], capacity);
+            }
+        }
+        return slot;
+    }
+
+    private void freeSlot(int slot) {
+        if (freeCount == freeSlots.length) this.freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        this.freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Query results waiting to be given to the consumer, one array per nested query.
+     */
+    private static final class QueryBuffers {
+        private Entity[][] buffers = new Entity[4][];
+        private int depth;
+
+        Entity[] acquire() {
+            if (depth == buffers.length) this.buffers = Arrays.copyOf(buffers, depth * 2);
+            Entity[] buffer = buffers[depth];
+            if (buffer == null) {
+                buffer = new Entity[64];
+                this.buffers[depth] = buffer;
+            }
+            this.depth++;
+            return buffer;
+        }
+
+        Entity[] grow() {
+            final Entity[] buffer = Arrays.copyOf(buffers[depth - 1], buffers[depth - 1].length * 2);
+            this.buffers[depth - 1] = buffer;
+            return buffer;
+        }
+
+        void release(int count) {
+            // Do not retain the entities
+            Arrays.fill(buffers[--depth], 0, count, null);
+        }
+    }
+
+    /**
+     * Live view of the entities in a chunk.
+     */
+    private final class ChunkView<T extends Entity> extends AbstractCollection<T> {
+        private final long chunkIndex;
+        private final int ordinal;
+
+        ChunkView(long chunkIndex, int ordinal) {
+            this.chunkIndex = chunkIndex;
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public @NotNull Iterator<T> iterator() {
+            List<T> entities = new ArrayList<>();
+            GridEntityTracker.this.<T>chunkQuery(chunkIndex, ordinal, entities::add);
+            return Collections.unmodifiableList(entities).iterator();
+        }
+
+        @Override
+        public int size() {
+            final long stamp = lock.readLock();
+            try {
+                final int[] next = GridEntityTracker.this.next[ordinal];
+                int size = 0;
+                for (int slot = heads[ordinal].get(chunkIndex); slot != NONE; slot = next[slot]) size++;
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+}
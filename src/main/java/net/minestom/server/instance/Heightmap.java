@@ -0,0 +1,180 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.utils.MathUtils;
+import net.minestom.server.utils.Utils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Highest block of each column of a chunk matching a {@link Type}.
+ * <p>
+ * Heights are computed from the section palettes when first needed,
+ * then kept up to date by {@link Chunk#setBlock(int, int, int, Block)}.
+ */
+public final class Heightmap {
+    private final Type type;
+    private final int minY;
+    private final int bitsPerEntry;
+    // Index = x + z * 16, value = height above the highest matching block relative to minY, 0 if none
+    private final short[] heights = new short[Chunk.CHUNK_SIZE_X * Chunk.CHUNK_SIZE_Z];
+    private boolean valid;
+    private long[] encoded;
+
+    Heightmap(@NotNull Type type, int minY, int height) {
+        this.type = type;
+        this.minY = minY;
+        this.bitsPerEntry = MathUtils.bitsToRepresent(height);
+    }
+
+    public @NotNull Type type() {
+        return type;
+    }
+
+    /**
+     * Gets the Y coordinate above the highest block matching the heightmap type.
+     *
+     * @param x the chunk relative X
+     * @param z the chunk relative Z
+     * @return the lowest Y with only non-matching blocks above, the chunk minimum Y if the column is empty
+     */
+    public int getHeight(int x, int z) {
+        return minY + heights[index(x, z)];
+    }
+
+    /**
+     * Gets the heights encoded as sent in chunk packets.
+     *
+     * @return the encoded heights, must not be modified
+     */
+    public long @NotNull [] encoded() {
+        long[] encoded = this.encoded;
+        if (encoded == null) {
+            int[] values = new int[heights.length];
+            for (int i = 0; i < values.length; i++) values[i] = heights[i];
+            encoded = Utils.encodeBlocks(values, bitsPerEntry);
+            this.encoded = encoded;
+        }
+        return encoded;
+    }
+
+    boolean isValid() {
+        return valid;
+    }
+
+    void invalidate() {
+        this.valid = false;
+        this.encoded = null;
+    }
+
+    /**
+     * Computes all the heights from the section palettes, the highest section first.
+     */
+    void refresh(@NotNull List<Section> sections) {
+        short[] heights = this.heights;
+        Arrays.fill(heights, (short) 0);
+        int remaining = heights.length;
+        for (int sectionIndex = sections.size() - 1; sectionIndex >= 0 && remaining > 0; sectionIndex--) {
+            final Palette palette = sections.get(sectionIndex).blockPalette();
+            if (palette.count() == 0 && !type.test(Block.AIR)) continue;
+            final int offset = sectionIndex * Chunk.CHUNK_SECTION_SIZE;
+            for (int i = 0; i < heights.length; i++) {
+                if (heights[i] != 0) continue;
+                final int x = i & 0xF, z = i >> 4;
+                for (int y = Chunk.CHUNK_SECTION_SIZE - 1; y >= 0; y--) {
+                    if (type.test(palette.get(x, y, z))) {
+                        heights[i] = (short) (offset + y + 1);
+                        remaining--;
+                        break;
+                    }
+                }
+            }
+        }
+        this.valid = true;
+        this.encoded = null;
+    }
+
+    /**
+     * Updates the column after a block change.
+     *
+     * @return true if the height changed
+     */
+    boolean update(@NotNull List<Section> sections, int x, int y, int z, @NotNull Block block) {
+        if (!valid) return false;
+        final int index = index(x, z);
+        final int current = heights[index];
+        final int relativeY = y - minY;
+        int height = current;
+        if (type.test(block)) {
+            if (relativeY + 1 > current) height = relativeY + 1;
+        } else if (relativeY + 1 == current) {
+            // Highest block removed, find the next one below
+            height = 0;
+            for (int i = relativeY - 1; i >= 0; i--) {
+                final Palette palette = sections.get(i / Chunk.CHUNK_SECTION_SIZE).blockPalette();
+                if (type.test(palette.get(x, i % Chunk.CHUNK_SECTION_SIZE, z))) {
+                    height = i + 1;
+                    break;
+                }
+            }
+        }
+        if (height == current) return false;
+        this.heights[index] = (short) height;
+        this.encoded = null;
+        return true;
+    }
+
+    void copyFrom(@NotNull Heightmap heightmap) {
+        System.arraycopy(heightmap.heights, 0, heights, 0, heights.length);
+        this.valid = heightmap.valid;
+    }
+
+    private static int index(int x, int z) {
+        return (x & 0xF) | (z & 0xF) << 4;
+    }
+
+    public enum Type {
+        /**
+         * Highest block blocking motion or containing a fluid.
+         */
+        MOTION_BLOCKING(block -> block.isSolid() || block.isLiquid() ||
+                Objects.equals(block.getProperty("waterlogged"), "true")),
+        /**
+         * Highest non-air block.
+         */
+        WORLD_SURFACE(block -> !block.isAir());
+
+        private final Predicate<Block> predicate;
+        // Result of the predicate indexed by state id, computed lazily
+        private volatile byte[] states;
+
+        Type(Predicate<Block> predicate) {
+            this.predicate = predicate;
+        }
+
+        public boolean test(@NotNull Block block) {
+            return predicate.test(block);
+        }
+
+        private boolean test(int stateId) {
+            byte[] states = this.states;
+            if (states == null || stateId >= states.length) {
+                final int length = Math.max(1024, Integer.highestOneBit(stateId) << 1);
+                states = states != null ? Arrays.copyOf(states, length) : new byte[length];
+                this.states = states;
+            }
+            byte result = states[stateId];
+            if (result == 0) {
+                final Block block = Objects.requireNonNullElse(Block.fromStateId((short) stateId), Block.AIR);
+                result = (byte) (predicate.test(block) ? 1 : 2);
+                states[stateId] = result;
+            }
+            return result == 1;
+        }
+    }
+}
@@ -81,7 +81,7 @@ public abstract class Instance implements Block.Getter, Block.Setter,
     // Field for tick events
     private long lastTickAge = System.currentTimeMillis();
 
-    private final EntityTracker entityTracker = new EntityTrackerImpl();
+    private final EntityTracker entityTracker = EntityTracker.newTracker();
 
     private final ChunkCache blockRetriever = new ChunkCache(this, null, null);
 
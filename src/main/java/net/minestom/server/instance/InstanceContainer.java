@@ -15,13 +15,10 @@ import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.instance.block.rule.BlockPlacementRule;
 import net.minestom.server.instance.generator.Generator;
 import net.minestom.server.instance.palette.Palette;
-import net.minestom.server.network.packet.server.play.BlockChangePacket;
-import net.minestom.server.network.packet.server.play.BlockEntityDataPacket;
 import net.minestom.server.network.packet.server.play.EffectPacket;
 import net.minestom.server.network.packet.server.play.UnloadChunkPacket;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.async.AsyncUtils;
-import net.minestom.server.utils.block.BlockUtils;
 import net.minestom.server.utils.chunk.ChunkCache;
 import net.minestom.server.utils.chunk.ChunkSupplier;
 import net.minestom.server.utils.chunk.ChunkUtils;
@@ -30,7 +27,6 @@ import net.minestom.server.world.DimensionType;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jglrxavpok.hephaistos.nbt.NBTCompound;
 import space.vectrix.flare.fastutil.Long2ObjectSyncMap;
 
 import java.util.*;
@@ -38,8 +34,6 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 import static net.minestom.server.utils.chunk.ChunkUtils.*;
@@ -59,8 +53,9 @@ public class InstanceContainer extends Instance {
     private final Long2ObjectSyncMap<Chunk> chunks = Long2ObjectSyncMap.hashmap();
     private final Map<Long, CompletableFuture<Chunk>> loadingChunks = new ConcurrentHashMap<>();
 
-    private final Lock changingBlockLock = new ReentrantLock();
-    private final Map<Point, Block> currentlyChangingBlocks = new HashMap<>();
+    // Blocks being changed by the current thread, including the changes they triggered
+    private final ThreadLocal<Map<Point, Block>> changingBlocks = ThreadLocal.withInitial(HashMap::new);
+    private final BlockChangeAccumulator blockChanges = new BlockChangeAccumulator();
 
     // the chunk loader, used when trying to load/save a chunk from another source
     private IChunkLoader chunkLoader;
@@ -73,7 +68,7 @@ public class InstanceContainer extends Instance {
 
     // Fields for instance copy
     protected InstanceContainer srcInstance; // only present if this instance has been created using a copy
-    private long lastBlockChangeTime; // Time at which the last block change happened (#setBlock)
+    private volatile long lastBlockChangeTime; // Time at which the last block change happened (#setBlock)
 
     @ApiStatus.Experimental
     public InstanceContainer(@NotNull UUID uniqueId, @NotNull DimensionType dimensionType, @Nullable IChunkLoader loader) {
@@ -101,7 +96,9 @@ public class InstanceContainer extends Instance {
     /**
      * Sets a block at the specified position.
      * <p>
-     * Unsafe because the method is not synchronized and it does not verify if the chunk is loaded or not.
+     * Unsafe because it does not verify if the chunk is loaded or not.
+     * Only the target chunk is locked, and only while it is modified. Placement rules
+     * and handlers run outside the lock as they may access other chunks.
      *
      * @param chunk the {@link Chunk} which should be loaded
      * @param x     the block X
@@ -109,22 +106,20 @@ public class InstanceContainer extends Instance {
      * @param z     the block Z
      * @param block the block to place
      */
-    private synchronized void UNSAFE_setBlock(@NotNull Chunk chunk, int x, int y, int z, @NotNull Block block,
-                                              @Nullable BlockHandler.Placement placement, @Nullable BlockHandler.Destroy destroy) {
+    private void UNSAFE_setBlock(@NotNull Chunk chunk, int x, int y, int z, @NotNull Block block,
+                                 @Nullable BlockHandler.Placement placement, @Nullable BlockHandler.Destroy destroy) {
         if (chunk.isReadOnly()) return;
-        synchronized (chunk) {
+        final Vec blockPosition = new Vec(x, y, z);
+        final Map<Point, Block> changingBlocks = this.changingBlocks.get();
+        if (isAlreadyChanged(changingBlocks, blockPosition, block)) { // do NOT change the block again.
+            // Avoids StackOverflowExceptions when onDestroy tries to destroy the block itself
+            // This can happen with nether portals which break the entire frame when a portal block is broken
+            return;
+        }
+        final Block previousChanging = changingBlocks.put(blockPosition, block);
+        try {
             // Refresh the last block change time
             this.lastBlockChangeTime = System.currentTimeMillis();
-            final Vec blockPosition = new Vec(x, y, z);
-            if (isAlreadyChanged(blockPosition, block)) { // do NOT change the block again.
-                // Avoids StackOverflowExceptions when onDestroy tries to destroy the block itself
-                // This can happen with nether portals which break the entire frame when a portal block is broken
-                return;
-            }
-            this.currentlyChangingBlocks.put(blockPosition, block);
-
-            final Block previousBlock = chunk.getBlock(blockPosition);
-            final BlockHandler previousHandler = previousBlock.handler();
 
             // Change id based on neighbors
             final BlockPlacementRule blockPlacementRule = MinecraftServer.getBlockManager().getBlockPlacementRule(block);
@@ -132,22 +127,19 @@ public class InstanceContainer extends Instance {
                 block = blockPlacementRule.blockUpdate(this, blockPosition, block);
             }
 
-            // Set the block
-            chunk.setBlock(x, y, z, block);
+            final Block previousBlock;
+            synchronized (chunk) {
+                previousBlock = chunk.getBlock(blockPosition);
+                // Set the block
+                chunk.setBlock(x, y, z, block);
+                // Refresh player chunk block at the end of the tick
+                this.blockChanges.add(chunk, x, y, z);
+            }
 
             // Refresh neighbors since a new block has been placed
             executeNeighboursBlockPlacementRule(blockPosition);
 
-            // Refresh player chunk block
-            {
-                chunk.sendPacketToViewers(new BlockChangePacket(blockPosition, block.stateId()));
-                var registry = block.registry();
-                if (registry.isBlockEntity()) {
-                    final NBTCompound data = BlockUtils.extractClientNbt(block);
-                    chunk.sendPacketToViewers(new BlockEntityDataPacket(blockPosition, registry.blockEntityId(), data));
-                }
-            }
-
+            final BlockHandler previousHandler = previousBlock.handler();
             if (previousHandler != null) {
                 // Previous destroy
                 previousHandler.onDestroy(Objects.requireNonNullElseGet(destroy,
@@ -160,6 +152,12 @@ public class InstanceContainer extends Instance {
                 handler.onPlace(Objects.requireNonNullElseGet(placement,
                         () -> new BlockHandler.Placement(finalBlock, this, blockPosition)));
             }
+        } finally {
+            if (previousChanging != null) {
+                changingBlocks.put(blockPosition, previousChanging);
+            } else {
+                changingBlocks.remove(blockPosition);
+            }
         }
     }
 
@@ -339,6 +337,7 @@ public class InstanceContainer extends Instance {
                     MinecraftServer.getExceptionManager().handleException(e);
                 } finally {
                     // End generation
+                    chunk.invalidate();
                     chunk.sendChunk();
                     refreshLastBlockChangeTime();
                     resultFuture.complete(chunk);
@@ -369,6 +368,7 @@ public class InstanceContainer extends Instance {
             Palette currentBlocks = section.blockPalette();
             // -1 is necessary because forked units handle explicit changes by changing AIR 0 to 1
             sectionModifier.blockPalette().getAllPresent((x, y, z, value) -> currentBlocks.set(x, y, z, value - 1));
+            chunk.invalidate();
             applyGenerationData(chunk, sectionModifier);
         }
     }
@@ -466,6 +466,7 @@ public class InstanceContainer extends Instance {
      * <p>
      * Chunks are copied with {@link Chunk#copy(Instance, int, int)},
      * {@link UUID} is randomized and {@link DimensionType} is passed over.
+     * Section palettes are shared between both instances until modified.
      *
      * @return an {@link InstanceContainer} with the exact same chunks as 'this'
      * @see #getSrcInstance() to retrieve the "creation source" of the copied instance
@@ -551,27 +552,28 @@ public class InstanceContainer extends Instance {
         this.chunkLoader = chunkLoader;
     }
 
-    @Override
-    public void tick(long time) {
-        // Time/world border
-        super.tick(time);
-        // Clear block change map
-        Lock wrlock = this.changingBlockLock;
-        wrlock.lock();
-        this.currentlyChangingBlocks.clear();
-        wrlock.unlock();
+    /**
+     * Sends the block changes made since the last call, grouped by section.
+     * <p>
+     * Called once at the end of each server tick.
+     */
+    @ApiStatus.Internal
+    public void flushBlockChanges() {
+        this.blockChanges.flush();
     }
 
     /**
-     * Has this block already changed since last update?
+     * Is this block already being changed by the current thread?
      * Prevents StackOverflow with blocks trying to modify their position in onDestroy or onPlace.
      *
-     * @param blockPosition the block position
-     * @param block         the block
-     * @return true if the block changed since the last update
+     * @param changingBlocks the blocks being changed by the current thread
+     * @param blockPosition  the block position
+     * @param block          the block
+     * @return true if the block is being changed to the same block type
      */
-    private boolean isAlreadyChanged(@NotNull Point blockPosition, @NotNull Block block) {
-        final Block changedBlock = currentlyChangingBlocks.get(blockPosition);
+    private static boolean isAlreadyChanged(@NotNull Map<Point, Block> changingBlocks,
+                                            @NotNull Point blockPosition, @NotNull Block block) {
+        final Block changedBlock = changingBlocks.get(blockPosition);
         return changedBlock != null && changedBlock.id() == block.id();
     }
 
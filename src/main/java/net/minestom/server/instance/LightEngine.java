@@ -0,0 +1,432 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Breadth-first propagation of one light type (sky or block) inside a chunk column.
+ * <p>
+ * Positions waiting to be processed are packed with their light level in longs.
+ * Section arrays may be shared with section copies and packets, they are therefore copied
+ * before their first modification and only stored back by {@link #apply()}.
+ * <p>
+ * Neighbour chunks are never accessed, light reaching or leaving a border is written as messages
+ * in {@link #outgoing(int)} for the neighbour in that direction, which applies them with {@link #receive(long[])}.
+ * An engine is reused for all the updates of a chunk, and must only be used while holding the chunk lock.
+ */
+final class LightEngine {
+    private static final byte[] EMPTY = new byte[0];
+    private static final int ARRAY_SIZE = 2048;
+    private static final int MAX_LEVEL = 15;
+    // Neighbour chunk directions, in the same order as the first 4 offsets
+    static final int WEST = 0, EAST = 1, NORTH = 2, SOUTH = 3;
+    private static final int DOWN = 4;
+    private static final int[][] OFFSETS = {
+            {-1, 0, 0}, {1, 0, 0}, {0, 0, -1}, {0, 0, 1}, {0, -1, 0}, {0, 1, 0}
+    };
+    // Message kinds, packed after the position and level
+    // Increase: light reaching the position, decrease: light removed from the neighbour block at the given level,
+    // pull: the neighbour needs the light of the position
+    private static final long DECREASE = 1L << 28, PULL = 1L << 29;
+
+    // Indexed by state id: emission in the first 4 bits, then the opaque and computed flags
+    private static final int OPAQUE = 0x10, COMPUTED = 0x20;
+    private static volatile byte[] states;
+
+    private final boolean sky;
+    private List<Section> sections;
+    private int height;
+    private byte[][] arrays;
+    private boolean[] copied;
+    // Whether light crossing a border is written to the outgoing messages
+    private boolean forward = true;
+    private final LongArrayFIFOQueue increase = new LongArrayFIFOQueue();
+    private final LongArrayFIFOQueue decrease = new LongArrayFIFOQueue();
+    private final LongArrayList[] outgoing = {
+            new LongArrayList(), new LongArrayList(), new LongArrayList(), new LongArrayList()
+    };
+
+    /**
+     * @param sky true to compute sky light, false for block light
+     */
+    LightEngine(boolean sky) {
+        this.sky = sky;
+    }
+
+    /**
+     * Reads the current light of the sections, must be called before each update.
+     *
+     * @param sections the chunk sections
+     */
+    void load(@NotNull List<Section> sections) {
+        if (this.arrays == null || this.arrays.length != sections.size()) {
+            this.arrays = new byte[sections.size()][];
+            this.copied = new boolean[sections.size()];
+        }
+        this.sections = sections;
+        this.height = sections.size() * Chunk.CHUNK_SECTION_SIZE;
+        for (int i = 0; i < arrays.length; i++) {
+            this.arrays[i] = array(sections.get(i));
+            this.copied[i] = false;
+        }
+    }
+
+    boolean isSky() {
+        return sky;
+    }
+
+    /**
+     * Computes the light of the whole chunk, discarding the previous values.
+     * <p>
+     * The whole borders are then sent to the neighbours, and their facing borders requested.
+     */
+    void relight() {
+        final byte[][] previous = arrays.clone();
+        for (int i = 0; i < arrays.length; i++) {
+            this.arrays[i] = new byte[ARRAY_SIZE];
+            this.copied[i] = true;
+        }
+        this.forward = false;
+        try {
+            if (sky) {
+                seedSky();
+            } else {
+                seedBlocks();
+            }
+            propagateIncrease();
+        } finally {
+            this.forward = true;
+        }
+        for (int y = 0; y < height; y++) {
+            for (int i = 0; i < Chunk.CHUNK_SIZE_X; i++) {
+                exchangeBorder(previous, WEST, 0, y, i);
+                exchangeBorder(previous, EAST, Chunk.CHUNK_SIZE_X - 1, y, i);
+                exchangeBorder(previous, NORTH, i, y, 0);
+                exchangeBorder(previous, SOUTH, i, y, Chunk.CHUNK_SIZE_Z - 1);
+            }
+        }
+    }
+
+    /**
+     * Updates the light after a block change.
+     *
+     * @param x       the chunk relative X
+     * @param y       the Y relative to the chunk minimum Y
+     * @param z       the chunk relative Z
+     * @param stateId the new block state
+     */
+    void update(int x, int y, int z, int stateId) {
+        final int current = get(x, y, z);
+        if (current > 0) {
+            set(x, y, z, 0);
+            this.decrease.enqueue(pack(x, y, z, current));
+            propagateDecrease();
+        }
+        if (!isOpaque(stateId)) {
+            // Let the light of the surrounding blocks flow in
+            if (sky && y == height - 1) {
+                this.increase.enqueue(pack(x, y, z, MAX_LEVEL));
+            }
+            for (int direction = 0; direction < OFFSETS.length; direction++) {
+                final int[] offset = OFFSETS[direction];
+                final int nx = x + offset[0], ny = y + offset[1], nz = z + offset[2];
+                if (ny < 0 || ny >= height) continue;
+                if (isOutside(nx, nz)) {
+                    this.outgoing[direction].add(pack(nx & 0xF, ny, nz & 0xF, 0) | PULL);
+                    continue;
+                }
+                final int level = get(nx, ny, nz);
+                if (level > 0) this.increase.enqueue(pack(nx, ny, nz, level));
+            }
+        }
+        final int emission = sky ? 0 : emission(stateId);
+        if (emission > 0) this.increase.enqueue(pack(x, y, z, emission));
+        propagateIncrease();
+    }
+
+    /**
+     * Applies the messages sent by the neighbours.
+     *
+     * @param messages the messages written by the neighbours in their {@link #outgoing(int)} lists
+     */
+    void receive(long @NotNull [] messages) {
+        // Removed light first, the light remaining around is then spread again
+        for (long message : messages) {
+            if ((message & DECREASE) == 0) continue;
+            decreaseNeighbour(unpackX(message), unpackY(message), unpackZ(message), unpackLevel(message));
+        }
+        propagateDecrease();
+        for (long message : messages) {
+            if ((message & DECREASE) != 0) continue;
+            final int x = unpackX(message), y = unpackY(message), z = unpackZ(message);
+            if (y >= height) continue;
+            if ((message & PULL) != 0) {
+                final int level = get(x, y, z);
+                if (level > 1) this.increase.enqueue(pack(x, y, z, level));
+            } else {
+                final int level = unpackLevel(message);
+                if (level > get(x, y, z) && !isOpaque(state(x, y, z))) {
+                    this.increase.enqueue(pack(x, y, z, level));
+                }
+            }
+        }
+        propagateIncrease();
+    }
+
+    /**
+     * Gets the messages for the neighbour in a direction, to be cleared once sent.
+     *
+     * @param direction the neighbour direction
+     * @return the messages for the neighbour
+     */
+    @NotNull LongArrayList outgoing(int direction) {
+        return outgoing[direction];
+    }
+
+    /**
+     * Stores the modified arrays back into the sections.
+     *
+     * @return true if any section has been modified
+     */
+    boolean apply() {
+        boolean modified = false;
+        for (int i = 0; i < arrays.length; i++) {
+            if (!copied[i]) continue;
+            final byte[] array = isEmpty(arrays[i]) ? EMPTY : arrays[i];
+            final Section section = sections.get(i);
+            if (sky) {
+                section.setSkyLight(array);
+            } else {
+                section.setBlockLight(array);
+            }
+            this.copied[i] = false;
+            this.arrays[i] = array;
+            modified = true;
+        }
+        return modified;
+    }
+
+    private void seedSky() {
+        final int size = Chunk.CHUNK_SIZE_X * Chunk.CHUNK_SIZE_Z;
+        // Lowest Y reached by direct sky light in each column
+        final int[] tops = new int[size];
+        for (int i = 0; i < size; i++) {
+            final int x = i & 0xF, z = i >> 4;
+            int y = height - 1;
+            while (y >= 0 && !isOpaque(state(x, y, z))) set(x, y--, z, MAX_LEVEL);
+            tops[i] = y + 1;
+        }
+        // Only the blocks next to a shadowed column have to spread
+        for (int i = 0; i < size; i++) {
+            final int x = i & 0xF, z = i >> 4;
+            int limit = tops[i];
+            if (x > 0) limit = Math.max(limit, tops[i - 1]);
+            if (x < Chunk.CHUNK_SIZE_X - 1) limit = Math.max(limit, tops[i + 1]);
+            if (z > 0) limit = Math.max(limit, tops[i - Chunk.CHUNK_SIZE_X]);
+            if (z < Chunk.CHUNK_SIZE_Z - 1) limit = Math.max(limit, tops[i + Chunk.CHUNK_SIZE_X]);
+            for (int y = tops[i]; y < limit; y++) this.increase.enqueue(pack(x, y, z, MAX_LEVEL));
+        }
+    }
+
+    private void seedBlocks() {
+        for (int i = 0; i < sections.size(); i++) {
+            final Palette palette = sections.get(i).blockPalette();
+            if (palette.count() == 0) continue;
+            final int offset = i * Chunk.CHUNK_SECTION_SIZE;
+            palette.getAllPresent((x, y, z, value) -> {
+                final int emission = emission(value);
+                if (emission > 0) this.increase.enqueue(pack(x, offset + y, z, emission));
+            });
+        }
+    }
+
+    /**
+     * Sends the light of a border block after a relight, removing the light it no longer provides,
+     * and requests the light of the facing neighbour block.
+     */
+    private void exchangeBorder(byte[][] previous, int direction, int x, int y, int z) {
+        final int[] offset = OFFSETS[direction];
+        final int nx = (x + offset[0]) & 0xF, nz = (z + offset[2]) & 0xF;
+        final LongArrayList messages = this.outgoing[direction];
+        final int level = get(x, y, z);
+        final int previousLevel = nibble(previous[y >> 4], x, y, z);
+        if (previousLevel > level) messages.add(pack(nx, y, nz, previousLevel) | DECREASE);
+        if (level > 1) messages.add(pack(nx, y, nz, level - 1));
+        messages.add(pack(nx, y, nz, 0) | PULL);
+    }
+
+    /**
+     * Removes the light of a block if it may have been provided by a neighbour block at {@code level},
+     * otherwise spreads it again.
+     */
+    private void decreaseNeighbour(int x, int y, int z, int level) {
+        if (y >= height) return;
+        final int neighbourLevel = get(x, y, z);
+        if (neighbourLevel == 0) return;
+        if (neighbourLevel < level) {
+            set(x, y, z, 0);
+            this.decrease.enqueue(pack(x, y, z, neighbourLevel));
+            if (!sky) {
+                final int emission = emission(state(x, y, z));
+                if (emission > 0) this.increase.enqueue(pack(x, y, z, emission));
+            }
+        } else {
+            this.increase.enqueue(pack(x, y, z, neighbourLevel));
+        }
+    }
+
+    private void propagateIncrease() {
+        final LongArrayFIFOQueue queue = this.increase;
+        while (!queue.isEmpty()) {
+            final long packed = queue.dequeueLong();
+            final int x = unpackX(packed), y = unpackY(packed), z = unpackZ(packed), level = unpackLevel(packed);
+            final int current = get(x, y, z);
+            if (current > level) continue; // Outdated
+            if (current < level) set(x, y, z, level);
+            for (int direction = 0; direction < OFFSETS.length; direction++) {
+                final int[] offset = OFFSETS[direction];
+                final int nx = x + offset[0], ny = y + offset[1], nz = z + offset[2];
+                if (ny < 0 || ny >= height) continue;
+                if (isOutside(nx, nz)) {
+                    if (forward && level > 1) this.outgoing[direction].add(pack(nx & 0xF, ny, nz & 0xF, level - 1));
+                    continue;
+                }
+                // Direct sky light goes down without attenuation
+                final int target = sky && level == MAX_LEVEL && direction == DOWN ? MAX_LEVEL : level - 1;
+                if (target <= get(nx, ny, nz) || isOpaque(state(nx, ny, nz))) continue;
+                set(nx, ny, nz, target);
+                if (target > 1) queue.enqueue(pack(nx, ny, nz, target));
+            }
+        }
+    }
+
+    private void propagateDecrease() {
+        final LongArrayFIFOQueue queue = this.decrease;
+        while (!queue.isEmpty()) {
+            final long packed = queue.dequeueLong();
+            final int x = unpackX(packed), y = unpackY(packed), z = unpackZ(packed), level = unpackLevel(packed);
+            for (int direction = 0; direction < OFFSETS.length; direction++) {
+                final int[] offset = OFFSETS[direction];
+                final int nx = x + offset[0], ny = y + offset[1], nz = z + offset[2];
+                if (ny < 0 || ny >= height) continue;
+                if (isOutside(nx, nz)) {
+                    if (forward) this.outgoing[direction].add(pack(nx & 0xF, ny, nz & 0xF, level) | DECREASE);
+                    continue;
+                }
+                final int neighbourLevel = get(nx, ny, nz);
+                if (neighbourLevel == 0) continue;
+                if (neighbourLevel < level ||
+                        (sky && direction == DOWN && level == MAX_LEVEL && neighbourLevel == MAX_LEVEL)) {
+                    // Lit by the removed light
+                    set(nx, ny, nz, 0);
+                    queue.enqueue(pack(nx, ny, nz, neighbourLevel));
+                    if (!sky) {
+                        final int emission = emission(state(nx, ny, nz));
+                        if (emission > 0) this.increase.enqueue(pack(nx, ny, nz, emission));
+                    }
+                } else {
+                    // Lit by another source, spread it again
+                    this.increase.enqueue(pack(nx, ny, nz, neighbourLevel));
+                }
+            }
+        }
+    }
+
+    private int state(int x, int y, int z) {
+        return sections.get(y >> 4).blockPalette().get(x, y & 0xF, z);
+    }
+
+    private int get(int x, int y, int z) {
+        return nibble(arrays[y >> 4], x, y, z);
+    }
+
+    private void set(int x, int y, int z, int level) {
+        final int sectionIndex = y >> 4;
+        byte[] array = arrays[sectionIndex];
+        if (!copied[sectionIndex]) {
+            array = array.length == 0 ? new byte[ARRAY_SIZE] : array.clone();
+            this.arrays[sectionIndex] = array;
+            this.copied[sectionIndex] = true;
+        }
+        final int index = index(x, y, z);
+        final int shift = (index & 1) << 2;
+        array[index >> 1] = (byte) ((array[index >> 1] & ~(0xF << shift)) | (level << shift));
+    }
+
+    private byte[] array(Section section) {
+        return sky ? section.getSkyLight() : section.getBlockLight();
+    }
+
+    private static int nibble(byte[] array, int x, int y, int z) {
+        if (array.length == 0) return 0;
+        final int index = index(x, y, z);
+        return (array[index >> 1] >> ((index & 1) << 2)) & 0xF;
+    }
+
+    private static int index(int x, int y, int z) {
+        return (y & 0xF) << 8 | z << 4 | x;
+    }
+
+    private static boolean isOutside(int x, int z) {
+        return x < 0 || x >= Chunk.CHUNK_SIZE_X || z < 0 || z >= Chunk.CHUNK_SIZE_Z;
+    }
+
+    private static boolean isEmpty(byte[] array) {
+        for (byte b : array) {
+            if (b != 0) return false;
+        }
+        return true;
+    }
+
+    private static long pack(int x, int y, int z, int level) {
+        return x | z << 4 | (long) y << 8 | (long) level << 24;
+    }
+
+    private static int unpackX(long packed) {
+        return (int) (packed & 0xF);
+    }
+
+    private static int unpackZ(long packed) {
+        return (int) (packed >> 4 & 0xF);
+    }
+
+    private static int unpackY(long packed) {
+        return (int) (packed >> 8 & 0xFFFF);
+    }
+
+    private static int unpackLevel(long packed) {
+        return (int) (packed >> 24 & 0xF);
+    }
+
+    static int emission(int stateId) {
+        return properties(stateId) & 0xF;
+    }
+
+    static boolean isOpaque(int stateId) {
+        return (properties(stateId) & OPAQUE) != 0;
+    }
+
+    private static int properties(int stateId) {
+        byte[] states = LightEngine.states;
+        if (states == null || stateId >= states.length) {
+            final int length = Math.max(1024, Integer.highestOneBit(stateId) << 1);
+            states = states != null ? Arrays.copyOf(states, length) : new byte[length];
+            LightEngine.states = states;
+        }
+        int result = states[stateId];
+        if (result == 0) {
+            final Block block = Objects.requireNonNullElse(Block.fromStateId((short) stateId), Block.AIR);
+            result = COMPUTED | Math.min(block.registry().lightEmission(), MAX_LEVEL) |
+                    (block.registry().occludes() ? OPAQUE : 0);
+            states[stateId] = (byte) result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,236 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.utils.chunk.ChunkSupplier;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static net.minestom.server.utils.chunk.ChunkUtils.toSectionRelativeCoordinate;
+
+/**
+ * A {@link DynamicChunk} computing its own sky and block light.
+ * <p>
+ * Light is computed from scratch by a pool of light workers once the chunk has been generated
+ * or {@link #invalidate() invalidated}, then updated incrementally on each block change.
+ * Viewers receive at most one light update per tick.
+ * <p>
+ * Light crossing a border is queued into the loaded neighbour, which applies it on a light worker
+ * while holding its own lock. Borders are exchanged with the loaded neighbours after each relight.
+ * <p>
+ * Enabled using {@link InstanceContainer#setChunkSupplier(ChunkSupplier)} with {@code LightingChunk::new}.
+ */
+public class LightingChunk extends DynamicChunk {
+    private static final int LIGHT_THREADS = Integer.getInteger("minestom.light-threads",
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    private static final AtomicInteger LIGHT_THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService LIGHT_EXECUTOR = Executors.newFixedThreadPool(LIGHT_THREADS, r -> {
+        Thread thread = new Thread(r, "Ms-Light-" + LIGHT_THREAD_COUNTER.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Light tasks not yet completed, only used to wait for the workers in tests
+    private static final AtomicInteger PENDING_TASKS = new AtomicInteger();
+
+    private volatile boolean lightChanged;
+    // Reused for every update, only used while holding the chunk lock
+    private final LightEngine skyEngine = new LightEngine(true);
+    private final LightEngine blockEngine = new LightEngine(false);
+    // Messages sent by the neighbours, applied by a light worker
+    private final LongArrayList skyInbox = new LongArrayList();
+    private final LongArrayList blockInbox = new LongArrayList();
+    private final AtomicBoolean receiveScheduled = new AtomicBoolean();
+    // Relight waiting for a light worker, later requests are merged into it
+    private final AtomicReference<CompletableFuture<Void>> pendingRelight = new AtomicReference<>();
+
+    public LightingChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        super(instance, chunkX, chunkZ);
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, @NotNull Block block) {
+        final int localX = toSectionRelativeCoordinate(x), localZ = toSectionRelativeCoordinate(z);
+        final int previous = getSectionAt(y).blockPalette().get(localX, toSectionRelativeCoordinate(y), localZ);
+        super.setBlock(x, y, z, block);
+        final int stateId = block.stateId();
+        if (previous == stateId) return;
+        if (LightEngine.isOpaque(previous) == LightEngine.isOpaque(stateId) &&
+                LightEngine.emission(previous) == LightEngine.emission(stateId)) return;
+        final int localY = y - minSection * CHUNK_SECTION_SIZE;
+        boolean changed = false;
+        if (hasSkyLight()) {
+            skyEngine.load(getSections());
+            skyEngine.update(localX, localY, localZ, stateId);
+            changed = skyEngine.apply();
+            sendBorders(skyEngine);
+        }
+        blockEngine.load(getSections());
+        blockEngine.update(localX, localY, localZ, stateId);
+        changed |= blockEngine.apply();
+        sendBorders(blockEngine);
+        if (changed) {
+            invalidateLight();
+            this.lightChanged = true;
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        relightAsync();
+    }
+
+    /**
+     * Computes the light of the whole chunk again on a light worker.
+     * <p>
+     * Requests made before the computation starts are merged.
+     *
+     * @return a future completed once the light has been computed
+     */
+    public @NotNull CompletableFuture<Void> relightAsync() {
+        while (true) {
+            final CompletableFuture<Void> pending = pendingRelight.get();
+            if (pending != null) return pending;
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            if (!pendingRelight.compareAndSet(null, future)) continue;
+            execute(() -> {
+                // Changes made from now on need another relight
+                this.pendingRelight.compareAndSet(future, null);
+                try {
+                    if (isLoaded()) relight();
+                    future.complete(null);
+                } catch (Throwable e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
+                    future.completeExceptionally(e);
+                }
+            });
+            return future;
+        }
+    }
+
+    /**
+     * Computes the light of the whole chunk again, in the current thread.
+     */
+    public synchronized void relight() {
+        if (hasSkyLight()) {
+            skyEngine.load(getSections());
+            skyEngine.relight();
+            skyEngine.apply();
+            sendBorders(skyEngine);
+        }
+        blockEngine.load(getSections());
+        blockEngine.relight();
+        blockEngine.apply();
+        sendBorders(blockEngine);
+        invalidateLight();
+        this.lightChanged = true;
+    }
+
+    /**
+     * Queues light messages sent by a neighbour, applied later by a light worker.
+     */
+    private void receiveLight(boolean sky, LongArrayList messages) {
+        final LongArrayList inbox = sky ? skyInbox : blockInbox;
+        synchronized (inbox) {
+            inbox.addAll(messages);
+        }
+        if (receiveScheduled.compareAndSet(false, true)) execute(this::applyReceivedLight);
+    }
+
+    private void applyReceivedLight() {
+        // Messages received from now on need another task
+        this.receiveScheduled.set(false);
+        final long[] skyMessages = takeMessages(skyInbox);
+        final long[] blockMessages = takeMessages(blockInbox);
+        if (!isLoaded()) return;
+        synchronized (this) {
+            boolean changed = false;
+            if (skyMessages.length > 0 && hasSkyLight()) {
+                skyEngine.load(getSections());
+                skyEngine.receive(skyMessages);
+                changed = skyEngine.apply();
+                sendBorders(skyEngine);
+            }
+            if (blockMessages.length > 0) {
+                blockEngine.load(getSections());
+                blockEngine.receive(blockMessages);
+                changed |= blockEngine.apply();
+                sendBorders(blockEngine);
+            }
+            if (changed) {
+                invalidateLight();
+                this.lightChanged = true;
+            }
+        }
+    }
+
+    private static long[] takeMessages(LongArrayList inbox) {
+        synchronized (inbox) {
+            final long[] messages = inbox.toLongArray();
+            inbox.clear();
+            return messages;
+        }
+    }
+
+    /**
+     * Sends the light crossing the borders to the loaded neighbours.
+     */
+    private void sendBorders(LightEngine engine) {
+        for (int direction = 0; direction < 4; direction++) {
+            final LongArrayList messages = engine.outgoing(direction);
+            if (messages.isEmpty()) continue;
+            final int neighbourX = chunkX + (direction == LightEngine.WEST ? -1 : direction == LightEngine.EAST ? 1 : 0);
+            final int neighbourZ = chunkZ + (direction == LightEngine.NORTH ? -1 : direction == LightEngine.SOUTH ? 1 : 0);
+            if (instance.getChunk(neighbourX, neighbourZ) instanceof LightingChunk neighbour && neighbour.isLoaded()) {
+                neighbour.receiveLight(engine.isSky(), messages);
+            }
+            messages.clear();
+        }
+    }
+
+    private static void execute(Runnable task) {
+        PENDING_TASKS.incrementAndGet();
+        LIGHT_EXECUTOR.execute(() -> {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            } finally {
+                PENDING_TASKS.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Waits for the light workers to be idle, including the tasks queued by the awaited ones.
+     */
+    static void awaitLightWorkers() {
+        while (PENDING_TASKS.get() != 0) Thread.onSpinWait();
+    }
+
+    @Override
+    public void tick(long time) {
+        super.tick(time);
+        if (lightChanged) {
+            this.lightChanged = false;
+            sendLight();
+        }
+    }
+
+    @Override
+    public @NotNull Chunk copy(@NotNull Instance instance, int chunkX, int chunkZ) {
+        return copyTo(new LightingChunk(instance, chunkX, chunkZ));
+    }
+
+    private boolean hasSkyLight() {
+        return instance.getDimensionType().isSkylightEnabled();
+    }
+}
@@ -0,0 +1,345 @@
+package net.minestom.server.instance;
+
+import org.jetbrains.annotations.NotNull;
+import org.jglrxavpok.hephaistos.data.DataSource;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * {@link DataSource} of a region file, used by {@link AnvilLoader}.
+ * <p>
+ * The header (chunk locations and timestamps) is memory-mapped, so that updating it does not require any system call.
+ * Sector writes are buffered as long as they are contiguous, and written as a single write
+ * by {@link #flush()}, before any read, or once the buffer exceeds {@link #MAX_PENDING} bytes.
+ * The header is only forced to the storage by {@link #flush()} and {@link #close()}.
+ * <p>
+ * Not thread-safe, accesses need to be synchronized by the owning region lock.
+ */
+final class RegionFileSource implements DataSource {
+    static final int HEADER_LENGTH = 8192;
+    private static final int MAX_PENDING = Integer.getInteger("minestom.anvil-write-batch", 1024 * 1024);
+
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES);
+
+    // Buffered sector writes, starting at pendingPosition
+    private byte[] pending = new byte[8192];
+    private long pendingPosition = -1;
+    private int pendingLength;
+    // Cursor of the sequential DataInput/DataOutput methods
+    private long position;
+
+    RegionFileSource(@NotNull Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Mapping grows the file to the header size if needed, an empty header is valid
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_LENGTH);
+    }
+
+    /**
+     * Writes the buffered sectors to the file and forces the header changes to the storage.
+     */
+    public void flush() throws IOException {
+        writePending();
+        this.header.force();
+    }
+
+    private void writePending() throws IOException {
+        if (pendingLength == 0) return;
+        ByteBuffer buffer = ByteBuffer.wrap(pending, 0, pendingLength);
+        long position = pendingPosition;
+        while (buffer.hasRemaining()) position += channel.write(buffer, position);
+        this.pendingPosition = -1;
+        this.pendingLength = 0;
+    }
+
+    @Override
+    public void seek(long position) {
+        this.position = position;
+    }
+
+    @Override
+    public long length() throws IOException {
+        return Math.max(channel.size(), pendingPosition + pendingLength);
+    }
+
+    @Override
+    public void setLength(long length) throws IOException {
+        writePending();
+        final long size = channel.size();
+        if (length < size) {
+            channel.truncate(length);
+        } else if (length > size) {
+            channel.write(ByteBuffer.wrap(new byte[1]), length - 1);
+        }
+    }
+
+    @Override
+    public void writeByte(long position, byte value) throws IOException {
+        writeBytes(position, new byte[]{value}, 0, 1);
+    }
+
+    @Override
+    public void writeBytes(long position, byte @NotNull [] bytes) throws IOException {
+        writeBytes(position, bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void writeInt(long position, int value) throws IOException {
+        if (position >= 0 && position + Integer.BYTES <= HEADER_LENGTH) {
+            this.header.putInt((int) position, value);
+            return;
+        }
+        writeBytes(position, scratch.putInt(0, value).array(), 0, Integer.BYTES);
+    }
+
+    @Override
+    public void readBytes(long position, byte @NotNull [] bytes) throws IOException {
+        readBytes(position, bytes, 0, bytes.length);
+    }
+
+    @Override
+    public byte readByte(long position) throws IOException {
+        byte[] bytes = scratch.array();
+        readBytes(position, bytes, 0, 1);
+        return bytes[0];
+    }
+
+    @Override
+    public int readInt(long position) throws IOException {
+        if (position >= 0 && position + Integer.BYTES <= HEADER_LENGTH) {
+            return header.getInt((int) position);
+        }
+        readBytes(position, scratch.array(), 0, Integer.BYTES);
+        return scratch.getInt(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        this.channel.close();
+    }
+
+    private void writeBytes(long position, byte[] bytes, int offset, int length) throws IOException {
+        if (position < HEADER_LENGTH) {
+            final int headerLength = (int) Math.min(length, HEADER_LENGTH - position);
+            this.header.put((int) position, bytes, offset, headerLength);
+            position += headerLength;
+            offset += headerLength;
+            length -= headerLength;
+            if (length == 0) return;
+        }
+        if (pendingLength > 0 && position != pendingPosition + pendingLength) writePending();
+        if (pendingLength == 0) this.pendingPosition = position;
+        final int required = pendingLength + length;
+        if (required > pending.length) {
+            this.pending = Arrays.copyOf(pending, Math.max(required, pending.length * 2));
+        }
+        System.arraycopy(bytes, offset, pending, pendingLength, length);
+        this.pendingLength = required;
+        if (pendingLength >= MAX_PENDING) writePending();
+    }
+
+    private void readBytes(long position, byte[] bytes, int offset, int length) throws IOException {
+        if (position < HEADER_LENGTH) {
+            final int headerLength = (int) Math.min(length, HEADER_LENGTH - position);
+            this.header.get((int) position, bytes, offset, headerLength);
+            position += headerLength;
+            offset += headerLength;
+            length -= headerLength;
+            if (length == 0) return;
+        }
+        writePending();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position);
+            if (read == -1) throw new EOFException();
+            position += read;
+        }
+    }
+
+    // Sequential methods, RegionFile only uses them when reading the header
+
+    @Override
+    public void readFully(byte @NotNull [] bytes) throws IOException {
+        readFully(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void readFully(byte @NotNull [] bytes, int offset, int length) throws IOException {
+        readBytes(position, bytes, offset, length);
+        this.position += length;
+    }
+
+    @Override
+    public int skipBytes(int n) {
+        this.position += n;
+        return n;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return readByte(position++);
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return readByte() & 0xFF;
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        readFully(scratch.array(), 0, Short.BYTES);
+        return scratch.getShort(0);
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        return (char) readShort();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        final int value = readInt(position);
+        this.position += Integer.BYTES;
+        return value;
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        readFully(scratch.array(), 0, Long.BYTES);
+        return scratch.getLong(0);
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        final long length = length();
+        if (position >= length) return null;
+        StringBuilder builder = new StringBuilder();
+        while (position < length) {
+            final int c = readUnsignedByte();
+            if (c == '\n') break;
+            if (c == '\r') {
+                if (position < length && readByte(position) == '\n') this.position++;
+                break;
+            }
+            builder.append((char) c);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public @NotNull String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        writeByte(b);
+    }
+
+    @Override
+    public void write(byte @NotNull [] bytes) throws IOException {
+        write(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void write(byte @NotNull [] bytes, int offset, int length) throws IOException {
+        writeBytes(position, bytes, offset, length);
+        this.position += length;
+    }
+
+    @Override
+    public void writeBoolean(boolean v) throws IOException {
+        writeByte(v ? 1 : 0);
+    }
+
+    @Override
+    public void writeByte(int v) throws IOException {
+        writeByte(position++, (byte) v);
+    }
+
+    @Override
+    public void writeShort(int v) throws IOException {
+        write(scratch.putShort(0, (short) v).array(), 0, Short.BYTES);
+    }
+
+    @Override
+    public void writeChar(int v) throws IOException {
+        writeShort(v);
+    }
+
+    @Override
+    public void writeInt(int v) throws IOException {
+        writeInt(position, v);
+        this.position += Integer.BYTES;
+    }
+
+    @Override
+    public void writeLong(long v) throws IOException {
+        write(scratch.putLong(0, v).array(), 0, Long.BYTES);
+    }
+
+    @Override
+    public void writeFloat(float v) throws IOException {
+        writeInt(Float.floatToIntBits(v));
+    }
+
+    @Override
+    public void writeDouble(double v) throws IOException {
+        writeLong(Double.doubleToLongBits(v));
+    }
+
+    @Override
+    public void writeBytes(@NotNull String s) throws IOException {
+        byte[] bytes = new byte[s.length()];
+        for (int i = 0; i < bytes.length; i++) bytes[i] = (byte) s.charAt(i);
+        write(bytes);
+    }
+
+    @Override
+    public void writeChars(@NotNull String s) throws IOException {
+        byte[] bytes = new byte[s.length() * Character.BYTES];
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            bytes[i * 2] = (byte) (c >>> 8);
+            bytes[i * 2 + 1] = (byte) c;
+        }
+        write(bytes);
+    }
+
+    @Override
+    public void writeUTF(@NotNull String s) throws IOException {
+        // Modified UTF-8 with its length prefix
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(s.length() + 2);
+        new DataOutputStream(bytes).writeUTF(s);
+        write(bytes.toByteArray());
+    }
+}
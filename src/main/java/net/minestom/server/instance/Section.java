@@ -55,10 +55,15 @@ public final class Section implements Writeable {
         this.blockLight = new byte[0];
     }
 
+    /**
+     * Clones the section, palettes are copied on their first modification
+     * and light arrays are shared as they are only replaced.
+     *
+     * @return the cloned section
+     */
     @Override
     public @NotNull Section clone() {
-        return new Section(blockPalette.clone(), biomePalette.clone(),
-                skyLight.clone(), blockLight.clone());
+        return new Section(blockPalette.clone(), biomePalette.clone(), skyLight, blockLight);
     }
 
     @Override
@@ -2,7 +2,6 @@ package net.minestom.server.instance.batch;
 
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
-import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.InstanceContainer;
@@ -11,6 +10,7 @@ import net.minestom.server.utils.chunk.ChunkUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import space.vectrix.flare.fastutil.Long2ObjectSyncMap;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -27,8 +27,8 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class AbsoluteBlockBatch implements Batch<Runnable> {
 
-    // In the form of <Chunk Index, Batch>
-    private final Long2ObjectMap<ChunkBatch> chunkBatchesMap = new Long2ObjectOpenHashMap<>();
+    // In the form of <Chunk Index, Batch>, filled concurrently
+    private final Long2ObjectMap<ChunkBatch> chunkBatchesMap = Long2ObjectSyncMap.hashmap();
 
     // Available for other implementations to handle.
     protected final CountDownLatch readyLatch;
@@ -55,10 +55,7 @@ public class AbsoluteBlockBatch implements Batch<Runnable> {
         final int chunkZ = ChunkUtils.getChunkCoordinate(z);
         final long chunkIndex = ChunkUtils.getChunkIndex(chunkX, chunkZ);
 
-        final ChunkBatch chunkBatch;
-        synchronized (chunkBatchesMap) {
-            chunkBatch = chunkBatchesMap.computeIfAbsent(chunkIndex, i -> new ChunkBatch(this.options));
-        }
+        final ChunkBatch chunkBatch = chunkBatchesMap.computeIfAbsent(chunkIndex, i -> new ChunkBatch(this.options));
 
         final int relativeX = x - (chunkX * Chunk.CHUNK_SIZE_X);
         final int relativeZ = z - (chunkZ * Chunk.CHUNK_SIZE_Z);
@@ -67,9 +64,7 @@ public class AbsoluteBlockBatch implements Batch<Runnable> {
 
     @Override
     public void clear() {
-        synchronized (chunkBatchesMap) {
-            this.chunkBatchesMap.clear();
-        }
+        this.chunkBatchesMap.clear();
     }
 
     @Override
@@ -123,33 +118,33 @@ public class AbsoluteBlockBatch implements Batch<Runnable> {
         if (!this.options.isUnsafeApply()) this.awaitReady();
 
         final AbsoluteBlockBatch inverse = this.options.shouldCalculateInverse() ? new AbsoluteBlockBatch(inverseOption) : null;
-        synchronized (chunkBatchesMap) {
-            AtomicInteger counter = new AtomicInteger();
-            for (var entry : Long2ObjectMaps.fastIterable(chunkBatchesMap)) {
-                final long chunkIndex = entry.getLongKey();
-                final int chunkX = ChunkUtils.getChunkCoordX(chunkIndex);
-                final int chunkZ = ChunkUtils.getChunkCoordZ(chunkIndex);
-                final ChunkBatch batch = entry.getValue();
-                ChunkBatch chunkInverse = batch.apply(instance, chunkX, chunkZ, c -> {
-                    final boolean isLast = counter.incrementAndGet() == chunkBatchesMap.size();
-                    // Execute the callback if this was the last chunk to process
-                    if (isLast) {
-                        if (inverse != null) inverse.readyLatch.countDown();
-                        if (instance instanceof InstanceContainer) {
-                            // FIXME: put method in Instance instead
-                            ((InstanceContainer) instance).refreshLastBlockChangeTime();
-                        }
-                        if (callback != null) {
-                            if (safeCallback) {
-                                instance.scheduleNextTick(inst -> callback.run());
-                            } else {
-                                callback.run();
-                            }
+        // Each chunk is applied and sent independently on the batch pool
+        final int count = chunkBatchesMap.size();
+        AtomicInteger counter = new AtomicInteger();
+        for (var entry : Long2ObjectMaps.fastIterable(chunkBatchesMap)) {
+            final long chunkIndex = entry.getLongKey();
+            final int chunkX = ChunkUtils.getChunkCoordX(chunkIndex);
+            final int chunkZ = ChunkUtils.getChunkCoordZ(chunkIndex);
+            final ChunkBatch batch = entry.getValue();
+            ChunkBatch chunkInverse = batch.apply(instance, chunkX, chunkZ, c -> {
+                final boolean isLast = counter.incrementAndGet() == count;
+                // Execute the callback if this was the last chunk to process
+                if (isLast) {
+                    if (inverse != null) inverse.readyLatch.countDown();
+                    if (instance instanceof InstanceContainer) {
+                        // FIXME: put method in Instance instead
+                        ((InstanceContainer) instance).refreshLastBlockChangeTime();
+                    }
+                    if (callback != null) {
+                        if (safeCallback) {
+                            instance.scheduleNextTick(inst -> callback.run());
+                        } else {
+                            callback.run();
                         }
                     }
-                });
-                if (inverse != null) inverse.chunkBatchesMap.put(chunkIndex, chunkInverse);
-            }
+                }
+            });
+            if (inverse != null) inverse.chunkBatchesMap.put(chunkIndex, chunkInverse);
         }
 
         return inverse;
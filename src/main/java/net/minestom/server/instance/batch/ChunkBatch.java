@@ -2,12 +2,14 @@ package net.minestom.server.instance.batch;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.ints.IntArraySet;
-import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.InstanceContainer;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.network.packet.server.play.MultiBlockChangePacket;
 import net.minestom.server.utils.callback.OptionalCallback;
 import net.minestom.server.utils.chunk.ChunkCallback;
 import net.minestom.server.utils.chunk.ChunkUtils;
@@ -16,7 +18,10 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
 
 /**
  * A Batch used when all of the block changed are contained inside a single chunk.
@@ -33,8 +38,12 @@ import java.util.concurrent.CountDownLatch;
 public class ChunkBatch implements Batch<ChunkCallback> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ChunkBatch.class);
+    // Above this amount of changes, the whole chunk is sent again instead of the changed blocks
+    private static final int PARTIAL_UPDATE_LIMIT = Integer.getInteger("minestom.batch-partial-update-limit", 1024);
 
     private final Int2ObjectMap<Block> blocks = new Int2ObjectOpenHashMap<>();
+    // Previous states of a bulk application when this is an inverse batch, see #resolveLazyStates()
+    private Int2ObjectMap<int[]> lazyStates;
     // Available for other implementations to handle.
     protected final CountDownLatch readyLatch;
     private final BatchOption options;
@@ -56,6 +65,7 @@ public class ChunkBatch implements Batch<ChunkCallback> {
     public void setBlock(int x, int y, int z, @NotNull Block block) {
         final int index = ChunkUtils.getBlockIndex(x, y, z);
         synchronized (blocks) {
+            resolveLazyStates();
             this.blocks.put(index, block);
         }
     }
@@ -63,6 +73,7 @@ public class ChunkBatch implements Batch<ChunkCallback> {
     @Override
     public void clear() {
         synchronized (blocks) {
+            this.lazyStates = null;
             this.blocks.clear();
         }
     }
@@ -169,27 +180,47 @@ public class ChunkBatch implements Batch<ChunkCallback> {
                 return;
             }
 
-            if (this.options.isFullChunk()) {
-                // Clear the chunk
-                chunk.reset();
+            // Changes encoded for MultiBlockChangePacket, null if the whole chunk has to be sent
+            Int2ObjectMap<LongArrayList> sections = null;
+            boolean empty = false;
+            synchronized (chunk) {
+                if (this.options.isFullChunk()) {
+                    // Clear the chunk
+                    chunk.reset();
+                }
+                synchronized (blocks) {
+                    resolveLazyStates();
+                    if (blocks.isEmpty()) {
+                        empty = true;
+                    } else if (blocks.size() > PARTIAL_UPDATE_LIMIT) {
+                        bulkApply(chunk, inverse);
+                    } else {
+                        if (!options.isFullChunk()) sections = new Int2ObjectOpenHashMap<>();
+                        for (var entry : blocks.int2ObjectEntrySet()) {
+                            final int position = entry.getIntKey();
+                            final Block block = entry.getValue();
+                            final int section = apply(chunk, position, block, inverse);
+                            if (sections == null) continue;
+                            if (block.hasNbt() || block.registry().isBlockEntity()) {
+                                // Block entity data is only sent with the chunk
+                                sections = null;
+                                continue;
+                            }
+                            final long change = ChunkUtils.encodeSectionBlockChange(
+                                    ChunkUtils.blockIndexToChunkPositionX(position),
+                                    ChunkUtils.blockIndexToChunkPositionY(position),
+                                    ChunkUtils.blockIndexToChunkPositionZ(position), block.stateId());
+                            sections.computeIfAbsent(section, s -> new LongArrayList()).add(change);
+                        }
+                    }
+                }
             }
-
-            if (blocks.isEmpty()) {
+            if (empty) {
                 // Nothing to flush
                 OptionalCallback.execute(callback, chunk);
                 return;
             }
 
-            final IntSet sections = new IntArraySet();
-            synchronized (blocks) {
-                for (var entry : blocks.int2ObjectEntrySet()) {
-                    final int position = entry.getIntKey();
-                    final Block block = entry.getValue();
-                    final int section = apply(chunk, position, block, inverse);
-                    sections.add(section);
-                }
-            }
-
             if (inverse != null) inverse.readyLatch.countDown();
             updateChunk(instance, chunk, sections, callback, safeCallback);
         } catch (Exception e) {
@@ -197,6 +228,91 @@ public class ChunkBatch implements Batch<ChunkCallback> {
         }
     }
 
+    /**
+     * Writes the changes straight into the section palettes, sections being processed in parallel.
+     * <p>
+     * Blocks with a handler or nbt, and blocks replacing one, still go through {@link Chunk#setBlock(int, int, int, Block)}.
+     * The previous states are kept as is in the inverse batch, and only converted to blocks when needed.
+     */
+    private void bulkApply(@NotNull Chunk chunk, @Nullable ChunkBatch inverse) {
+        // Section Y -> new states indexed by section relative position, -1 if unchanged
+        Int2ObjectMap<int[]> sectionStates = new Int2ObjectOpenHashMap<>();
+        Int2ObjectMap<Block> entries = new Int2ObjectOpenHashMap<>();
+        IntList paletteIndexes = new IntArrayList(blocks.size());
+        for (var entry : blocks.int2ObjectEntrySet()) {
+            final int index = entry.getIntKey();
+            final Block block = entry.getValue();
+            final int x = ChunkUtils.blockIndexToChunkPositionX(index);
+            final int y = ChunkUtils.blockIndexToChunkPositionY(index);
+            final int z = ChunkUtils.blockIndexToChunkPositionZ(index);
+            if (block.handler() != null || block.hasNbt() || block.registry().isBlockEntity() ||
+                    chunk.getBlock(x, y, z, Block.Getter.Condition.CACHED) != null) {
+                entries.put(index, block);
+                continue;
+            }
+            final int[] states = sectionStates.computeIfAbsent(ChunkUtils.getChunkCoordinate(y), sectionY -> {
+                int[] array = new int[Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SECTION_SIZE];
+                Arrays.fill(array, -1);
+                return array;
+            });
+            states[sectionIndex(x, y, z)] = block.stateId();
+            paletteIndexes.add(index);
+        }
+
+        final Int2ObjectMap<int[]> previousStates = inverse != null ? new Int2ObjectOpenHashMap<>() : null;
+        IntStream stream = IntStream.of(sectionStates.keySet().toIntArray());
+        if (sectionStates.size() > 1) stream = stream.parallel();
+        stream.forEach(sectionY -> {
+            final int[] states = sectionStates.get(sectionY);
+            final int[] previous = previousStates != null ? new int[states.length] : null;
+            chunk.getSection(sectionY).blockPalette().replaceAll((x, y, z, value) -> {
+                final int index = sectionIndex(x, y, z);
+                final int state = states[index];
+                if (previous != null) previous[index] = state != -1 ? value : -1;
+                return state != -1 ? state : value;
+            });
+            if (previousStates != null) {
+                synchronized (previousStates) {
+                    previousStates.put(sectionY, previous);
+                }
+            }
+        });
+        for (var entry : entries.int2ObjectEntrySet()) {
+            apply(chunk, entry.getIntKey(), entry.getValue(), inverse);
+        }
+        if (inverse != null) {
+            synchronized (inverse.blocks) {
+                inverse.lazyStates = previousStates;
+            }
+        }
+        // Heightmaps, caches, light and pathfinding are refreshed once for the whole chunk
+        chunk.onBulkChange(paletteIndexes);
+    }
+
+    /**
+     * Converts the states saved by {@link #bulkApply(Chunk, ChunkBatch)} into blocks.
+     * <p>
+     * Must be called while holding the blocks lock.
+     */
+    private void resolveLazyStates() {
+        final Int2ObjectMap<int[]> lazyStates = this.lazyStates;
+        if (lazyStates == null) return;
+        this.lazyStates = null;
+        for (var entry : lazyStates.int2ObjectEntrySet()) {
+            final int offsetY = entry.getIntKey() * Chunk.CHUNK_SECTION_SIZE;
+            final int[] states = entry.getValue();
+            for (int i = 0; i < states.length; i++) {
+                if (states[i] == -1) continue;
+                final int index = ChunkUtils.getBlockIndex(i & 0xF, offsetY + (i >> 8), i >> 4 & 0xF);
+                this.blocks.putIfAbsent(index, Objects.requireNonNullElse(Block.fromStateId((short) states[i]), Block.AIR));
+            }
+        }
+    }
+
+    private static int sectionIndex(int x, int y, int z) {
+        return (y & 0xF) << 8 | (z & 0xF) << 4 | (x & 0xF);
+    }
+
     /**
      * Applies a single block change given a chunk and a value in the described format.
      *
@@ -220,11 +336,18 @@ public class ChunkBatch implements Batch<ChunkCallback> {
     /**
      * Updates the given chunk for all of its viewers, and executes the callback.
      */
-    private void updateChunk(@NotNull Instance instance, Chunk chunk, IntSet updatedSections, @Nullable ChunkCallback callback, boolean safeCallback) {
+    private void updateChunk(@NotNull Instance instance, Chunk chunk, @Nullable Int2ObjectMap<LongArrayList> updatedSections,
+                             @Nullable ChunkCallback callback, boolean safeCallback) {
         // Refresh chunk for viewers
         if (options.shouldSendUpdate()) {
-            // TODO update all sections from `updatedSections`
-            chunk.sendChunk();
+            if (updatedSections != null) {
+                for (var entry : updatedSections.int2ObjectEntrySet()) {
+                    chunk.sendPacketToViewers(new MultiBlockChangePacket(chunk.getChunkX(), entry.getIntKey(), chunk.getChunkZ(),
+                            false, entry.getValue().toLongArray()));
+                }
+            } else {
+                chunk.sendChunk();
+            }
         }
 
         if (instance instanceof InstanceContainer) {
@@ -3,6 +3,7 @@ package net.minestom.server.instance.palette;
 import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import net.minestom.server.utils.MathUtils;
+import net.minestom.server.utils.binary.BinaryReader;
 import net.minestom.server.utils.binary.BinaryWriter;
 import org.jetbrains.annotations.NotNull;
 
@@ -10,10 +11,14 @@ import java.util.function.IntUnaryOperator;
 
 /**
  * Palette that switches between its backend based on the use case.
+ * <p>
+ * Clones share their backend until one of them is modified.
  */
 final class AdaptivePalette implements Palette, Cloneable {
     final byte dimension, defaultBitsPerEntry, maxBitsPerEntry;
     SpecializedPalette palette;
+    // Whether the backend may be referenced by a clone, and must be copied before any modification
+    private boolean shared;
 
     AdaptivePalette(byte dimension, byte maxBitsPerEntry, byte bitsPerEntry) {
         validateDimension(dimension);
@@ -52,6 +57,7 @@ final class AdaptivePalette implements Palette, Cloneable {
     @Override
     public void fill(int value) {
         this.palette = new FilledPalette(dimension, value);
+        this.shared = false;
     }
 
     @Override
@@ -59,6 +65,7 @@ final class AdaptivePalette implements Palette, Cloneable {
         SpecializedPalette newPalette = new FlexiblePalette(this);
         newPalette.setAll(supplier);
         this.palette = newPalette;
+        this.shared = false;
     }
 
     @Override
@@ -98,7 +105,8 @@ final class AdaptivePalette implements Palette, Cloneable {
     public @NotNull Palette clone() {
         try {
             AdaptivePalette adaptivePalette = (AdaptivePalette) super.clone();
-            adaptivePalette.palette = palette.clone();
+            this.shared = true;
+            adaptivePalette.shared = true;
             return adaptivePalette;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException(e);
@@ -108,10 +116,29 @@ final class AdaptivePalette implements Palette, Cloneable {
     @Override
     public void write(@NotNull BinaryWriter writer) {
         final SpecializedPalette optimized = optimizedPalette();
-        this.palette = optimized;
+        if (optimized != palette) {
+            this.palette = optimized;
+            this.shared = false;
+        }
         optimized.write(writer);
     }
 
+    @Override
+    public void read(@NotNull BinaryReader reader) {
+        final byte bitsPerEntry = reader.readByte();
+        if (bitsPerEntry == 0) {
+            // Single value, followed by an empty data array
+            final int value = reader.readVarInt();
+            reader.readVarInt();
+            this.palette = new FilledPalette(dimension, value);
+            this.shared = false;
+            return;
+        }
+        final int[] paletteValues = bitsPerEntry <= maxBitsPerEntry ? reader.readVarIntArray() : null;
+        this.palette = new FlexiblePalette(this, bitsPerEntry, paletteValues, reader.readLongArray());
+        this.shared = false;
+    }
+
     SpecializedPalette optimizedPalette() {
         var currentPalette = this.palette;
         if (currentPalette instanceof FlexiblePalette flexiblePalette) {
@@ -128,8 +155,9 @@ final class AdaptivePalette implements Palette, Cloneable {
                     return new FilledPalette(dimension, entries.iterator().nextInt());
                 } else if (currentBitsPerEntry > defaultBitsPerEntry &&
                         (bitsPerEntry = MathUtils.bitsToRepresent(entries.size() - 1)) < currentBitsPerEntry) {
-                    flexiblePalette.resize((byte) bitsPerEntry);
-                    return flexiblePalette;
+                    final FlexiblePalette target = shared ? (FlexiblePalette) flexiblePalette.clone() : flexiblePalette;
+                    target.resize((byte) bitsPerEntry);
+                    return target;
                 }
             }
         }
@@ -142,7 +170,11 @@ final class AdaptivePalette implements Palette, Cloneable {
             currentPalette = new FlexiblePalette(this);
             currentPalette.fill(filledPalette.value());
             this.palette = currentPalette;
+        } else if (shared) {
+            currentPalette = currentPalette.clone();
+            this.palette = currentPalette;
         }
+        this.shared = false;
         return currentPalette;
     }
 
@@ -47,6 +47,35 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         this(adaptivePalette, adaptivePalette.defaultBitsPerEntry);
     }
 
+    FlexiblePalette(AdaptivePalette adaptivePalette, byte bitsPerEntry, int[] palette, long[] values) {
+        this.adaptivePalette = adaptivePalette;
+        this.bitsPerEntry = bitsPerEntry;
+        final int size = maxSize();
+        final int valuesPerLong = 64 / bitsPerEntry;
+        if (values.length != (size + valuesPerLong - 1) / valuesPerLong) {
+            throw new IllegalArgumentException("Invalid palette data length: " + values.length);
+        }
+        if (palette != null && (palette.length == 0 || palette[0] != 0 || palette.length > maxPaletteSize(bitsPerEntry))) {
+            throw new IllegalArgumentException("Invalid palette: " + Arrays.toString(palette));
+        }
+        this.paletteToValueList = palette != null ? new IntArrayList(palette) : IntArrayList.of(0);
+        this.valueToPaletteMap = new Int2IntOpenHashMap(paletteToValueList.size());
+        this.valueToPaletteMap.defaultReturnValue(-1);
+        for (int i = 0; i < paletteToValueList.size(); i++) {
+            this.valueToPaletteMap.put(paletteToValueList.getInt(i), i);
+        }
+        this.values = values;
+        // Count non-default entries
+        final int mask = (1 << bitsPerEntry) - 1;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final int index = i / valuesPerLong;
+            final int bitIndex = (i - index * valuesPerLong) * bitsPerEntry;
+            if ((values[index] >> bitIndex & mask) != 0) count++;
+        }
+        this.count = count;
+    }
+
     @Override
     public int get(int x, int y, int z) {
         final int bitsPerEntry = this.bitsPerEntry;
@@ -1,5 +1,6 @@
 package net.minestom.server.instance.palette;
 
+import net.minestom.server.utils.binary.BinaryReader;
 import net.minestom.server.utils.binary.Writeable;
 import org.jetbrains.annotations.NotNull;
 
@@ -44,6 +45,14 @@ public interface Palette extends Writeable {
      */
     int count();
 
+    /**
+     * Replaces the palette content with data produced by {@link #write(net.minestom.server.utils.binary.BinaryWriter)}
+     * from a palette of the same dimension.
+     *
+     * @param reader the reader positioned at the palette data
+     */
+    void read(@NotNull BinaryReader reader);
+
     /**
      * Returns the number of bits used per entry.
      */
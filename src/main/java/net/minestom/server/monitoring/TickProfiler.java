@@ -0,0 +1,265 @@
+package net.minestom.server.monitoring;
+
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.event.server.ServerTickProfileEvent;
+import net.minestom.server.thread.ThreadDispatcher;
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Breaks down each server tick into its {@link Phase phases}, and the entity tick time per {@link EntityType}.
+ * <p>
+ * Needs to be enabled with {@link #enable()}. Timings of the last {@link #history()} ticks are kept in ring buffers
+ * filled without allocation, and can be pulled at any time or read from {@link ServerTickProfileEvent}
+ * called at the end of every profiled tick. Time spent per partition is available from {@link #partitions(int, ObjLongConsumer)}.
+ * <p>
+ * Timings are written by the tick threads during the tick and committed by the tick scheduler thread at its end,
+ * reading them from another thread may return values from different ticks.
+ */
+public final class TickProfiler {
+    private static final int HISTORY = Integer.getInteger("minestom.profiler-history", 100);
+    private static final Phase[] PHASES = Phase.values();
+
+    private volatile boolean enabled;
+    private long tickCount;
+    private long mark;
+
+    // Ring buffers, indexed by tick then by phase/entity type
+    private final long[] tickTimes = new long[HISTORY];
+    private final long[] phaseTimes = new long[HISTORY * PHASES.length];
+    private long[] entityTypeTimes;
+    // Entity tick time accumulated by the tick threads during the current tick
+    private AtomicLongArray entityTypeAccumulator;
+    private int entityTypeCount;
+    // Partitions ticked during each tick with their time, indexed by tick then by order of completion
+    // Grown at the end of a tick when the capacity has been exceeded
+    private int partitionCapacity = 64;
+    private ThreadDispatcher.Partition[] partitions = new ThreadDispatcher.Partition[HISTORY * partitionCapacity];
+    private long[] partitionTimes = new long[HISTORY * partitionCapacity];
+    private final int[] partitionCounts = new int[HISTORY];
+    private final AtomicInteger partitionCursor = new AtomicInteger();
+
+    public synchronized void enable() {
+        if (enabled) return;
+        if (entityTypeAccumulator == null) {
+            int count = 0;
+            for (EntityType entityType : EntityType.values()) count = Math.max(count, entityType.id() + 1);
+            this.entityTypeCount = count;
+            this.entityTypeTimes = new long[HISTORY * count];
+            this.entityTypeAccumulator = new AtomicLongArray(count);
+        }
+        this.enabled = true;
+    }
+
+    public void disable() {
+        this.enabled = false;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the number of ticks kept in the ring buffers.
+     *
+     * @return the history length
+     */
+    public int history() {
+        return HISTORY;
+    }
+
+    /**
+     * Gets the number of ticks profiled since the profiler creation.
+     *
+     * @return the profiled tick count
+     */
+    public long tickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Gets the total time of a profiled tick.
+     *
+     * @param ticksAgo the tick to retrieve, 0 being the last profiled tick
+     * @return the tick time in nanoseconds
+     */
+    public long tickTime(int ticksAgo) {
+        return tickTimes[index(ticksAgo)];
+    }
+
+    /**
+     * Gets the time spent in a phase during a profiled tick.
+     *
+     * @param phase    the tick phase
+     * @param ticksAgo the tick to retrieve, 0 being the last profiled tick
+     * @return the phase time in nanoseconds
+     */
+    public long phaseTime(@NotNull Phase phase, int ticksAgo) {
+        return phaseTimes[index(ticksAgo) * PHASES.length + phase.ordinal()];
+    }
+
+    /**
+     * Gets the phase time averaged over the whole history.
+     *
+     * @param phase the tick phase
+     * @return the average phase time in nanoseconds
+     */
+    public long averagePhaseTime(@NotNull Phase phase) {
+        final int count = (int) Math.min(tickCount, HISTORY);
+        if (count == 0) return 0;
+        long sum = 0;
+        for (int i = 0; i < count; i++) sum += phaseTime(phase, i);
+        return sum / count;
+    }
+
+    /**
+     * Gets the time spent ticking entities of a type during a profiled tick.
+     *
+     * @param entityType the entity type
+     * @param ticksAgo   the tick to retrieve, 0 being the last profiled tick
+     * @return the entity type tick time in nanoseconds
+     */
+    public long entityTypeTime(@NotNull EntityType entityType, int ticksAgo) {
+        final long[] entityTypeTimes = this.entityTypeTimes;
+        if (entityTypeTimes == null) return 0;
+        return entityTypeTimes[index(ticksAgo) * entityTypeCount + entityType.id()];
+    }
+
+    /**
+     * Retrieves the time spent ticking each non-empty partition during a profiled tick.
+     *
+     * @param ticksAgo the tick to retrieve, 0 being the last profiled tick
+     * @param consumer consumer of the partitions and their tick time in nanoseconds
+     */
+    public void partitions(int ticksAgo, @NotNull ObjLongConsumer<ThreadDispatcher.@NotNull Partition> consumer) {
+        final int index = index(ticksAgo);
+        final ThreadDispatcher.Partition[] partitions = this.partitions;
+        final long[] partitionTimes = this.partitionTimes;
+        final int capacity = partitions.length / HISTORY;
+        final int count = Math.min(partitionCounts[index], capacity);
+        for (int i = 0; i < count; i++) {
+            final ThreadDispatcher.Partition partition = partitions[index * capacity + i];
+            if (partition != null) consumer.accept(partition, partitionTimes[index * capacity + i]);
+        }
+    }
+
+    @ApiStatus.Internal
+    public void startTick(long nanoTime) {
+        this.mark = nanoTime;
+    }
+
+    /**
+     * Marks the end of a phase, started at the end of the previous one.
+     */
+    @ApiStatus.Internal
+    public void phase(@NotNull Phase phase) {
+        if (!enabled) return;
+        final long time = System.nanoTime();
+        this.phaseTimes[(int) (tickCount % HISTORY) * PHASES.length + phase.ordinal()] = time - mark;
+        this.mark = time;
+    }
+
+    @ApiStatus.Internal
+    public void entity(@NotNull EntityType entityType, long nanoTime) {
+        final AtomicLongArray accumulator = this.entityTypeAccumulator;
+        if (accumulator != null) accumulator.addAndGet(entityType.id(), nanoTime);
+    }
+
+    @ApiStatus.Internal
+    public void partition(@NotNull ThreadDispatcher.Partition partition, long nanoTime) {
+        final int cursor = partitionCursor.getAndIncrement();
+        final int capacity = this.partitionCapacity;
+        // Dropped when full, the buffers are grown for the next ticks
+        if (cursor >= capacity) return;
+        final int offset = (int) (tickCount % HISTORY) * capacity + cursor;
+        this.partitions[offset] = partition;
+        this.partitionTimes[offset] = nanoTime;
+    }
+
+    /**
+     * Commits the current tick timings.
+     *
+     * @return true if the tick has been profiled
+     */
+    @ApiStatus.Internal
+    public boolean endTick(long tickTime) {
+        if (!enabled) {
+            // Partitions recorded before disabling
+            this.partitionCursor.set(0);
+            return false;
+        }
+        final int index = (int) (tickCount % HISTORY);
+        this.tickTimes[index] = tickTime;
+        final AtomicLongArray accumulator = this.entityTypeAccumulator;
+        final int offset = index * entityTypeCount;
+        for (int i = 0; i < entityTypeCount; i++) {
+            this.entityTypeTimes[offset + i] = accumulator.getAndSet(i, 0);
+        }
+        commitPartitions(index);
+        this.tickCount++;
+        return true;
+    }
+
+    private void commitPartitions(int index) {
+        final int count = partitionCursor.getAndSet(0);
+        final int capacity = this.partitionCapacity;
+        // Release the partitions of the overwritten tick
+        final int offset = index * capacity;
+        Arrays.fill(partitions, offset + Math.min(count, capacity), offset + Math.min(partitionCounts[index], capacity), null);
+        this.partitionCounts[index] = Math.min(count, capacity);
+        if (count > capacity) {
+            final int newCapacity = Integer.highestOneBit(count) << 1;
+            ThreadDispatcher.Partition[] partitions = new ThreadDispatcher.Partition[HISTORY * newCapacity];
+            long[] partitionTimes = new long[HISTORY * newCapacity];
+            for (int i = 0; i < HISTORY; i++) {
+                System.arraycopy(this.partitions, i * capacity, partitions, i * newCapacity, capacity);
+                System.arraycopy(this.partitionTimes, i * capacity, partitionTimes, i * newCapacity, capacity);
+            }
+            this.partitions = partitions;
+            this.partitionTimes = partitionTimes;
+            this.partitionCapacity = newCapacity;
+        }
+    }
+
+    private int index(int ticksAgo) {
+        Check.argCondition(ticksAgo < 0 || ticksAgo >= HISTORY, "Tick is outside of the profiler history");
+        Check.stateCondition(ticksAgo >= tickCount, "Tick has not been profiled yet");
+        return (int) ((tickCount - 1 - ticksAgo) % HISTORY);
+    }
+
+    /**
+     * Steps of a server tick, in execution order.
+     */
+    public enum Phase {
+        /**
+         * Tasks of the main scheduler.
+         */
+        SCHEDULER,
+        /**
+         * Newly connected players entering the server.
+         */
+        WAITING_PLAYERS,
+        /**
+         * Keep alive packets sending and timeouts.
+         */
+        KEEP_ALIVE,
+        /**
+         * Instances tick, without their chunks and entities.
+         */
+        INSTANCES,
+        /**
+         * Chunks and entities tick from the {@link ThreadDispatcher}, including threads refresh.
+         */
+        DISPATCHER,
+        /**
+         * Flush of the packets sent during the tick.
+         */
+        PACKET_FLUSH
+    }
+}
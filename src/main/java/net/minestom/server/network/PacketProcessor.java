@@ -27,7 +27,10 @@ public record PacketProcessor(@NotNull ClientPacketsHandler statusHandler,
     }
 
     public @NotNull ClientPacket create(@NotNull ConnectionState connectionState, int packetId, ByteBuffer body) {
-        BinaryReader binaryReader = new BinaryReader(body);
+        return create(connectionState, packetId, new BinaryReader(body));
+    }
+
+    public @NotNull ClientPacket create(@NotNull ConnectionState connectionState, int packetId, @NotNull BinaryReader binaryReader) {
         return switch (connectionState) {
             case PLAY -> playHandler.create(packetId, binaryReader);
             case LOGIN -> loginHandler.create(packetId, binaryReader);
@@ -40,7 +43,14 @@ public record PacketProcessor(@NotNull ClientPacketsHandler statusHandler,
     }
 
     public void process(@NotNull PlayerConnection connection, int packetId, ByteBuffer body) {
-        final ClientPacket packet = create(connection.getConnectionState(), packetId, body);
+        process(connection, packetId, new BinaryReader(body));
+    }
+
+    /**
+     * Processes a packet, the reader can be reused afterward.
+     */
+    public void process(@NotNull PlayerConnection connection, int packetId, @NotNull BinaryReader binaryReader) {
+        final ClientPacket packet = create(connection.getConnectionState(), packetId, binaryReader);
         if (packet instanceof ClientPreplayPacket prePlayPacket) {
             prePlayPacket.process(connection);
         } else {
@@ -0,0 +1,300 @@
+package net.minestom.server.network.compression;
+
+import net.minestom.server.utils.cache.LocalCache;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.Adler32;
+import java.util.zip.Deflater;
+
+/**
+ * Greedy LZ77 matching over hash chains, written as a single deflate block using the fixed Huffman codes
+ * (<a href="https://www.rfc-editor.org/rfc/rfc1951">RFC 1951</a>). Falls back to stored blocks when the data
+ * does not compress.
+ */
+final class FastCompressor implements PacketCompressor {
+    private static final int HASH_BITS = 15;
+    private static final int WINDOW_SIZE = 1 << 15;
+    private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+    private static final int MIN_MATCH = 4;
+    private static final int MAX_MATCH = 258;
+    private static final int MAX_STORED_BLOCK = 65_535;
+    private static final int END_OF_BLOCK = 256;
+    private static final int DEFAULT_LEVEL = 6;
+
+    private static final int[] LENGTH_BASE = {3, 4, 5, 6, 7, 8, 9, 10, 11, 13, 15, 17, 19, 23, 27, 31,
+            35, 43, 51, 59, 67, 83, 99, 115, 131, 163, 195, 227, 258};
+    private static final int[] LENGTH_EXTRA = {0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 2, 2,
+            3, 3, 3, 3, 4, 4, 4, 4, 5, 5, 5, 5, 0};
+    private static final int[] DISTANCE_BASE = {1, 2, 3, 4, 5, 7, 9, 13, 17, 25, 33, 49, 65, 97, 129, 193,
+            257, 385, 513, 769, 1025, 1537, 2049, 3073, 4097, 6145, 8193, 12289, 16385, 24577};
+    private static final int[] DISTANCE_EXTRA = {0, 0, 0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6,
+            7, 7, 8, 8, 9, 9, 10, 10, 11, 11, 12, 12, 13, 13};
+
+    // Fixed Huffman codes, bit-reversed to be written LSB first (code | length << 16)
+    private static final int[] LITERAL_CODES = new int[288];
+    private static final int[] DISTANCE_CODES = new int[30];
+    // Length/distance to their symbol index
+    private static final byte[] LENGTH_SYMBOLS = new byte[MAX_MATCH + 1];
+    private static final byte[] DISTANCE_SYMBOLS = new byte[WINDOW_SIZE + 1];
+
+    static {
+        for (int i = 0; i < LITERAL_CODES.length; i++) {
+            final int code, length;
+            if (i < 144) {
+                code = 0x30 + i;
+                length = 8;
+            } else if (i < 256) {
+                code = 0x190 + i - 144;
+                length = 9;
+            } else if (i < 280) {
+                code = i - 256;
+                length = 7;
+            } else {
+                code = 0xC0 + i - 280;
+                length = 8;
+            }
+            LITERAL_CODES[i] = reverse(code, length) | length << 16;
+        }
+        for (int i = 0; i < DISTANCE_CODES.length; i++) {
+            DISTANCE_CODES[i] = reverse(i, 5) | 5 << 16;
+        }
+        for (int i = 0; i < LENGTH_BASE.length; i++) {
+            final int end = i == LENGTH_BASE.length - 1 ? MAX_MATCH + 1 : LENGTH_BASE[i + 1];
+            Arrays.fill(LENGTH_SYMBOLS, LENGTH_BASE[i], end, (byte) i);
+        }
+        for (int i = 0; i < DISTANCE_BASE.length; i++) {
+            final int end = Math.min(DISTANCE_BASE[i] + (1 << DISTANCE_EXTRA[i]), WINDOW_SIZE + 1);
+            Arrays.fill(DISTANCE_SYMBOLS, DISTANCE_BASE[i], end, (byte) i);
+        }
+    }
+
+    private static final LocalCache<State> LOCAL_STATE = LocalCache.of(State::new);
+
+    private final LevelPolicy policy;
+
+    FastCompressor(@NotNull LevelPolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public void compress(int packetId, @NotNull ByteBuffer input, @NotNull ByteBuffer output) {
+        int level = policy.level(packetId);
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION)
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        if (level == Deflater.DEFAULT_COMPRESSION) level = DEFAULT_LEVEL;
+
+        final int length = input.remaining();
+        State state = LOCAL_STATE.get();
+        final byte[] in = state.input(length);
+        input.get(input.position(), in, 0, length);
+        input.position(input.limit());
+
+        final int storedSize = storedSize(length);
+        state.output(Math.max(storedSize, length + (length >> 3) + 16));
+        int size = level != Deflater.NO_COMPRESSION ? writeFixed(state, in, length, level) : storedSize;
+        if (size >= storedSize) size = writeStored(state, in, length);
+        output.put(state.out, 0, size);
+    }
+
+    private static int writeFixed(State state, byte[] in, int length, int level) {
+        final int maxChain = 1 << (level - 1);
+        final boolean insertAll = level >= 4;
+        final int[] head = state.head, prev = state.prev;
+        final int base = state.nextBase(length);
+
+        state.writeHeader(level);
+        state.writeBits(0b011, 3); // Final block, fixed Huffman codes
+        final int limit = length - MIN_MATCH;
+        int pos = 0;
+        while (pos <= limit) {
+            final int position = base + pos;
+            final int hash = hash(in, pos);
+            int candidate = head[hash];
+            head[hash] = position;
+            prev[position & WINDOW_MASK] = candidate;
+
+            final int maxLength = Math.min(MAX_MATCH, length - pos);
+            int bestLength = 0, bestDistance = 0;
+            int chain = maxChain;
+            while (candidate >= base && position - candidate < WINDOW_SIZE && chain-- > 0) {
+                final int start = candidate - base;
+                if (in[start + bestLength] == in[pos + bestLength]) {
+                    int matchLength = 0;
+                    while (matchLength < maxLength && in[start + matchLength] == in[pos + matchLength]) matchLength++;
+                    if (matchLength > bestLength) {
+                        bestLength = matchLength;
+                        bestDistance = position - candidate;
+                        if (matchLength == maxLength) break;
+                    }
+                }
+                final int next = prev[candidate & WINDOW_MASK];
+                if (next >= candidate) break;
+                candidate = next;
+            }
+
+            if (bestLength >= MIN_MATCH) {
+                state.writeMatch(bestLength, bestDistance);
+                if (insertAll) {
+                    final int end = Math.min(pos + bestLength, limit + 1);
+                    for (int i = pos + 1; i < end; i++) {
+                        final int insertHash = hash(in, i);
+                        prev[(base + i) & WINDOW_MASK] = head[insertHash];
+                        head[insertHash] = base + i;
+                    }
+                }
+                pos += bestLength;
+            } else {
+                state.writeSymbol(in[pos++] & 0xFF);
+            }
+        }
+        while (pos < length) state.writeSymbol(in[pos++] & 0xFF);
+        state.writeSymbol(END_OF_BLOCK);
+        state.alignBits();
+        state.writeChecksum(in, length);
+        return state.outPos;
+    }
+
+    private static int writeStored(State state, byte[] in, int length) {
+        state.outPos = 0;
+        state.writeHeader(Deflater.NO_COMPRESSION);
+        final byte[] out = state.out;
+        int offset = 0;
+        do {
+            final int blockLength = Math.min(length - offset, MAX_STORED_BLOCK);
+            final boolean last = offset + blockLength == length;
+            int outPos = state.outPos;
+            out[outPos++] = (byte) (last ? 1 : 0);
+            out[outPos++] = (byte) blockLength;
+            out[outPos++] = (byte) (blockLength >>> 8);
+            out[outPos++] = (byte) ~blockLength;
+            out[outPos++] = (byte) (~blockLength >>> 8);
+            System.arraycopy(in, offset, out, outPos, blockLength);
+            state.outPos = outPos + blockLength;
+            offset += blockLength;
+        } while (offset < length);
+        state.writeChecksum(in, length);
+        return state.outPos;
+    }
+
+    private static int storedSize(int length) {
+        final int blockCount = Math.max(1, (length + MAX_STORED_BLOCK - 1) / MAX_STORED_BLOCK);
+        return 2 + length + blockCount * 5 + 4;
+    }
+
+    private static int hash(byte[] in, int pos) {
+        final int value = (in[pos] & 0xFF) | (in[pos + 1] & 0xFF) << 8 | (in[pos + 2] & 0xFF) << 16 | in[pos + 3] << 24;
+        return (value * 0x9E3779B1) >>> (32 - HASH_BITS);
+    }
+
+    private static int reverse(int code, int length) {
+        return Integer.reverse(code) >>> (32 - length);
+    }
+
+    private static final class State {
+        private final int[] head = new int[1 << HASH_BITS];
+        private final int[] prev = new int[WINDOW_SIZE];
+        private final Adler32 checksum = new Adler32();
+        // Position of the first input byte in the hash tables, never reset to invalidate previous inputs cheaply
+        private int base = 1;
+        private byte[] in = new byte[0];
+        private byte[] out = new byte[0];
+        private int outPos;
+        private long bits;
+        private int bitCount;
+
+        byte[] input(int length) {
+            if (in.length < length) this.in = new byte[length];
+            return in;
+        }
+
+        void output(int length) {
+            if (out.length < length) this.out = new byte[length];
+            this.outPos = 0;
+        }
+
+        int nextBase(int length) {
+            if (base > Integer.MAX_VALUE - length - WINDOW_SIZE) {
+                Arrays.fill(head, 0);
+                Arrays.fill(prev, 0);
+                this.base = 1;
+            }
+            final int result = base;
+            this.base += length;
+            return result;
+        }
+
+        void writeHeader(int level) {
+            // Compression method 8 with a 32K window, the level flag is informative only
+            final int flag;
+            if (level <= Deflater.BEST_SPEED) flag = 0x01;
+            else if (level < DEFAULT_LEVEL) flag = 0x5E;
+            else if (level == DEFAULT_LEVEL) flag = 0x9C;
+            else flag = 0xDA;
+            out[outPos++] = 0x78;
+            out[outPos++] = (byte) flag;
+        }
+
+        void writeSymbol(int symbol) {
+            final int code = LITERAL_CODES[symbol];
+            writeBits(code & 0xFFFF, code >>> 16);
+        }
+
+        void writeMatch(int length, int distance) {
+            final int lengthSymbol = LENGTH_SYMBOLS[length];
+            final int lengthCode = LITERAL_CODES[257 + lengthSymbol];
+            final int distanceSymbol = DISTANCE_SYMBOLS[distance];
+            final int distanceCode = DISTANCE_CODES[distanceSymbol];
+            // At most 31 bits for each part
+            long value = lengthCode & 0xFFFF;
+            int count = lengthCode >>> 16;
+            value |= (long) (length - LENGTH_BASE[lengthSymbol]) << count;
+            count += LENGTH_EXTRA[lengthSymbol];
+            writeBits(value, count);
+            value = distanceCode & 0xFFFF;
+            count = distanceCode >>> 16;
+            value |= (long) (distance - DISTANCE_BASE[distanceSymbol]) << count;
+            count += DISTANCE_EXTRA[distanceSymbol];
+            writeBits(value, count);
+        }
+
+        void writeBits(long value, int count) {
+            this.bits |= value << bitCount;
+            this.bitCount += count;
+            if (bitCount >= 32) {
+                final byte[] out = this.out;
+                int outPos = this.outPos;
+                final long bits = this.bits;
+                out[outPos++] = (byte) bits;
+                out[outPos++] = (byte) (bits >>> 8);
+                out[outPos++] = (byte) (bits >>> 16);
+                out[outPos++] = (byte) (bits >>> 24);
+                this.outPos = outPos;
+                this.bits = bits >>> 32;
+                this.bitCount -= 32;
+            }
+        }
+
+        void alignBits() {
+            while (bitCount > 0) {
+                out[outPos++] = (byte) bits;
+                this.bits >>>= 8;
+                this.bitCount -= 8;
+            }
+            this.bits = 0;
+            this.bitCount = 0;
+        }
+
+        void writeChecksum(byte[] in, int length) {
+            final Adler32 checksum = this.checksum;
+            checksum.reset();
+            checksum.update(in, 0, length);
+            final int value = (int) checksum.getValue();
+            out[outPos++] = (byte) (value >>> 24);
+            out[outPos++] = (byte) (value >>> 16);
+            out[outPos++] = (byte) (value >>> 8);
+            out[outPos++] = (byte) value;
+        }
+    }
+}
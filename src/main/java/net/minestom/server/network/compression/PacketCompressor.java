@@ -0,0 +1,90 @@
+package net.minestom.server.network.compression;
+
+import net.minestom.server.network.packet.server.ServerPacketIdentifier;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses the packets sent to connections with compression enabled, in the zlib format expected by the client.
+ * <p>
+ * Set using {@link net.minestom.server.MinecraftServer#setPacketCompressor(PacketCompressor)} before the server starts,
+ * or with the {@code minestom.packet-compressor} property ({@code zlib} or {@code fast}).
+ * <p>
+ * Implementations must be thread-safe.
+ */
+public interface PacketCompressor {
+
+    /**
+     * Compresses a packet.
+     * <p>
+     * Reads {@code input} from its position to its limit and writes the zlib stream at {@code output} position,
+     * advancing both.
+     *
+     * @param packetId the id of the compressed packet
+     * @param input    the packet id and payload
+     * @param output   the buffer to write the compressed data to
+     */
+    void compress(int packetId, @NotNull ByteBuffer input, @NotNull ByteBuffer output);
+
+    /**
+     * Compressor based on {@link Deflater}.
+     *
+     * @param policy the compression level of each packet
+     * @return a new zlib compressor
+     */
+    static @NotNull PacketCompressor zlib(@NotNull LevelPolicy policy) {
+        return new ZlibCompressor(policy);
+    }
+
+    static @NotNull PacketCompressor zlib() {
+        return zlib(LevelPolicy.DEFAULT);
+    }
+
+    /**
+     * Pure Java compressor, trading compression ratio for speed by only emitting fixed Huffman codes.
+     * The level controls how many previous occurrences are searched for matches.
+     *
+     * @param policy the compression level of each packet
+     * @return a new fast compressor
+     */
+    static @NotNull PacketCompressor fast(@NotNull LevelPolicy policy) {
+        return new FastCompressor(policy);
+    }
+
+    static @NotNull PacketCompressor fast() {
+        return fast(LevelPolicy.DEFAULT);
+    }
+
+    /**
+     * Selects the compression level of a packet, from {@link Deflater#NO_COMPRESSION} to {@link Deflater#BEST_COMPRESSION}
+     * or {@link Deflater#DEFAULT_COMPRESSION}.
+     */
+    @FunctionalInterface
+    interface LevelPolicy {
+        /**
+         * Compresses cached packets (chunks and light) as much as possible,
+         * and the frequently sent movement packets as fast as possible.
+         */
+        LevelPolicy DEFAULT = packetId -> switch (packetId) {
+            case ServerPacketIdentifier.CHUNK_DATA, ServerPacketIdentifier.UPDATE_LIGHT -> Deflater.BEST_COMPRESSION;
+            case ServerPacketIdentifier.ENTITY_POSITION, ServerPacketIdentifier.ENTITY_POSITION_AND_ROTATION,
+                    ServerPacketIdentifier.ENTITY_ROTATION, ServerPacketIdentifier.ENTITY_HEAD_LOOK,
+                    ServerPacketIdentifier.ENTITY_TELEPORT, ServerPacketIdentifier.ENTITY_VELOCITY -> Deflater.BEST_SPEED;
+            default -> Deflater.DEFAULT_COMPRESSION;
+        };
+
+        int level(int packetId);
+
+        static @NotNull LevelPolicy constant(int level) {
+            checkLevel(level);
+            return packetId -> level;
+        }
+
+        private static void checkLevel(int level) {
+            if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION)
+                throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+    }
+}
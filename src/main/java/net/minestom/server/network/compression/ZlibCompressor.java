@@ -0,0 +1,32 @@
+package net.minestom.server.network.compression;
+
+import net.minestom.server.utils.cache.LocalCache;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+final class ZlibCompressor implements PacketCompressor {
+    // One deflater per level, index 0 being the default level
+    private static final LocalCache<Deflater[]> LOCAL_DEFLATERS = LocalCache.of(() -> new Deflater[Deflater.BEST_COMPRESSION + 2]);
+
+    private final LevelPolicy policy;
+
+    ZlibCompressor(@NotNull LevelPolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public void compress(int packetId, @NotNull ByteBuffer input, @NotNull ByteBuffer output) {
+        final int level = policy.level(packetId);
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION)
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        final Deflater[] deflaters = LOCAL_DEFLATERS.get();
+        Deflater deflater = deflaters[level + 1];
+        if (deflater == null) deflaters[level + 1] = deflater = new Deflater(level);
+        deflater.setInput(input);
+        deflater.finish();
+        deflater.deflate(output);
+        deflater.reset();
+    }
+}
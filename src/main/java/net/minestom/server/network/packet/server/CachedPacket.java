@@ -1,10 +1,13 @@
 package net.minestom.server.network.packet.server;
 
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.utils.PacketUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
 import java.util.function.Supplier;
@@ -13,13 +16,28 @@ import java.util.function.Supplier;
  * Represents a packet that is only computed when required (either due to memory demand or invalidated data)
  * <p>
  * The cache is stored in a {@link SoftReference} and is invalidated when {@link #invalidate()} is called.
+ * The compressed and uncompressed frames are cached separately, the compressed one being
+ * computed once for the current compression threshold and shared by all compressed connections.
  * <p>
  * Packet supplier must be thread-safe.
  */
 @ApiStatus.Internal
 public final class CachedPacket implements SendablePacket {
+    private static final VarHandle GENERATION;
+
+    static {
+        try {
+            GENERATION = MethodHandles.lookup().findVarHandle(CachedPacket.class, "generation", int.class);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private final Supplier<ServerPacket> packetSupplier;
-    private volatile SoftReference<FramedPacket> packet;
+    private volatile SoftReference<Frame> compressedPacket;
+    private volatile SoftReference<Frame> uncompressedPacket;
+    // Incremented on invalidation, frames computed for an older generation are outdated
+    private volatile int generation;
 
     public CachedPacket(@NotNull Supplier<@NotNull ServerPacket> packetSupplier) {
         this.packetSupplier = packetSupplier;
@@ -30,28 +48,63 @@ public final class CachedPacket implements SendablePacket {
     }
 
     public void invalidate() {
-        this.packet = null;
+        // Lock-free, a frame being computed is simply outdated once published
+        GENERATION.getAndAdd(this, 1);
+        this.compressedPacket = null;
+        this.uncompressedPacket = null;
     }
 
     public @NotNull ServerPacket packet() {
-        FramedPacket cache = updatedCache();
-        return cache != null ? cache.packet() : packetSupplier.get();
+        Frame cache = cachedFrame(compressedPacket);
+        if (cache == null) cache = cachedFrame(uncompressedPacket);
+        return cache != null ? cache.packet().packet() : packetSupplier.get();
     }
 
     public @NotNull ByteBuffer body() {
-        FramedPacket cache = updatedCache();
-        return cache != null ? cache.body() : PacketUtils.createFramedPacket(packetSupplier.get());
+        return body(MinecraftServer.getCompressionThreshold() > 0);
+    }
+
+    /**
+     * Gets the framed packet for a connection.
+     *
+     * @param compressed true if the connection has compression enabled
+     * @return the framed packet buffer
+     */
+    public @NotNull ByteBuffer body(boolean compressed) {
+        final int threshold = compressed ? MinecraftServer.getCompressionThreshold() : 0;
+        FramedPacket cache = updatedCache(threshold);
+        return cache != null ? cache.body() : PacketUtils.createFramedPacket(packetSupplier.get(), threshold);
     }
 
-    private @Nullable FramedPacket updatedCache() {
+    private @Nullable FramedPacket updatedCache(int threshold) {
         if (!PacketUtils.CACHED_PACKET)
             return null;
-        SoftReference<FramedPacket> ref = packet;
-        FramedPacket cache;
-        if (ref == null || (cache = ref.get()) == null) {
-            cache = PacketUtils.allocateTrimmedPacket(packetSupplier.get());
-            this.packet = new SoftReference<>(cache);
+        final boolean compressed = threshold > 0;
+        Frame cache = cachedFrame(compressed ? compressedPacket : uncompressedPacket);
+        if (cache == null || cache.threshold() != threshold) {
+            synchronized (this) {
+                // Only compute the frame once, even when requested by multiple workers
+                cache = cachedFrame(compressed ? compressedPacket : uncompressedPacket);
+                if (cache == null || cache.threshold() != threshold) {
+                    // Read before the packet, an invalidation during the computation outdates the frame
+                    final int generation = this.generation;
+                    cache = new Frame(generation, threshold, PacketUtils.allocateTrimmedPacket(packetSupplier.get(), threshold));
+                    if (compressed) {
+                        this.compressedPacket = new SoftReference<>(cache);
+                    } else {
+                        this.uncompressedPacket = new SoftReference<>(cache);
+                    }
+                }
+            }
         }
-        return cache;
+        return cache.packet();
+    }
+
+    private @Nullable Frame cachedFrame(@Nullable SoftReference<Frame> ref) {
+        final Frame frame = ref != null ? ref.get() : null;
+        return frame != null && frame.generation() == generation ? frame : null;
+    }
+
+    private record Frame(int generation, int threshold, FramedPacket packet) {
     }
 }
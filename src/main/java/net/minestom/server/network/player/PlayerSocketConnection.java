@@ -13,10 +13,13 @@ import net.minestom.server.network.ConnectionState;
 import net.minestom.server.network.PacketProcessor;
 import net.minestom.server.network.packet.server.*;
 import net.minestom.server.network.packet.server.login.SetCompressionPacket;
+import net.minestom.server.network.socket.RateLimits;
 import net.minestom.server.network.socket.Worker;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.binary.BinaryBuffer;
+import net.minestom.server.utils.binary.BinaryReader;
 import net.minestom.server.utils.binary.PooledBuffers;
+import net.minestom.server.utils.binary.SharedBuffer;
 import net.minestom.server.utils.validate.Check;
 import org.jctools.queues.MessagePassingQueue;
 import org.jetbrains.annotations.ApiStatus;
@@ -32,6 +35,7 @@ import java.io.IOException;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.nio.channels.GatheringByteChannel;
 import java.nio.channels.SocketChannel;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -46,6 +50,10 @@ import java.util.zip.DataFormatException;
 @ApiStatus.Internal
 public class PlayerSocketConnection extends PlayerConnection {
     private final static Logger LOGGER = LoggerFactory.getLogger(PlayerSocketConnection.class);
+    // Shared data smaller than this is copied into the connection buffer instead of being referenced
+    private static final int SHARED_BUFFER_THRESHOLD = Integer.getInteger("minestom.shared-buffer-threshold", 1024);
+    // Maximum number of segments written in a single gathering write
+    private static final int GATHER_LIMIT = Integer.getInteger("minestom.gather-limit", 64);
 
     private final Worker worker;
     private final MessagePassingQueue<Runnable> workerQueue;
@@ -72,9 +80,18 @@ public class PlayerSocketConnection extends PlayerConnection {
     private UUID bungeeUuid;
     private PlayerSkin bungeeSkin;
 
-    private final List<BinaryBuffer> waitingBuffers = new ArrayList<>();
+    // Data waiting to be written to the socket, in order
+    private final ArrayDeque<Segment> writeQueue = new ArrayDeque<>();
     private final AtomicReference<BinaryBuffer> tickBuffer = new AtomicReference<>(PooledBuffers.get());
+    // Offset up to which the tick buffer has been added to the write queue
+    private int sealedOffset;
+    private final ByteBuffer[] gatherBuffers = new ByteBuffer[GATHER_LIMIT];
     private BinaryBuffer cacheBuffer;
+    // Bytes at the start of the read buffer coming from the cache, already decrypted
+    private int cachedBytes;
+
+    private final RateLimits.Budget inboundBudget;
+    private boolean deferredPackets;
 
     private final ListenerHandle<PlayerPacketOutEvent> outgoing = EventDispatcher.getHandle(PlayerPacketOutEvent.class);
 
@@ -84,16 +101,18 @@ public class PlayerSocketConnection extends PlayerConnection {
         this.workerQueue = worker.queue();
         this.channel = channel;
         this.remoteAddress = remoteAddress;
+        this.inboundBudget = worker.server().rateLimits().newBudget();
         PooledBuffers.registerBuffer(this, tickBuffer);
-        PooledBuffers.registerBuffers(this, waitingBuffers);
     }
 
     public void processPackets(BinaryBuffer readBuffer, PacketProcessor packetProcessor) {
         // Decrypt data
         {
             final EncryptionContext encryptionContext = this.encryptionContext;
-            if (encryptionContext != null) {
-                ByteBuffer input = readBuffer.asByteBuffer(0, readBuffer.writerOffset());
+            final int start = this.cachedBytes;
+            this.cachedBytes = 0;
+            if (encryptionContext != null && readBuffer.writerOffset() > start) {
+                ByteBuffer input = readBuffer.asByteBuffer(start, readBuffer.writerOffset() - start);
                 try {
                     encryptionContext.decrypt().update(input, input.duplicate());
                 } catch (ShortBufferException e) {
@@ -102,14 +121,23 @@ public class PlayerSocketConnection extends PlayerConnection {
                 }
             }
         }
-        // Read all packets
+        // Read all packets within the budget
+        final RateLimits.Budget budget = this.inboundBudget;
+        final BinaryReader reader = worker.reader();
+        budget.refill(System.nanoTime());
+        this.deferredPackets = false;
         try {
             this.cacheBuffer = PacketUtils.readPackets(readBuffer, compressed,
+                    id -> {
+                        if (budget.tryAcquire(id)) return true;
+                        this.deferredPackets = true;
+                        return false;
+                    },
                     (id, payload) -> {
                         if (!isOnline())
                             return; // Prevent packet corruption
                         try {
-                            packetProcessor.process(this, id, payload);
+                            packetProcessor.process(this, id, reader.reset(payload));
                         } catch (Exception e) {
                             // Error while reading the packet
                             MinecraftServer.getExceptionManager().handleException(e);
@@ -128,11 +156,23 @@ public class PlayerSocketConnection extends PlayerConnection {
     public void consumeCache(BinaryBuffer buffer) {
         final BinaryBuffer cache = this.cacheBuffer;
         if (cache != null) {
+            this.cachedBytes = cache.readableBytes();
             buffer.write(cache);
             this.cacheBuffer = null;
         }
     }
 
+    /**
+     * Gets if packets have been left unprocessed by the last {@link #processPackets(BinaryBuffer, PacketProcessor)}
+     * call because of the inbound rate limits.
+     *
+     * @return true if packets are waiting for the budget to be refilled
+     */
+    @ApiStatus.Internal
+    public boolean hasDeferredPackets() {
+        return deferredPackets;
+    }
+
     /**
      * Sets the encryption key and add the codecs to the pipeline.
      *
@@ -182,6 +222,17 @@ public class PlayerSocketConnection extends PlayerConnection {
         write(buffer, buffer.position(), buffer.remaining());
     }
 
+    /**
+     * Writes a part of a buffer shared with other connections, without copying it when possible.
+     * <p>
+     * The buffer is retained until written to the socket.
+     */
+    @ApiStatus.Internal
+    public void write(@NotNull SharedBuffer buffer, int index, int length) {
+        buffer.retain();
+        this.workerQueue.relaxedOffer(() -> writeSharedSync(buffer, index, length));
+    }
+
     @Override
     public @NotNull SocketAddress getRemoteAddress() {
         return remoteAddress;
@@ -353,7 +404,7 @@ public class PlayerSocketConnection extends PlayerConnection {
             var buffer = framedPacket.body();
             writeBufferSync0(buffer, 0, buffer.limit());
         } else if (packet instanceof CachedPacket cachedPacket) {
-            var buffer = cachedPacket.body();
+            var buffer = cachedPacket.body(compressed);
             writeBufferSync0(buffer, buffer.position(), buffer.remaining());
         } else if (packet instanceof LazyPacket lazyPacket) {
             writeServerPacketSync(lazyPacket.packet(), compressed);
@@ -407,36 +458,110 @@ public class PlayerSocketConnection extends PlayerConnection {
                 final int sliceStart = i * capacity;
                 final int sliceLength = Math.min(length, sliceStart + capacity) - sliceStart;
                 if (!localBuffer.canWrite(sliceLength)) localBuffer = updateLocalBuffer();
-                localBuffer.write(buffer, sliceStart, sliceLength);
+                localBuffer.write(buffer, index + sliceStart, sliceLength);
+            }
+        }
+    }
+
+    private void writeSharedSync(@NotNull SharedBuffer buffer, int index, int length) {
+        if (!channel.isConnected()) {
+            buffer.release();
+            return;
+        }
+        if (encryptionContext != null || length < SHARED_BUFFER_THRESHOLD) {
+            // Encrypted or small data, copied into the connection buffer
+            try {
+                writeBufferSync0(buffer.view(index, length), 0, length);
+            } finally {
+                buffer.release();
             }
+            return;
         }
+        // Keep the ordering with the data already written to the tick buffer
+        sealTickBuffer(false);
+        this.writeQueue.add(new Segment(buffer.view(index, length), buffer, null));
     }
 
     public void flushSync() throws IOException {
         final SocketChannel channel = this.channel;
-        final List<BinaryBuffer> waitingBuffers = this.waitingBuffers;
         if (!channel.isConnected()) throw new ClosedChannelException();
-        if (waitingBuffers.isEmpty()) {
-            tickBuffer.getPlain().writeChannel(channel);
-        } else {
-            // Write as much as possible from the waiting list
-            Iterator<BinaryBuffer> iterator = waitingBuffers.iterator();
-            while (iterator.hasNext()) {
-                BinaryBuffer waitingBuffer = iterator.next();
-                if (!waitingBuffer.writeChannel(channel)) break;
-                iterator.remove();
-                PooledBuffers.add(waitingBuffer);
+        sealTickBuffer(false);
+        if (!writeQueue(channel, writeQueue, gatherBuffers)) return; // Socket buffer is full
+        // Everything has been written, the tick buffer can be reused
+        this.tickBuffer.getPlain().clear();
+        this.sealedOffset = 0;
+    }
+
+    /**
+     * Writes the queued segments, gathering up to {@code gatherBuffers.length} of them in a single call.
+     * Fully written segments are released.
+     *
+     * @return true if the whole queue has been written, false if the channel cannot accept more data
+     */
+    static boolean writeQueue(@NotNull GatheringByteChannel channel, @NotNull ArrayDeque<Segment> writeQueue,
+                              @NotNull ByteBuffer[] gatherBuffers) throws IOException {
+        while (!writeQueue.isEmpty()) {
+            int count = 0;
+            long length = 0;
+            for (Segment segment : writeQueue) {
+                final ByteBuffer data = segment.data();
+                gatherBuffers[count++] = data;
+                length += data.remaining();
+                if (count == gatherBuffers.length) break;
             }
+            final long written = channel.write(gatherBuffers, 0, count);
+            Arrays.fill(gatherBuffers, 0, count, null);
+            if (written == -1) throw new IOException("Disconnected");
+            Segment segment;
+            while ((segment = writeQueue.peek()) != null && !segment.data().hasRemaining()) {
+                writeQueue.poll();
+                segment.release();
+            }
+            // Continue with the next segments if every gathered one has been written
+            if (written < length) return false;
         }
+        return true;
+    }
+
+    /**
+     * Releases the segments which have not been written, once the channel is closed.
+     */
+    public void releaseWriteQueue() {
+        Segment segment;
+        while ((segment = writeQueue.poll()) != null) segment.release();
+    }
+
+    /**
+     * Adds the tick buffer data written since the last call to the write queue.
+     *
+     * @param recycle true to return the tick buffer to the pool once written
+     */
+    private void sealTickBuffer(boolean recycle) {
+        final BinaryBuffer localBuffer = tickBuffer.getPlain();
+        final int start = sealedOffset, end = localBuffer.writerOffset();
+        if (start == end && !recycle) return;
+        this.writeQueue.add(new Segment(localBuffer.asByteBuffer(start, end - start), null, recycle ? localBuffer : null));
+        this.sealedOffset = end;
     }
 
     private BinaryBuffer updateLocalBuffer() {
+        sealTickBuffer(true);
         BinaryBuffer newBuffer = PooledBuffers.get();
-        this.waitingBuffers.add(tickBuffer.getPlain());
         this.tickBuffer.setPlain(newBuffer);
+        this.sealedOffset = 0;
         return newBuffer;
     }
 
+    /**
+     * Data waiting to be written, with the buffer to release once done.
+     */
+    record Segment(ByteBuffer data, SharedBuffer shared, BinaryBuffer pooled) {
+        void release() {
+            if (shared != null) shared.release();
+            if (pooled != null) PooledBuffers.add(pooled);
+        }
+    }
+
     record EncryptionContext(Cipher encrypt, Cipher decrypt) {
     }
 }
@@ -0,0 +1,27 @@
+package net.minestom.server.network.socket;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.channels.spi.SelectorProvider;
+
+final class NioTransport implements Transport {
+    static final NioTransport INSTANCE = new NioTransport();
+
+    private NioTransport() {
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "nio";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public @NotNull SelectorProvider selectorProvider() {
+        return SelectorProvider.provider();
+    }
+}
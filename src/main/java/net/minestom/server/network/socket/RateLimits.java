@@ -0,0 +1,93 @@
+package net.minestom.server.network.socket;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Inbound packet limits of each connection, as a token bucket per packet id.
+ * <p>
+ * Packets over budget are not dropped, they stay in the connection buffer and are processed
+ * during a later worker loop once tokens have been refilled. The socket is not read in the meantime.
+ */
+public final class RateLimits {
+    public static final int DEFAULT_RATE = Integer.getInteger("minestom.packet-rate", 500);
+    public static final int DEFAULT_BURST = Integer.getInteger("minestom.packet-burst", 200);
+    // Ids above share the last bucket
+    private static final int ID_COUNT = 128;
+
+    private final int[] rates = new int[ID_COUNT + 1];
+    private final int[] bursts = new int[ID_COUNT + 1];
+
+    RateLimits() {
+        Arrays.fill(rates, DEFAULT_RATE);
+        Arrays.fill(bursts, DEFAULT_BURST);
+    }
+
+    /**
+     * Changes the limit of a packet id, applying to connections created afterward.
+     *
+     * @param packetId the packet id
+     * @param rate     the number of packets processed per second
+     * @param burst    the maximum number of packets processed at once
+     */
+    public synchronized void set(int packetId, int rate, int burst) {
+        if (rate <= 0 || burst <= 0) throw new IllegalArgumentException("Rate and burst must be positive");
+        final int index = index(packetId);
+        this.rates[index] = rate;
+        this.bursts[index] = burst;
+    }
+
+    public int rate(int packetId) {
+        return rates[index(packetId)];
+    }
+
+    public int burst(int packetId) {
+        return bursts[index(packetId)];
+    }
+
+    @ApiStatus.Internal
+    public synchronized @NotNull Budget newBudget() {
+        return new Budget(rates.clone(), bursts.clone());
+    }
+
+    private static int index(int packetId) {
+        return packetId >= 0 && packetId < ID_COUNT ? packetId : ID_COUNT;
+    }
+
+    /**
+     * Tokens of a single connection, not thread-safe.
+     */
+    @ApiStatus.Internal
+    public static final class Budget {
+        private final int[] rates;
+        private final int[] bursts;
+        private final float[] tokens;
+        private long lastRefill = System.nanoTime();
+
+        private Budget(int[] rates, int[] bursts) {
+            this.rates = rates;
+            this.bursts = bursts;
+            this.tokens = new float[bursts.length];
+            for (int i = 0; i < bursts.length; i++) tokens[i] = bursts[i];
+        }
+
+        public void refill(long nanoTime) {
+            final float seconds = (nanoTime - lastRefill) / 1e9f;
+            if (seconds <= 0) return;
+            this.lastRefill = nanoTime;
+            final float[] tokens = this.tokens;
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = Math.min(bursts[i], tokens[i] + rates[i] * seconds);
+            }
+        }
+
+        public boolean tryAcquire(int packetId) {
+            final int index = index(packetId);
+            if (tokens[index] < 1) return false;
+            this.tokens[index]--;
+            return true;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import net.minestom.server.MinecraftServer;
 import net.minestom.server.network.PacketProcessor;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.*;
@@ -23,11 +25,16 @@ public final class Server {
 
     public static final boolean NO_DELAY = true;
 
+    private static final String TRANSPORT = System.getProperty("minestom.transport", "nio");
+    private static final Logger LOGGER = LoggerFactory.getLogger(Server.class);
+
     private volatile boolean stop;
 
-    private final Selector selector = Selector.open();
+    private final Transport transport;
+    private final Selector selector;
     private final PacketProcessor packetProcessor;
     private final List<Worker> workers;
+    private final RateLimits rateLimits = new RateLimits();
     private int index;
 
     private ServerSocketChannel serverSocket;
@@ -35,13 +42,19 @@ public final class Server {
     private String address;
     private int port;
 
-    public Server(PacketProcessor packetProcessor) throws IOException {
+    public Server(PacketProcessor packetProcessor, Transport transport) throws IOException {
+        this.transport = transport;
+        this.selector = transport.selectorProvider().openSelector();
         this.packetProcessor = packetProcessor;
         Worker[] workers = new Worker[WORKER_COUNT];
         Arrays.setAll(workers, value -> new Worker(this));
         this.workers = List.of(workers);
     }
 
+    public Server(PacketProcessor packetProcessor) throws IOException {
+        this(packetProcessor, findTransport());
+    }
+
     @ApiStatus.Internal
     public void init(SocketAddress address) throws IOException {
         ProtocolFamily family;
@@ -57,7 +70,7 @@ public final class Server {
             throw new IllegalArgumentException("Address must be an InetSocketAddress or a UnixDomainSocketAddress");
         }
 
-        ServerSocketChannel server = ServerSocketChannel.open(family);
+        ServerSocketChannel server = transport.selectorProvider().openServerSocketChannel(family);
         server.bind(address);
         server.configureBlocking(false);
         server.register(selector, SelectionKey.OP_ACCEPT);
@@ -108,6 +121,14 @@ public final class Server {
         this.workers.forEach(worker -> worker.selector.wakeup());
     }
 
+    public @NotNull RateLimits rateLimits() {
+        return rateLimits;
+    }
+
+    public @NotNull Transport transport() {
+        return transport;
+    }
+
     @ApiStatus.Internal
     public @NotNull PacketProcessor packetProcessor() {
         return packetProcessor;
@@ -125,6 +146,14 @@ public final class Server {
         return port;
     }
 
+    private static Transport findTransport() {
+        final Transport transport = Transport.find(TRANSPORT);
+        if (!transport.name().equals(TRANSPORT)) {
+            LOGGER.warn("Transport {} is not available, falling back to {}", TRANSPORT, transport.name());
+        }
+        return transport;
+    }
+
     private Worker findWorker() {
         this.index = ++index % WORKER_COUNT;
         return workers.get(index);
@@ -0,0 +1,48 @@
+package net.minestom.server.network.socket;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.channels.spi.SelectorProvider;
+import java.util.ServiceLoader;
+
+/**
+ * Socket implementation used by the {@link Server} and its {@link Worker workers}.
+ * <p>
+ * A transport provides the selectors and channels, connections are read and written
+ * through the same {@link java.nio.channels.SocketChannel} contract whatever the implementation.
+ * <p>
+ * Native transports (e.g. io_uring) can be registered as a {@link ServiceLoader} service
+ * and selected with the {@code minestom.transport} property. The default {@link #nio()} transport
+ * is already backed by epoll on Linux.
+ */
+public interface Transport {
+
+    @NotNull String name();
+
+    /**
+     * Gets if the transport can be used on this platform, e.g. if its native library has been loaded.
+     *
+     * @return true if the transport is available
+     */
+    boolean isAvailable();
+
+    @NotNull SelectorProvider selectorProvider();
+
+    static @NotNull Transport nio() {
+        return NioTransport.INSTANCE;
+    }
+
+    /**
+     * Finds an available transport by name.
+     *
+     * @param name the transport name
+     * @return the transport, or {@link #nio()} if not found or unavailable
+     */
+    static @NotNull Transport find(@NotNull String name) {
+        if (name.equals(nio().name())) return nio();
+        for (Transport transport : ServiceLoader.load(Transport.class)) {
+            if (transport.name().equals(name) && transport.isAvailable()) return transport;
+        }
+        return nio();
+    }
+}
@@ -4,6 +4,7 @@ import net.minestom.server.MinecraftServer;
 import net.minestom.server.network.player.PlayerSocketConnection;
 import net.minestom.server.thread.MinestomThread;
 import net.minestom.server.utils.binary.BinaryBuffer;
+import net.minestom.server.utils.binary.BinaryReader;
 import net.minestom.server.utils.binary.PooledBuffers;
 import org.jctools.queues.MessagePassingQueue;
 import org.jctools.queues.MpscUnboundedXaddArrayQueue;
@@ -11,9 +12,13 @@ import org.jetbrains.annotations.ApiStatus;
 
 import java.io.IOException;
 import java.net.Socket;
+import java.nio.ByteBuffer;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -26,12 +31,16 @@ public final class Worker extends MinestomThread {
     private final Map<SocketChannel, PlayerSocketConnection> connectionMap = new ConcurrentHashMap<>();
     private final Server server;
     private final MpscUnboundedXaddArrayQueue<Runnable> queue = new MpscUnboundedXaddArrayQueue<>(1024);
+    // Connections over their inbound budget, not read until their pending packets are processed
+    private final List<PlayerSocketConnection> deferredConnections = new ArrayList<>();
+    // Shared by the packets decoded by this worker
+    private final BinaryReader reader = new BinaryReader(ByteBuffer.allocate(0));
 
     Worker(Server server) {
         super("Ms-worker-" + COUNTER.getAndIncrement());
         this.server = server;
         try {
-            this.selector = Selector.open();
+            this.selector = server.transport().selectorProvider().openSelector();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -46,6 +55,7 @@ public final class Worker extends MinestomThread {
                 } catch (Exception e) {
                     MinecraftServer.getExceptionManager().handleException(e);
                 }
+                processDeferred();
                 // Flush all connections if needed
                 for (PlayerSocketConnection connection : connectionMap.values()) {
                     try {
@@ -75,6 +85,11 @@ public final class Worker extends MinestomThread {
                         // Read & process
                         readBuffer.readChannel(channel);
                         connection.processPackets(readBuffer, server.packetProcessor());
+                        if (connection.hasDeferredPackets()) {
+                            // Stop reading until the budget is refilled
+                            key.interestOps(0);
+                            this.deferredConnections.add(connection);
+                        }
                     } catch (IOException e) {
                         // TODO print exception? (should ignore disconnection)
                         connection.disconnect();
@@ -93,6 +108,7 @@ public final class Worker extends MinestomThread {
         assert !connection.isOnline();
         assert Thread.currentThread() == this;
         this.connectionMap.remove(channel);
+        this.deferredConnections.remove(connection);
         if (channel.isOpen()) {
             try {
                 connection.flushSync();
@@ -101,6 +117,8 @@ public final class Worker extends MinestomThread {
                 // Socket operation may fail if the socket is already closed
             }
         }
+        // Return the data that could not be written to the pool
+        connection.releaseWriteQueue();
     }
 
     void receiveConnection(SocketChannel channel) throws IOException {
@@ -118,4 +136,30 @@ public final class Worker extends MinestomThread {
     public MessagePassingQueue<Runnable> queue() {
         return queue;
     }
+
+    public Server server() {
+        return server;
+    }
+
+    /**
+     * Gets the reader used to decode packets, only usable from this worker.
+     */
+    public BinaryReader reader() {
+        return reader;
+    }
+
+    private void processDeferred() {
+        if (deferredConnections.isEmpty()) return;
+        Iterator<PlayerSocketConnection> iterator = deferredConnections.iterator();
+        while (iterator.hasNext()) {
+            final PlayerSocketConnection connection = iterator.next();
+            BinaryBuffer readBuffer = BinaryBuffer.wrap(PooledBuffers.packetBuffer());
+            connection.consumeCache(readBuffer);
+            connection.processPackets(readBuffer, server.packetProcessor());
+            if (connection.hasDeferredPackets()) continue;
+            iterator.remove();
+            final SelectionKey key = connection.getChannel().keyFor(selector);
+            if (key != null && key.isValid()) key.interestOps(SelectionKey.OP_READ);
+        }
+    }
 }
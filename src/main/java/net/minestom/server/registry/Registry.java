@@ -164,6 +164,8 @@ public final class Registry {
         private final boolean air;
         private final boolean solid;
         private final boolean liquid;
+        private final int lightEmission;
+        private final boolean occludes;
         private final String blockEntity;
         private final int blockEntityId;
         private final Supplier<Material> materialSupplier;
@@ -184,6 +186,8 @@ public final class Registry {
             this.air = main.getBoolean("air", false);
             this.solid = main.getBoolean("solid");
             this.liquid = main.getBoolean("liquid", false);
+            this.lightEmission = main.getInt("lightEmission", 0);
+            this.occludes = main.getBoolean("occludes", solid);
             {
                 Properties blockEntity = main.section("blockEntity");
                 if (blockEntity != null) {
@@ -252,6 +256,14 @@ public final class Registry {
             return liquid;
         }
 
+        public int lightEmission() {
+            return lightEmission;
+        }
+
+        public boolean occludes() {
+            return occludes;
+        }
+
         public boolean isBlockEntity() {
             return blockEntity != null;
         }
@@ -38,6 +38,23 @@ final class AcquirableImpl<T> implements Acquirable<T> {
         VarHandle.releaseFence();
     }
 
+    /**
+     * Enters the thread ticking {@code acquirable}.
+     * <p>
+     * A work-stealing thread may change the assigned thread during a tick, but only while holding the lock
+     * of the previous one. The assigned thread is therefore checked again once its lock is held.
+     */
+    static @Nullable ReentrantLock enter(@NotNull Thread currentThread, @NotNull Acquirable<?> acquirable) {
+        TickThread elementThread = acquirable.assignedThread();
+        while (true) {
+            final ReentrantLock lock = enter(currentThread, elementThread);
+            final TickThread assignedThread = acquirable.assignedThread();
+            if (assignedThread == elementThread) return lock;
+            leave(lock);
+            elementThread = assignedThread;
+        }
+    }
+
     static @Nullable ReentrantLock enter(@NotNull Thread currentThread, @Nullable TickThread elementThread) {
         if (elementThread == null) return null;
         if (currentThread == elementThread) return null;
@@ -19,10 +19,10 @@ public final class Acquired<T> {
     private final ReentrantLock lock;
     private boolean unlocked;
 
-    Acquired(T value, TickThread tickThread) {
-        this.value = value;
+    Acquired(Acquirable<T> acquirable) {
+        this.value = acquirable.unwrap();
         this.owner = Thread.currentThread();
-        this.lock = AcquirableImpl.enter(owner, tickThread);
+        this.lock = AcquirableImpl.enter(owner, acquirable);
     }
 
     public @NotNull T get() {
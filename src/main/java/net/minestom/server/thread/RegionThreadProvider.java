@@ -0,0 +1,142 @@
+package net.minestom.server.thread;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.EntityTracker;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Groups neighbouring chunks into square regions ticked by the same thread,
+ * so that entities interacting across chunk borders rarely need to be acquired.
+ * <p>
+ * Each region is weighted by the number of chunks and entities it contains,
+ * regions are moved to the least loaded thread when their current one becomes too busy.
+ * <p>
+ * Not thread-safe, expected to be called by the {@link ThreadDispatcher} only.
+ */
+final class RegionThreadProvider implements ThreadProvider<Chunk> {
+    private final int regionSize;
+    private final long[] threadLoads;
+
+    private final Map<Instance, Long2ObjectMap<Region>> regions = new HashMap<>();
+    private final Map<Chunk, ChunkEntry> chunks = new HashMap<>();
+    // Number of lookups since the last removal of unloaded chunks
+    private int lookupCounter;
+
+    RegionThreadProvider(int threadCount, int regionSize) {
+        if (threadCount < 1) throw new IllegalArgumentException("Thread count must be positive");
+        if (regionSize < 1) throw new IllegalArgumentException("Region size must be positive");
+        this.regionSize = regionSize;
+        this.threadLoads = new long[threadCount];
+    }
+
+    @Override
+    public int findThread(@NotNull Chunk chunk) {
+        if (++lookupCounter >= chunks.size()) {
+            // Roughly once per refresh cycle
+            this.lookupCounter = 0;
+            removeUnloadedChunks();
+        }
+        final Instance instance = chunk.getInstance();
+        final int chunkX = chunk.getChunkX(), chunkZ = chunk.getChunkZ();
+        ChunkEntry entry = chunks.get(chunk);
+        if (entry == null) {
+            final long regionIndex = ChunkUtils.getChunkIndex(
+                    Math.floorDiv(chunkX, regionSize), Math.floorDiv(chunkZ, regionSize));
+            final Region region = regions.computeIfAbsent(instance, i -> new Long2ObjectOpenHashMap<>())
+                    .computeIfAbsent(regionIndex, index -> new Region(instance, index, leastLoadedThread()));
+            region.chunkCount++;
+            entry = new ChunkEntry(region);
+            this.chunks.put(chunk, entry);
+        }
+        final Region region = entry.region;
+        // Refresh the chunk weight
+        final int weight = 1 + instance.getEntityTracker()
+                .chunkEntities(chunkX, chunkZ, EntityTracker.Target.ENTITIES).size();
+        updateWeight(entry, weight);
+        // Move hot regions, only if it significantly reduces the load difference
+        final int target = leastLoadedThread();
+        if (target != region.thread &&
+                threadLoads[region.thread] - threadLoads[target] > 2L * region.weight) {
+            this.threadLoads[region.thread] -= region.weight;
+            this.threadLoads[target] += region.weight;
+            region.thread = target;
+        }
+        return region.thread;
+    }
+
+    @Override
+    public @NotNull Object group(@NotNull Chunk chunk) {
+        final ChunkEntry entry = chunks.get(chunk);
+        return entry != null ? entry.region : chunk;
+    }
+
+    @Override
+    public @NotNull RefreshType refreshType() {
+        return RefreshType.ALWAYS;
+    }
+
+    private void updateWeight(ChunkEntry entry, int weight) {
+        final Region region = entry.region;
+        final int delta = weight - entry.weight;
+        entry.weight = weight;
+        region.weight += delta;
+        this.threadLoads[region.thread] += delta;
+    }
+
+    private void removeUnloadedChunks() {
+        Iterator<Map.Entry<Chunk, ChunkEntry>> iterator = chunks.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Chunk, ChunkEntry> mapEntry = iterator.next();
+            if (mapEntry.getKey().isLoaded()) continue;
+            final ChunkEntry entry = mapEntry.getValue();
+            updateWeight(entry, 0);
+            iterator.remove();
+            final Region region = entry.region;
+            if (--region.chunkCount == 0) {
+                final Long2ObjectMap<Region> instanceRegions = regions.get(region.instance);
+                instanceRegions.remove(region.index);
+                if (instanceRegions.isEmpty()) regions.remove(region.instance);
+            }
+        }
+    }
+
+    private int leastLoadedThread() {
+        final long[] loads = this.threadLoads;
+        int result = 0;
+        for (int i = 1; i < loads.length; i++) {
+            if (loads[i] < loads[result]) result = i;
+        }
+        return result;
+    }
+
+    private static final class Region {
+        private final Instance instance;
+        private final long index;
+        private int thread;
+        private long weight;
+        private int chunkCount;
+
+        private Region(Instance instance, long index, int thread) {
+            this.instance = instance;
+            this.index = index;
+            this.thread = thread;
+        }
+    }
+
+    private static final class ChunkEntry {
+        private final Region region;
+        private int weight;
+
+        private ChunkEntry(Region region) {
+            this.region = region;
+        }
+    }
+}
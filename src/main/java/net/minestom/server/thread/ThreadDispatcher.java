@@ -16,12 +16,23 @@ import java.util.concurrent.CountDownLatch;
  * Then executed into a thread pool.
  */
 public final class ThreadDispatcher<P> {
+    // Imbalance tolerated between the most and least busy threads, as a fraction of the most busy one
+    private static final double BALANCE_TOLERANCE = 0.1;
+    // Number of refreshes before a balanced partition can be moved again
+    private static final long BALANCE_COOLDOWN = 100;
+
     private final ThreadProvider<P> provider;
     private final List<TickThread> threads;
 
     // Partition -> dispatching context
     // Defines how computation is dispatched to the threads
     private final Map<P, Partition> partitions = new WeakHashMap<>();
+    // Copy of the partitions for monitoring, updated before each tick when modified
+    private volatile Map<P, Partition> partitionsSnapshot = Map.of();
+    private boolean partitionsChanged;
+    // Group -> partitions, kept on the same thread when balancing
+    // Partitions being their own group are not registered
+    private final Map<Object, List<Partition>> groups = new HashMap<>();
     // Cache to retrieve the threading context from a tickable element
     private final Map<Tickable, Partition> elements = new WeakHashMap<>();
     // Queue to update chunks linked thread
@@ -29,17 +40,34 @@ public final class ThreadDispatcher<P> {
 
     // Requests consumed at the end of each tick
     private final MessagePassingQueue<DispatchUpdate<P>> updates = new MpscUnboundedArrayQueue<>(1024);
+    private long refreshCount;
 
-    private ThreadDispatcher(ThreadProvider<P> provider, int threadCount) {
+    private ThreadDispatcher(ThreadProvider<P> provider, int threadCount, boolean workStealing) {
         this.provider = provider;
         TickThread[] threads = new TickThread[threadCount];
         Arrays.setAll(threads, TickThread::new);
         this.threads = List.of(threads);
+        if (workStealing) this.threads.forEach(thread -> thread.enableWorkStealing(this.threads));
         this.threads.forEach(Thread::start);
     }
 
     public static <P> @NotNull ThreadDispatcher<P> of(@NotNull ThreadProvider<P> provider, int threadCount) {
-        return new ThreadDispatcher<>(provider, threadCount);
+        return new ThreadDispatcher<>(provider, threadCount, false);
+    }
+
+    /**
+     * Creates a dispatcher where idle threads tick the partitions not yet started by busier threads.
+     * <p>
+     * Partitions keep the thread defined by the {@link ThreadProvider} across ticks,
+     * a stolen partition is only ticked by the other thread for the current tick.
+     *
+     * @param provider    the thread provider
+     * @param threadCount the number of threads
+     * @param <P>         the partition type
+     * @return a new work-stealing dispatcher
+     */
+    public static <P> @NotNull ThreadDispatcher<P> workStealing(@NotNull ThreadProvider<P> provider, int threadCount) {
+        return new ThreadDispatcher<>(provider, threadCount, true);
     }
 
     public static <P> @NotNull ThreadDispatcher<P> singleThread() {
@@ -71,8 +99,13 @@ public final class ThreadDispatcher<P> {
                 throw new IllegalStateException("Unknown update type: " + update.getClass().getSimpleName());
             }
         });
+        if (partitionsChanged) {
+            this.partitionsChanged = false;
+            this.partitionsSnapshot = Map.copyOf(partitions);
+        }
         // Tick all partitions
         CountDownLatch latch = new CountDownLatch(threads.size());
+        for (TickThread thread : threads) thread.prepareQueue();
         for (TickThread thread : threads) thread.startTick(latch, time);
         try {
             latch.await();
@@ -83,7 +116,8 @@ public final class ThreadDispatcher<P> {
 
     /**
      * Called at the end of each tick to clear removed entities,
-     * refresh the chunk linked to an entity, and chunk threads based on {@link ThreadProvider#findThread(Object)}.
+     * refresh the chunk linked to an entity, and chunk threads based on {@link ThreadProvider#findThread(Object)}
+     * or on the measured tick time of each partition.
      *
      * @param nanoTimeout max time in nanoseconds to update partitions
      */
@@ -101,26 +135,34 @@ public final class ThreadDispatcher<P> {
                     // Update chunk's thread
                     Partition partitionEntry = partitions.get(partition);
                     assert partitionEntry != null;
-                    final TickThread previous = partitionEntry.thread;
                     final TickThread next = retrieveThread(partition);
-                    if (next != previous) {
-                        partitionEntry.thread = next;
-                        previous.entries().remove(partitionEntry);
-                        next.entries().add(partitionEntry);
-                    }
+                    if (next != partitionEntry.thread) movePartition(partitionEntry, next);
                     this.partitionUpdateQueue.addLast(partition);
                     if (--counter <= 0 || System.nanoTime() - currentTime >= nanoTimeout) {
                         break;
                     }
                 }
             }
+            case BALANCED -> balancePartitions(nanoTimeout);
         }
+        this.refreshCount++;
     }
 
     public void refreshThreads() {
         refreshThreads(Long.MAX_VALUE);
     }
 
+    /**
+     * Gets the partitions currently dispatched, with their measured tick time.
+     * <p>
+     * Does not block, the returned map reflects the partitions at the start of the last tick.
+     *
+     * @return an unmodifiable snapshot of the partitions
+     */
+    public @NotNull Map<P, Partition> partitions() {
+        return partitionsSnapshot;
+    }
+
     public void createPartition(P partition) {
         signalUpdate(new DispatchUpdate.PartitionLoad<>(partition));
     }
@@ -152,16 +194,96 @@ public final class ThreadDispatcher<P> {
         return threads.get(index);
     }
 
+    /**
+     * Moves partition groups from the thread with the highest measured tick time to the one with the lowest,
+     * until the difference falls under {@link #BALANCE_TOLERANCE} of the highest.
+     * <p>
+     * Moved groups are not moved again for {@link #BALANCE_COOLDOWN} refreshes.
+     */
+    private void balancePartitions(long nanoTimeout) {
+        final int threadCount = threads.size();
+        if (threadCount < 2) return;
+        final long currentTime = System.nanoTime();
+        long[] loads = new long[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            for (Partition entry : threads.get(i).entries()) loads[i] += entry.averageTickTime;
+        }
+        do {
+            int max = 0, min = 0;
+            for (int i = 1; i < threadCount; i++) {
+                if (loads[i] > loads[max]) max = i;
+                if (loads[i] < loads[min]) min = i;
+            }
+            final long difference = loads[max] - loads[min];
+            if (difference <= loads[max] * BALANCE_TOLERANCE) break;
+            // Find the group closest to half the difference, which minimizes the new maximum
+            List<Partition> candidate = null;
+            long candidateCost = 0;
+            long candidateDistance = Long.MAX_VALUE;
+            for (Partition entry : threads.get(max).entries()) {
+                final List<Partition> group = entry.group != null ? groups.get(entry.group) : List.of(entry);
+                // Only consider each group once, from its first partition
+                if (group.get(0) != entry) continue;
+                long cost = 0;
+                boolean moved = false;
+                for (Partition groupEntry : group) {
+                    cost += groupEntry.averageTickTime;
+                    moved |= refreshCount - groupEntry.lastMove < BALANCE_COOLDOWN;
+                }
+                if (moved || cost <= 0 || cost >= difference) continue;
+                final long distance = Math.abs(difference / 2 - cost);
+                if (distance < candidateDistance) {
+                    candidate = group;
+                    candidateCost = cost;
+                    candidateDistance = distance;
+                }
+            }
+            if (candidate == null) break;
+            loads[max] -= candidateCost;
+            loads[min] += candidateCost;
+            for (Partition entry : candidate) {
+                entry.lastMove = refreshCount;
+                movePartition(entry, threads.get(min));
+            }
+        } while (System.nanoTime() - currentTime < nanoTimeout);
+    }
+
+    private static void movePartition(Partition partitionEntry, TickThread next) {
+        final TickThread previous = partitionEntry.thread;
+        partitionEntry.thread = next;
+        previous.entries().remove(partitionEntry);
+        next.entries().add(partitionEntry);
+        for (Tickable element : partitionEntry.elements) {
+            if (element instanceof Entity entity) {
+                ((AcquirableImpl<?>) entity.getAcquirable()).updateThread(next);
+            }
+        }
+    }
+
     private void signalUpdate(@NotNull DispatchUpdate<P> update) {
         this.updates.relaxedOffer(update);
     }
 
     private void processLoadedPartition(P partition) {
         if (partitions.containsKey(partition)) return;
-        final TickThread thread = retrieveThread(partition);
-        final Partition partitionEntry = new Partition(thread);
+        TickThread thread = retrieveThread(partition);
+        Object group = null;
+        if (provider.refreshType() == ThreadProvider.RefreshType.BALANCED) {
+            group = provider.group(partition);
+            if (group == partition) {
+                // Not referenced, partitions are weakly held
+                group = null;
+            } else {
+                final List<Partition> groupEntries = groups.computeIfAbsent(group, g -> new ArrayList<>(1));
+                // The group may have been moved by balancing
+                if (!groupEntries.isEmpty()) thread = groupEntries.get(0).thread;
+            }
+        }
+        final Partition partitionEntry = new Partition(thread, group);
+        if (group != null) groups.get(group).add(partitionEntry);
         thread.entries().add(partitionEntry);
         this.partitions.put(partition, partitionEntry);
+        this.partitionsChanged = true;
         this.partitionUpdateQueue.add(partition);
         if (partition instanceof Tickable tickable) {
             processUpdatedElement(tickable, partition);
@@ -173,6 +295,13 @@ public final class ThreadDispatcher<P> {
         if (partitionEntry != null) {
             TickThread thread = partitionEntry.thread;
             thread.entries().remove(partitionEntry);
+            final Object group = partitionEntry.group;
+            if (group != null) {
+                final List<Partition> groupEntries = groups.get(group);
+                groupEntries.remove(partitionEntry);
+                if (groupEntries.isEmpty()) groups.remove(group);
+            }
+            this.partitionsChanged = true;
         }
         this.partitionUpdateQueue.remove(partition);
         if (partition instanceof Tickable tickable) {
@@ -207,11 +336,17 @@ public final class ThreadDispatcher<P> {
     }
 
     public static final class Partition {
-        private TickThread thread;
+        private volatile TickThread thread;
+        private final Object group;
         private final List<Tickable> elements = new ArrayList<>();
 
-        private Partition(TickThread thread) {
+        private volatile long tickTime;
+        private volatile long averageTickTime;
+        private long lastMove = -BALANCE_COOLDOWN;
+
+        private Partition(TickThread thread, Object group) {
             this.thread = thread;
+            this.group = group;
         }
 
         public @NotNull TickThread thread() {
@@ -221,6 +356,30 @@ public final class ThreadDispatcher<P> {
         public @NotNull List<Tickable> elements() {
             return elements;
         }
+
+        /**
+         * Gets the time spent ticking the partition elements during the last tick.
+         *
+         * @return the last tick time in nanoseconds
+         */
+        public long tickTime() {
+            return tickTime;
+        }
+
+        /**
+         * Gets the tick time averaged over the last ticks, used for balancing.
+         *
+         * @return the average tick time in nanoseconds
+         */
+        public long averageTickTime() {
+            return averageTickTime;
+        }
+
+        void updateTickTime(long tickTime) {
+            this.tickTime = tickTime;
+            final long average = this.averageTickTime;
+            this.averageTickTime = average + ((tickTime - average) >> 3);
+        }
     }
 
     @ApiStatus.Internal
@@ -1,5 +1,6 @@
 package net.minestom.server.thread;
 
+import net.minestom.server.instance.Chunk;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
@@ -19,6 +20,58 @@ public interface ThreadProvider<T> {
         };
     }
 
+    /**
+     * Creates a provider grouping chunks into square regions of {@code regionSize} chunks,
+     * each region being ticked by a single thread and moved to a less busy one when needed.
+     *
+     * @param threadCount the number of threads of the dispatcher
+     * @param regionSize  the width of a region in chunks
+     * @return a new region-based provider
+     */
+    static @NotNull ThreadProvider<Chunk> region(int threadCount, int regionSize) {
+        return new RegionThreadProvider(threadCount, regionSize);
+    }
+
+    /**
+     * Creates a provider dispatching new partitions in a round-robin fashion,
+     * then moving them based on their measured tick time to minimize the slowest thread tick.
+     *
+     * @return a new balanced provider
+     * @see RefreshType#BALANCED
+     */
+    static <T> @NotNull ThreadProvider<T> balanced() {
+        return balanced(counter());
+    }
+
+    /**
+     * Creates a provider dispatching new partitions using {@code provider},
+     * then moving them based on their measured tick time to minimize the slowest thread tick.
+     * <p>
+     * Partitions of the same {@link #group(Object) group} are moved together.
+     *
+     * @param provider the provider placing new partitions and defining their group
+     * @return a new balanced provider
+     * @see RefreshType#BALANCED
+     */
+    static <T> @NotNull ThreadProvider<T> balanced(@NotNull ThreadProvider<T> provider) {
+        return new ThreadProvider<>() {
+            @Override
+            public int findThread(@NotNull T partition) {
+                return provider.findThread(partition);
+            }
+
+            @Override
+            public @NotNull Object group(@NotNull T partition) {
+                return provider.group(partition);
+            }
+
+            @Override
+            public @NotNull RefreshType refreshType() {
+                return RefreshType.BALANCED;
+            }
+        };
+    }
+
     /**
      * Performs a server tick for all chunks based on their linked thread.
      *
@@ -26,6 +79,19 @@ public interface ThreadProvider<T> {
      */
     int findThread(@NotNull T partition);
 
+    /**
+     * Gets the group of a partition, partitions of the same group are always ticked by the same thread
+     * when using {@link RefreshType#BALANCED}.
+     * <p>
+     * Only called once for each partition, after {@link #findThread(Object)}.
+     *
+     * @param partition the partition
+     * @return the partition group, the partition itself by default
+     */
+    default @NotNull Object group(@NotNull T partition) {
+        return partition;
+    }
+
     /**
      * Defines how often chunks thread should be updated.
      *
@@ -50,6 +116,13 @@ public interface ThreadProvider<T> {
          * <p>
          * Means that {@link #findThread(Object)} may be called multiple time for each partition.
          */
-        ALWAYS
+        ALWAYS,
+        /**
+         * Thread is updated based on the measured tick time of each partition,
+         * moving partitions off the busiest threads with a tolerance to avoid constant moves.
+         * <p>
+         * Means that {@link #findThread(Object)} will only be called once for each partition.
+         */
+        BALANCED
     }
 }
@@ -1,9 +1,11 @@
 package net.minestom.server.thread;
 
 import net.minestom.server.MinecraftServer;
+import net.minestom.server.ServerProcess;
 import net.minestom.server.Tickable;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.instance.Chunk;
+import net.minestom.server.monitoring.TickProfiler;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
@@ -11,6 +13,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -28,6 +31,10 @@ public final class TickThread extends MinestomThread {
     private long tickTime;
     private final List<ThreadDispatcher.Partition> entries = new ArrayList<>();
 
+    // Work stealing, threads to steal unstarted partitions from once the own ones are done
+    private List<TickThread> stealTargets;
+    private volatile PartitionQueue queue;
+
     public TickThread(int number) {
         super(MinecraftServer.THREAD_NAME_TICK + "-" + number);
     }
@@ -50,29 +57,96 @@ public final class TickThread extends MinestomThread {
     }
 
     private void tick() {
+        final PartitionQueue queue = this.queue;
+        if (queue == null) {
+            for (ThreadDispatcher.Partition entry : entries) {
+                assert entry.thread() == this;
+                tickPartition(entry);
+            }
+            return;
+        }
+        // Own partitions first
+        ThreadDispatcher.Partition entry;
+        while ((entry = queue.poll()) != null) {
+            assert entry.thread() == this;
+            tickPartition(entry);
+        }
+        // Steal the partitions not yet started by the other threads
+        final List<TickThread> targets = this.stealTargets;
+        final int offset = targets.indexOf(this);
+        for (int i = 1; i < targets.size(); i++) {
+            final PartitionQueue targetQueue = targets.get((offset + i) % targets.size()).queue;
+            while ((entry = targetQueue.poll()) != null) {
+                // Entities are acquired through this thread until the partition is ticked.
+                // Holding the owner lock ensures that no acquisition through the owner is in progress,
+                // later ones notice the change once they hold the lock (see Acquired)
+                final ReentrantLock ownerLock = AcquirableImpl.enter(this, entry.thread());
+                updateThread(entry, this);
+                AcquirableImpl.leave(ownerLock);
+                tickPartition(entry);
+                // Safe without the owner lock, acquisitions waiting on this thread check the owner again
+                updateThread(entry, entry.thread());
+            }
+        }
+    }
+
+    private void tickPartition(ThreadDispatcher.Partition entry) {
+        final List<Tickable> elements = entry.elements();
+        if (elements.isEmpty()) {
+            entry.updateTickTime(0);
+            return;
+        }
+        final long start = System.nanoTime();
         final ReentrantLock lock = this.lock;
         final long tickTime = this.tickTime;
-        for (ThreadDispatcher.Partition entry : entries) {
-            assert entry.thread() == this;
-            final List<Tickable> elements = entry.elements();
-            if (elements.isEmpty()) continue;
-            for (Tickable element : elements) {
-                if (lock.hasQueuedThreads()) {
-                    lock.unlock();
-                    // #acquire() callbacks should be called here
-                    lock.lock();
-                }
-                try {
-                    element.tick(tickTime);
-                } catch (Throwable e) {
-                    MinecraftServer.getExceptionManager().handleException(e);
-                }
+        final ServerProcess process = MinecraftServer.process();
+        final TickProfiler profiler = process != null ? process.profiler() : null;
+        final boolean profile = profiler != null && profiler.isEnabled();
+        for (Tickable element : elements) {
+            if (lock.hasQueuedThreads()) {
+                lock.unlock();
+                // #acquire() callbacks should be called here
+                lock.lock();
+            }
+            final long elementStart = profile ? System.nanoTime() : 0;
+            try {
+                element.tick(tickTime);
+            } catch (Throwable e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+            }
+            if (profile && element instanceof Entity entity) {
+                profiler.entity(entity.getEntityType(), System.nanoTime() - elementStart);
             }
         }
+        final long partitionTime = System.nanoTime() - start;
+        entry.updateTickTime(partitionTime);
+        if (profile) profiler.partition(entry, partitionTime);
+    }
+
+    private static void updateThread(ThreadDispatcher.Partition entry, TickThread thread) {
+        for (Tickable element : entry.elements()) {
+            if (element instanceof Entity entity) {
+                ((AcquirableImpl<?>) entity.getAcquirable()).updateThread(thread);
+            }
+        }
+    }
+
+    void enableWorkStealing(List<TickThread> threads) {
+        this.stealTargets = threads;
+    }
+
+    /**
+     * Publishes the partitions to tick, must be called on every thread
+     * before any of them is started to allow stealing.
+     */
+    void prepareQueue() {
+        if (stealTargets != null) {
+            this.queue = new PartitionQueue(entries.toArray(ThreadDispatcher.Partition[]::new));
+        }
     }
 
     void startTick(CountDownLatch latch, long tickTime) {
-        if (entries.isEmpty()) {
+        if (entries.isEmpty() && stealTargets == null) {
             // Nothing to tick
             latch.countDown();
             return;
@@ -100,4 +174,18 @@ public final class TickThread extends MinestomThread {
         this.stop = true;
         LockSupport.unpark(this);
     }
+
+    private static final class PartitionQueue {
+        private final ThreadDispatcher.Partition[] partitions;
+        private final AtomicInteger index = new AtomicInteger();
+
+        private PartitionQueue(ThreadDispatcher.Partition[] partitions) {
+            this.partitions = partitions;
+        }
+
+        ThreadDispatcher.Partition poll() {
+            final int index = this.index.getAndIncrement();
+            return index < partitions.length ? partitions[index] : null;
+        }
+    }
 }
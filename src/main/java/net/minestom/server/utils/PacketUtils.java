@@ -22,6 +22,7 @@ import net.minestom.server.network.player.PlayerSocketConnection;
 import net.minestom.server.utils.binary.BinaryBuffer;
 import net.minestom.server.utils.binary.BinaryWriter;
 import net.minestom.server.utils.binary.PooledBuffers;
+import net.minestom.server.utils.binary.SharedBuffer;
 import net.minestom.server.utils.binary.Writeable;
 import net.minestom.server.utils.cache.LocalCache;
 import org.jetbrains.annotations.ApiStatus;
@@ -30,12 +31,15 @@ import org.jetbrains.annotations.Nullable;
 
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
+import java.util.function.IntPredicate;
 import java.util.function.Predicate;
 import java.util.zip.DataFormatException;
-import java.util.zip.Deflater;
 import java.util.zip.Inflater;
 
 /**
@@ -47,7 +51,7 @@ import java.util.zip.Inflater;
  * Be sure to check the implementation code.
  */
 public final class PacketUtils {
-    private static final LocalCache<Deflater> LOCAL_DEFLATER = LocalCache.of(Deflater::new);
+    private static final LocalCache<Inflater> LOCAL_INFLATER = LocalCache.of(Inflater::new);
 
     public static final boolean GROUPED_PACKET = PropertyUtils.getBoolean("minestom.grouped-packet", true);
     public static final boolean CACHED_PACKET = PropertyUtils.getBoolean("minestom.cached-packet", true);
@@ -145,6 +149,28 @@ public final class PacketUtils {
         prepareViewablePacket(viewable, serverPacket, null);
     }
 
+    /**
+     * Sends a packet to some players, after the packets already prepared for {@code viewable}
+     * with {@link #prepareViewablePacket(Viewable, ServerPacket, Entity)}.
+     * <p>
+     * The players do not have to be viewing {@code viewable}, they all receive the packet on the next flush.
+     *
+     * @param viewable the viewable whose prepared packets must be received first
+     * @param players  the players to send the packet to
+     * @param packet   the packet to send
+     */
+    @ApiStatus.Internal
+    public static void prepareGroupedPacket(@NotNull Viewable viewable, @NotNull Collection<Player> players,
+                                            @NotNull ServerPacket packet) {
+        if (players.isEmpty()) return;
+        if (!VIEWABLE_PACKET) {
+            sendGroupedPacket(players, packet);
+            return;
+        }
+        ViewableStorage storage = VIEWABLE_STORAGE_MAP.get(viewable, (unused) -> new ViewableStorage());
+        storage.appendGrouped(viewable, packet, players);
+    }
+
     @ApiStatus.Internal
     public static void flush() {
         if (VIEWABLE_PACKET) {
@@ -156,6 +182,20 @@ public final class PacketUtils {
     @ApiStatus.Internal
     public static @Nullable BinaryBuffer readPackets(@NotNull BinaryBuffer readBuffer, boolean compressed,
                                                      BiConsumer<Integer, ByteBuffer> payloadConsumer) throws DataFormatException {
+        return readPackets(readBuffer, compressed, packetId -> true, payloadConsumer);
+    }
+
+    /**
+     * Reads the complete packets of a buffer.
+     *
+     * @param filter          stops reading when false, the packet is then part of the remaining buffer
+     * @param payloadConsumer consumer of the packet id and payload
+     * @return the remaining data to read once more data has been received, null if empty
+     */
+    @ApiStatus.Internal
+    public static @Nullable BinaryBuffer readPackets(@NotNull BinaryBuffer readBuffer, boolean compressed,
+                                                     @NotNull IntPredicate filter,
+                                                     BiConsumer<Integer, ByteBuffer> payloadConsumer) throws DataFormatException {
         BinaryBuffer remaining = null;
         while (readBuffer.readableBytes() > 0) {
             final var beginMark = readBuffer.mark();
@@ -180,15 +220,24 @@ public final class PacketUtils {
                         // Decompress to content buffer
                         content = BinaryBuffer.wrap(PooledBuffers.tempBuffer());
                         decompressedSize = dataLength;
-                        Inflater inflater = new Inflater(); // TODO: Pool?
-                        inflater.setInput(readBuffer.asByteBuffer(readBuffer.readerOffset(), payloadLength));
-                        inflater.inflate(content.asByteBuffer(0, dataLength));
-                        inflater.reset();
+                        Inflater inflater = LOCAL_INFLATER.get();
+                        try {
+                            inflater.setInput(readBuffer.asByteBuffer(readBuffer.readerOffset(), payloadLength));
+                            inflater.inflate(content.asByteBuffer(0, dataLength));
+                        } finally {
+                            inflater.reset();
+                        }
                     }
                 }
                 // Slice packet
                 ByteBuffer payload = content.asByteBuffer(content.readerOffset(), decompressedSize);
                 final int packetId = Utils.readVarInt(payload);
+                if (!filter.test(packetId)) {
+                    // Keep the packet for later
+                    readBuffer.reset(beginMark);
+                    remaining = BinaryBuffer.copy(readBuffer);
+                    break;
+                }
                 try {
                     payloadConsumer.accept(packetId, payload);
                 } catch (Exception e) {
@@ -238,11 +287,7 @@ public final class PacketUtils {
         if (compressed) {
             // Packet large enough, compress it
             final ByteBuffer input = PooledBuffers.tempBuffer().put(0, buffer, contentStart, packetSize);
-            Deflater deflater = LOCAL_DEFLATER.get();
-            deflater.setInput(input.limit(packetSize));
-            deflater.finish();
-            deflater.deflate(buffer.position(contentStart));
-            deflater.reset();
+            MinecraftServer.getPacketCompressor().compress(id, input.limit(packetSize), buffer.position(contentStart));
         }
         // Packet header (Packet + Data Length)
         Utils.writeVarIntHeader(buffer, compressedIndex, buffer.position() - uncompressedIndex);
@@ -256,6 +301,13 @@ public final class PacketUtils {
         return buffer.flip();
     }
 
+    @ApiStatus.Internal
+    public static ByteBuffer createFramedPacket(@NotNull ServerPacket packet, int compressionThreshold) {
+        ByteBuffer buffer = PooledBuffers.packetBuffer();
+        writeFramedPacket(buffer, packet.getId(), packet, compressionThreshold);
+        return buffer.flip();
+    }
+
     @ApiStatus.Internal
     public static ByteBuffer createFramedPacket(@NotNull ServerPacket packet) {
         return createFramedPacket(packet, MinecraftServer.getCompressionThreshold() > 0);
@@ -263,7 +315,12 @@ public final class PacketUtils {
 
     @ApiStatus.Internal
     public static FramedPacket allocateTrimmedPacket(@NotNull ServerPacket packet) {
-        final ByteBuffer temp = PacketUtils.createFramedPacket(packet);
+        return allocateTrimmedPacket(packet, MinecraftServer.getCompressionThreshold());
+    }
+
+    @ApiStatus.Internal
+    public static FramedPacket allocateTrimmedPacket(@NotNull ServerPacket packet, int compressionThreshold) {
+        final ByteBuffer temp = PacketUtils.createFramedPacket(packet, compressionThreshold);
         final int size = temp.remaining();
         final ByteBuffer buffer = ByteBuffer.allocateDirect(size).put(0, temp, 0, size);
         return new FramedPacket(packet, buffer);
@@ -272,7 +329,14 @@ public final class PacketUtils {
     private static final class ViewableStorage {
         // Player id -> list of offsets to ignore (32:32 bits)
         private final Int2ObjectMap<LongArrayList> entityIdMap = new Int2ObjectOpenHashMap<>();
-        private final BinaryBuffer buffer = PooledBuffers.get();
+        // Offsets of the packets only sent to some players, and player id -> offsets of those to send
+        private final LongArrayList groupedOffsets = new LongArrayList();
+        private final Int2ObjectMap<LongArrayList> groupedIdMap = new Int2ObjectOpenHashMap<>();
+        // Written buffer, handed to the viewers on process
+        private final AtomicReference<BinaryBuffer> buffer = new AtomicReference<>(PooledBuffers.get());
+        // Packets in the buffer with their offsets, for connections without socket
+        private final List<ServerPacket> packets = new ArrayList<>();
+        private final LongArrayList packetOffsets = new LongArrayList();
 
         {
             PooledBuffers.registerBuffer(this, buffer);
@@ -281,62 +345,158 @@ public final class PacketUtils {
         private synchronized void append(Viewable viewable, ServerPacket serverPacket, Player player) {
             final ByteBuffer framedPacket = createFramedPacket(serverPacket);
             final int packetSize = framedPacket.limit();
-            if (packetSize >= buffer.capacity()) {
+            if (packetSize >= this.buffer.getPlain().capacity()) {
                 process(viewable);
                 for (Player viewer : viewable.getViewers()) {
-                    if (!Objects.equals(player, viewer)) {
-                        writeTo(viewer.getPlayerConnection(), framedPacket, 0, packetSize);
-                    }
+                    if (!Objects.equals(player, viewer)) writeTo(viewer, serverPacket, framedPacket, packetSize);
                 }
                 return;
             }
-            if (!buffer.canWrite(packetSize)) process(viewable);
-            final int start = buffer.writerOffset();
-            this.buffer.write(framedPacket);
-            final int end = buffer.writerOffset();
+            final long offsets = write(viewable, serverPacket, framedPacket);
             if (player != null) {
-                final long offsets = (long) start << 32 | end & 0xFFFFFFFFL;
                 LongList list = entityIdMap.computeIfAbsent(player.getEntityId(), id -> new LongArrayList());
                 list.add(offsets);
             }
         }
 
+        private synchronized void appendGrouped(Viewable viewable, ServerPacket serverPacket, Collection<Player> players) {
+            final ByteBuffer framedPacket = createFramedPacket(serverPacket);
+            final int packetSize = framedPacket.limit();
+            if (packetSize >= this.buffer.getPlain().capacity()) {
+                process(viewable);
+                for (Player player : players) writeTo(player, serverPacket, framedPacket, packetSize);
+                return;
+            }
+            final long offsets = write(viewable, serverPacket, framedPacket);
+            this.groupedOffsets.add(offsets);
+            for (Player player : players) {
+                LongList list = groupedIdMap.computeIfAbsent(player.getEntityId(), id -> new LongArrayList());
+                list.add(offsets);
+            }
+        }
+
+        private long write(Viewable viewable, ServerPacket serverPacket, ByteBuffer framedPacket) {
+            BinaryBuffer buffer = this.buffer.getPlain();
+            if (!buffer.canWrite(framedPacket.limit())) {
+                process(viewable);
+                buffer = this.buffer.getPlain();
+            }
+            final int start = buffer.writerOffset();
+            buffer.write(framedPacket);
+            final int end = buffer.writerOffset();
+            final long offsets = (long) start << 32 | end & 0xFFFFFFFFL;
+            this.packets.add(serverPacket);
+            this.packetOffsets.add(offsets);
+            return offsets;
+        }
+
         private synchronized void process(Viewable viewable) {
+            final BinaryBuffer buffer = this.buffer.getPlain();
             if (buffer.writerOffset() == 0) return;
-            ByteBuffer copy = ByteBuffer.allocateDirect(buffer.writerOffset());
-            copy.put(buffer.asByteBuffer(0, copy.capacity()));
-            viewable.getViewers().forEach(player -> processPlayer(player, copy));
-            this.buffer.clear();
-            this.entityIdMap.clear();
+            // Written once, referenced by every viewer until their socket write
+            SharedBuffer shared = SharedBuffer.of(buffer);
+            this.buffer.setPlain(PooledBuffers.get());
+            try {
+                viewable.getViewers().forEach(player -> {
+                    final LongArrayList grouped = groupedIdMap.remove(player.getEntityId());
+                    processPlayer(player, shared, entityIdMap.get(player.getEntityId()), groupedOffsets, grouped);
+                });
+                // Players only receiving grouped packets
+                for (Int2ObjectMap.Entry<LongArrayList> entry : groupedIdMap.int2ObjectEntrySet()) {
+                    final Player player = (Player) Entity.getEntity(entry.getIntKey());
+                    if (player != null) processGrouped(player, shared, entry.getValue());
+                }
+            } finally {
+                shared.release();
+                this.entityIdMap.clear();
+                this.groupedOffsets.clear();
+                this.groupedIdMap.clear();
+                this.packets.clear();
+                this.packetOffsets.clear();
+            }
         }
 
-        private void processPlayer(Player player, ByteBuffer buffer) {
-            final int size = buffer.limit();
+        /**
+         * Writes the buffer to a player, skipping the packets in {@code exceptions}
+         * and the packets in {@code grouped} which are not also in {@code included}.
+         * <p>
+         * All the lists are sorted by offset, and {@code included} is a subset of {@code grouped}.
+         */
+        private void processPlayer(Player player, SharedBuffer buffer, @Nullable LongArrayList exceptions,
+                                   @Nullable LongArrayList grouped, @Nullable LongArrayList included) {
             final PlayerConnection connection = player.getPlayerConnection();
-            final LongArrayList pairs = entityIdMap.get(player.getEntityId());
-            if (pairs != null) {
+            final int size = buffer.size();
+            final int exceptionCount = exceptions != null ? exceptions.size() : 0;
+            final int groupedCount = grouped != null ? grouped.size() : 0;
+            final int includedCount = included != null ? included.size() : 0;
+            int lastWrite = 0;
+            int packetIndex = 0;
+            int e = 0, g = 0, i = 0;
+            while (e < exceptionCount || g < groupedCount) {
+                final long offsets;
+                if (e == exceptionCount || (g < groupedCount && grouped.getLong(g) < exceptions.getLong(e))) {
+                    offsets = grouped.getLong(g++);
+                    if (i < includedCount && included.getLong(i) == offsets) {
+                        i++;
+                        continue;
+                    }
+                } else {
+                    offsets = exceptions.getLong(e++);
+                }
                 // Ensure that we skip the specified parts of the buffer
-                int lastWrite = 0;
-                final long[] elements = pairs.elements();
-                for (int i = 0; i < pairs.size(); ++i) {
-                    final long offsets = elements[i];
-                    final int start = (int) (offsets >> 32);
-                    if (start != lastWrite) writeTo(connection, buffer, lastWrite, start - lastWrite);
-                    lastWrite = (int) offsets; // End = last 32 bits
+                final int start = (int) (offsets >> 32);
+                if (start != lastWrite) packetIndex = writeTo(connection, buffer, packetIndex, lastWrite, start);
+                lastWrite = (int) offsets; // End = last 32 bits
+            }
+            if (size != lastWrite) writeTo(connection, buffer, packetIndex, lastWrite, size);
+        }
+
+        /**
+         * Writes the {@code included} packets of the buffer to a player not viewing the storage.
+         */
+        private void processGrouped(Player player, SharedBuffer buffer, LongArrayList included) {
+            final PlayerConnection connection = player.getPlayerConnection();
+            int packetIndex = 0;
+            int start = -1, end = -1;
+            for (int i = 0; i < included.size(); i++) {
+                final long offsets = included.getLong(i);
+                final int packetStart = (int) (offsets >> 32);
+                if (packetStart != end) {
+                    // Not contiguous with the previous packet
+                    if (start != -1) packetIndex = writeTo(connection, buffer, packetIndex, start, end);
+                    start = packetStart;
                 }
-                if (size != lastWrite) writeTo(connection, buffer, lastWrite, size - lastWrite);
-            } else {
-                // Write all
-                writeTo(connection, buffer, 0, size);
+                end = (int) offsets;
             }
+            if (start != -1) writeTo(connection, buffer, packetIndex, start, end);
         }
 
-        private static void writeTo(PlayerConnection connection, ByteBuffer buffer, int offset, int length) {
+        /**
+         * Writes the buffer between two packet boundaries.
+         *
+         * @return the index of the first packet after {@code end}
+         */
+        private int writeTo(PlayerConnection connection, SharedBuffer buffer, int packetIndex, int start, int end) {
             if (connection instanceof PlayerSocketConnection socketConnection) {
-                socketConnection.write(buffer, offset, length);
-                return;
+                socketConnection.write(buffer, start, end - start);
+                return packetIndex;
+            }
+            // No socket to write the buffer to, send the packets individually
+            while (packetIndex < packets.size() && (int) (packetOffsets.getLong(packetIndex) >> 32) < start) {
+                packetIndex++;
+            }
+            while (packetIndex < packets.size() && (int) (packetOffsets.getLong(packetIndex) >> 32) < end) {
+                connection.sendPacket(packets.get(packetIndex++));
+            }
+            return packetIndex;
+        }
+
+        private static void writeTo(Player player, ServerPacket serverPacket, ByteBuffer framedPacket, int packetSize) {
+            if (player.getPlayerConnection() instanceof PlayerSocketConnection socketConnection) {
+                socketConnection.write(framedPacket, 0, packetSize);
+            } else {
+                player.getPlayerConnection().sendPacket(serverPacket);
             }
-            // TODO for non-socket connection
         }
     }
 }
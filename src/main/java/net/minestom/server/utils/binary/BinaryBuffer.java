@@ -43,7 +43,7 @@ public final class BinaryBuffer {
     public static BinaryBuffer copy(BinaryBuffer buffer) {
         final int size = buffer.readableBytes();
         final var temp = ByteBuffer.allocateDirect(size)
-                .put(buffer.asByteBuffer(0, size));
+                .put(buffer.asByteBuffer(buffer.readerOffset, size));
         BinaryBuffer newBuffer = new BinaryBuffer(temp);
         newBuffer.writerOffset = size;
         return newBuffer;
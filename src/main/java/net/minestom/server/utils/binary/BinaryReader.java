@@ -9,6 +9,7 @@ import net.minestom.server.utils.NBTUtils;
 import net.minestom.server.utils.SerializerUtils;
 import net.minestom.server.utils.Utils;
 import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jglrxavpok.hephaistos.nbt.CompressedProcesser;
 import org.jglrxavpok.hephaistos.nbt.NBT;
@@ -32,7 +33,7 @@ import java.util.function.Supplier;
  * WARNING: not thread-safe.
  */
 public class BinaryReader extends InputStream {
-    private final ByteBuffer buffer;
+    private ByteBuffer buffer;
     private NBTReader nbtReader = null;
 
     public BinaryReader(@NotNull ByteBuffer buffer) {
@@ -43,6 +44,19 @@ public class BinaryReader extends InputStream {
         this(ByteBuffer.wrap(bytes));
     }
 
+    /**
+     * Reuses this reader for another buffer, avoiding an allocation per read packet.
+     *
+     * @param buffer the new buffer to read from
+     * @return this reader
+     */
+    @ApiStatus.Internal
+    public @NotNull BinaryReader reset(@NotNull ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.nbtReader = null;
+        return this;
+    }
+
     public int readVarInt() {
         return Utils.readVarInt(buffer);
     }
@@ -0,0 +1,62 @@
+package net.minestom.server.utils.binary;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pooled buffer written once and referenced by multiple connections,
+ * returned to the pool once every reference has been released.
+ * <p>
+ * A buffer which is never fully released is garbage collected instead of being pooled.
+ */
+@ApiStatus.Internal
+@ApiStatus.Experimental
+public final class SharedBuffer {
+    private final BinaryBuffer buffer;
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    private SharedBuffer(BinaryBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Takes ownership of a pooled buffer, the caller holds the first reference.
+     *
+     * @param buffer the pooled buffer, must not be written anymore
+     * @return the shared buffer
+     */
+    public static @NotNull SharedBuffer of(@NotNull BinaryBuffer buffer) {
+        return new SharedBuffer(buffer);
+    }
+
+    public @NotNull ByteBuffer view(int index, int length) {
+        return buffer.asByteBuffer(index, length);
+    }
+
+    public int size() {
+        return buffer.writerOffset();
+    }
+
+    public int refCount() {
+        return refCount.get();
+    }
+
+    public @NotNull SharedBuffer retain() {
+        if (refCount.getAndIncrement() <= 0) {
+            throw new IllegalStateException("Buffer has already been released");
+        }
+        return this;
+    }
+
+    public void release() {
+        final int count = refCount.decrementAndGet();
+        if (count == 0) {
+            PooledBuffers.add(buffer);
+        } else if (count < 0) {
+            throw new IllegalStateException("Buffer has already been released");
+        }
+    }
+}
@@ -263,6 +263,20 @@ public final class ChunkUtils {
         return xyz & 0xF;
     }
 
+    /**
+     * Encodes a block change in the format used by {@link net.minestom.server.network.packet.server.play.MultiBlockChangePacket}.
+     *
+     * @param x       the block X
+     * @param y       the block Y
+     * @param z       the block Z
+     * @param stateId the new block state id
+     * @return the encoded change
+     */
+    public static long encodeSectionBlockChange(int x, int y, int z, int stateId) {
+        return (long) stateId << 12 | toSectionRelativeCoordinate(x) << 8 |
+                toSectionRelativeCoordinate(z) << 4 | toSectionRelativeCoordinate(y);
+    }
+
     public static int floorSection(int coordinate) {
         return coordinate - (coordinate & 0xF);
     }
@@ -34,6 +34,15 @@ public class PlacementCollisionIntegrationTest {
         assertNull(BlockCollision.canPlaceBlockAt(instance, new Vec(0, 40, 0), Block.STONE_SLAB));
     }
 
+    @Test
+    public void fenceAboveCell(Env env) {
+        var instance = env.createFlatInstance();
+        // Fences collide up to 1.5 blocks high
+        new Entity(EntityType.ZOMBIE).setInstance(instance, new Pos(0.5, 41.25, 0.5)).join();
+        assertNotNull(BlockCollision.canPlaceBlockAt(instance, new Vec(0, 40, 0), Block.OAK_FENCE));
+        assertNull(BlockCollision.canPlaceBlockAt(instance, new Vec(0, 40, 0), Block.STONE));
+    }
+
     @Test
     public void belowPlayer(Env env) {
         var instance = env.createFlatInstance();
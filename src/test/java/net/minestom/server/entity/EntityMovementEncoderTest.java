@@ -0,0 +1,84 @@
+package net.minestom.server.entity;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.network.packet.server.play.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityMovementEncoderTest {
+
+    @Test
+    public void stationary() {
+        var encoder = new EntityMovementEncoder();
+        encoder.reset(new Pos(5, 40, 5, 90, 0));
+        assertTrue(encoder.isSynchronized(new Pos(5, 40, 5, 90, 0)));
+        assertEquals(List.of(), encode(encoder, new Pos(5, 40, 5, 90, 0)));
+        // Below the protocol precision
+        assertEquals(List.of(), encode(encoder, new Pos(5.00001, 40, 5, 90.1f, 0)));
+    }
+
+    @Test
+    public void relativeMove() {
+        var encoder = new EntityMovementEncoder();
+        encoder.reset(new Pos(5, 40, 5));
+        assertEquals(List.of(new EntityPositionPacket(1, (short) 4096, (short) 0, (short) -2048, true)),
+                encode(encoder, new Pos(6, 40, 4.5)));
+        assertTrue(encoder.isSynchronized(new Pos(6, 40, 4.5)));
+    }
+
+    @Test
+    public void rotation() {
+        var encoder = new EntityMovementEncoder();
+        encoder.reset(new Pos(5, 40, 5));
+        assertEquals(List.of(new EntityRotationPacket(1, 90, 45, true), new EntityHeadLookPacket(1, 90)),
+                encode(encoder, new Pos(5, 40, 5, 90, 45)));
+        // Pitch only, the head does not move
+        assertEquals(List.of(new EntityRotationPacket(1, 90, 0, true)),
+                encode(encoder, new Pos(5, 40, 5, 90, 0)));
+    }
+
+    @Test
+    public void moveAndRotation() {
+        var encoder = new EntityMovementEncoder();
+        encoder.reset(new Pos(5, 40, 5));
+        assertEquals(List.of(new EntityPositionAndRotationPacket(1, (short) 0, (short) 4096, (short) 0, 0, 45, true)),
+                encode(encoder, new Pos(5, 41, 5, 0, 45)));
+    }
+
+    @Test
+    public void teleport() {
+        var encoder = new EntityMovementEncoder();
+        encoder.reset(new Pos(5, 40, 5));
+        final Pos far = new Pos(5, 40, 13);
+        assertEquals(List.of(new EntityTeleportPacket(1, far, true)), encode(encoder, far));
+        assertTrue(encoder.isSynchronized(far));
+        assertEquals(List.of(new EntityPositionPacket(1, (short) 0, (short) 0, (short) 32767, true)),
+                encode(encoder, new Pos(5, 40, 13 + 32767 / 4096d)));
+    }
+
+    @Test
+    public void noDrift() {
+        var encoder = new EntityMovementEncoder();
+        encoder.reset(Pos.ZERO);
+        long clientX = 0;
+        double x = 0;
+        for (int i = 0; i < 1000; i++) {
+            x += 0.0123;
+            for (ServerPacket packet : encode(encoder, new Pos(x, 0, 0))) {
+                clientX += ((EntityPositionPacket) packet).deltaX();
+            }
+        }
+        assertEquals(Math.round(x * 4096), clientX);
+    }
+
+    private static List<ServerPacket> encode(EntityMovementEncoder encoder, Pos position) {
+        List<ServerPacket> packets = new ArrayList<>();
+        encoder.encode(1, position, true, packets::add);
+        return packets;
+    }
+}
@@ -0,0 +1,91 @@
+package net.minestom.server.entity;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.network.packet.server.play.EntityPositionPacket;
+import net.minestom.server.network.packet.server.play.EntityTeleportPacket;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnvTest
+public class EntityTrackingTierIntegrationTest {
+
+    @Test
+    public void farViewer(Env env) {
+        var instance = env.createFlatInstance();
+        var nearConnection = env.createConnection();
+        var farConnection = env.createConnection();
+        var nearPlayer = nearConnection.connect(instance, new Pos(20, 42, 0)).join();
+        var farPlayer = farConnection.connect(instance, new Pos(0, 42, 0)).join();
+
+        var entity = new Entity(EntityType.ZOMBIE);
+        entity.setNoGravity(true);
+        entity.setTrackingTiers(List.of(new TrackingTier(16, 4)));
+        entity.setInstance(instance, new Pos(20, 42, 0)).join();
+        assertTrue(entity.getViewers().containsAll(List.of(nearPlayer, farPlayer)));
+
+        var nearMoves = nearConnection.trackIncoming(EntityPositionPacket.class);
+        var farMoves = farConnection.trackIncoming(EntityPositionPacket.class);
+        var farTeleports = farConnection.trackIncoming(EntityTeleportPacket.class);
+        for (int i = 0; i < 8; i++) {
+            entity.refreshPosition(entity.getPosition().add(0.1, 0, 0));
+            env.tick();
+        }
+        nearMoves.assertCount(8);
+        farMoves.assertEmpty();
+        // Absolute position every 4 ticks
+        farTeleports.assertCount(2);
+    }
+
+    @Test
+    public void tierChange(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        var player = connection.connect(instance, new Pos(0, 42, 0)).join();
+
+        var entity = new Entity(EntityType.ZOMBIE);
+        entity.setNoGravity(true);
+        entity.setTrackingTiers(List.of(new TrackingTier(16, 4)));
+        entity.setInstance(instance, new Pos(20, 42, 0)).join();
+        env.tick();
+
+        // Coming closer, the viewer must know the position used by the relative moves
+        var teleports = connection.trackIncoming(EntityTeleportPacket.class);
+        var moves = connection.trackIncoming(EntityPositionPacket.class);
+        entity.refreshPosition(new Pos(10, 42, 0));
+        env.tick();
+        teleports.assertSingle(packet -> assertEquals(new Pos(10, 42, 0), packet.position()));
+        moves.assertEmpty();
+    }
+
+    @Test
+    public void teleportOrder(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        connection.connect(instance, new Pos(0, 42, 0)).join();
+
+        var entity = new Entity(EntityType.ZOMBIE);
+        entity.setNoGravity(true);
+        entity.setTrackingTiers(List.of(new TrackingTier(16, 4)));
+        entity.setInstance(instance, new Pos(2, 42, 0)).join();
+        env.tick();
+
+        // The relative move must not overtake the teleport prepared for the chunk
+        var packets = connection.trackIncoming();
+        entity.teleport(new Pos(4, 42, 0)).join();
+        entity.refreshPosition(new Pos(4.5, 42, 0));
+        env.tick();
+        var movements = packets.collect().stream()
+                .filter(packet -> packet instanceof EntityTeleportPacket || packet instanceof EntityPositionPacket)
+                .toList();
+        assertEquals(2, movements.size());
+        assertInstanceOf(EntityTeleportPacket.class, movements.get(0));
+        assertInstanceOf(EntityPositionPacket.class, movements.get(1));
+    }
+}
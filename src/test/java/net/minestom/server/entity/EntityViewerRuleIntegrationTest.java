@@ -5,6 +5,7 @@ import net.minestom.server.api.EnvTest;
 import net.minestom.server.coordinate.Pos;
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -47,6 +48,74 @@ public class EntityViewerRuleIntegrationTest {
         assertEquals(1, p2.getViewers().size());
     }
 
+    @Test
+    public void viewableRuleSingleUpdate(Env env) {
+        var instance = env.createFlatInstance();
+        var p1 = env.createPlayer(instance, new Pos(0, 42, 0));
+
+        AtomicBoolean enabled = new AtomicBoolean(false);
+        p1.updateViewableRule(p -> enabled.get());
+
+        var p2 = env.createPlayer(instance, new Pos(0, 42, 0));
+        var p3 = env.createPlayer(instance, new Pos(0, 42, 0));
+        assertEquals(0, p1.getViewers().size());
+
+        enabled.set(true);
+        p1.updateViewableRuleFor(p2);
+        assertEquals(Set.of(p2), p1.getViewers());
+
+        enabled.set(false);
+        p1.updateViewableRuleFor(p3);
+        assertEquals(Set.of(p2), p1.getViewers());
+        p1.updateViewableRuleFor(p2);
+        assertEquals(0, p1.getViewers().size());
+    }
+
+    @Test
+    public void viewerRuleSingleUpdate(Env env) {
+        var instance = env.createFlatInstance();
+        var p1 = env.createPlayer(instance, new Pos(0, 42, 0));
+        AtomicBoolean enabled = new AtomicBoolean(false);
+        p1.updateViewerRule(e -> enabled.get());
+
+        var p2 = env.createPlayer(instance, new Pos(0, 42, 0));
+        var p3 = env.createPlayer(instance, new Pos(0, 42, 0));
+        assertEquals(Set.of(p3), p2.getViewers());
+
+        enabled.set(true);
+        p1.updateViewerRuleFor(p2);
+        assertEquals(Set.of(p1, p3), p2.getViewers());
+        assertEquals(Set.of(p2), p3.getViewers());
+    }
+
+    @Test
+    public void nearbyInstanceChange(Env env) {
+        var instance = env.createFlatInstance();
+        var other = env.createFlatInstance();
+        var p1 = env.createPlayer(instance, new Pos(0, 42, 0));
+        var p2 = env.createPlayer(instance, new Pos(0, 42, 0));
+        AtomicBoolean enabled = new AtomicBoolean(false);
+        p1.updateViewableRule(p -> enabled.get());
+        assertEquals(1, p1.viewEngine.viewableOption.nearbyCount());
+
+        p1.setInstance(other, new Pos(0, 42, 0)).join();
+        assertEquals(0, p1.viewEngine.viewableOption.nearbyCount());
+        assertEquals(0, p2.viewEngine.viewerOption.nearbyCount());
+
+        // Delta from a concurrent move, delivered after p1 left the tracker
+        p2.viewEngine.handleAutoViewAddition(p1);
+        assertEquals(0, p1.viewEngine.viewableOption.nearbyCount());
+        assertEquals(0, p2.viewEngine.viewerOption.nearbyCount());
+        assertEquals(Set.of(), p1.getViewers());
+
+        p1.setInstance(instance, new Pos(0, 42, 0)).join();
+        assertEquals(1, p1.viewEngine.viewableOption.nearbyCount());
+        assertEquals(1, p2.viewEngine.viewerOption.nearbyCount());
+        enabled.set(true);
+        p1.updateViewableRule();
+        assertEquals(Set.of(p2), p1.getViewers());
+    }
+
     @Test
     public void viewableRuleDouble(Env env) {
         var instance = env.createFlatInstance();
@@ -0,0 +1,28 @@
+package net.minestom.server.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TrackingTierTest {
+
+    @Test
+    public void tierOf() {
+        var tiers = List.of(new TrackingTier(16, 2), new TrackingTier(48, 8));
+        assertEquals(-1, TrackingTier.tierOf(List.of(), 10_000));
+        assertEquals(-1, TrackingTier.tierOf(tiers, 0));
+        assertEquals(-1, TrackingTier.tierOf(tiers, 15.9 * 15.9));
+        assertEquals(0, TrackingTier.tierOf(tiers, 16 * 16));
+        assertEquals(0, TrackingTier.tierOf(tiers, 47 * 47));
+        assertEquals(1, TrackingTier.tierOf(tiers, 100 * 100));
+    }
+
+    @Test
+    public void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new TrackingTier(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> new TrackingTier(16, 0));
+    }
+}
@@ -28,8 +28,7 @@ public class PlayerMovementIntegrationTest {
         assertEquals(new Pos(0.2, 40, 0), p1.getPosition());
     }
 
-    // FIXME
-    //@Test
+    @Test
     public void singleTickMovementUpdate(Env env) {
         var instance = env.createFlatInstance();
         var connection = env.createConnection();
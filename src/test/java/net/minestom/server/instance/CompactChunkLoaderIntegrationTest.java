@@ -0,0 +1,94 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.instance.block.Block;
+import org.jglrxavpok.hephaistos.nbt.NBT;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class CompactChunkLoaderIntegrationTest {
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void roundTrip(boolean compress, Env env, @TempDir Path dir) {
+        final Path path = dir.resolve("world.bin");
+        final Block nbtBlock = Block.CHEST.withNbt(NBT.Compound(Map.of("Lock", NBT.String("key"))));
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        instance.loadChunk(-1, 3).join();
+        instance.setBlock(0, 50, 0, Block.STONE);
+        instance.setBlock(1, -10, 2, Block.GRASS_BLOCK.withProperty("snowy", "true"));
+        instance.setBlock(3, 60, 3, nbtBlock);
+        instance.setBlock(-5, 100, 50, Block.DIAMOND_BLOCK);
+
+        CompactChunkLoader loader = new CompactChunkLoader(path, compress);
+        loader.saveChunks(instance.getChunks()).join();
+
+        var loaded = env.process().instance().createInstanceContainer(new CompactChunkLoader(path));
+        loaded.loadChunk(0, 0).join();
+        loaded.loadChunk(-1, 3).join();
+        assertEquals(Block.STONE, loaded.getBlock(0, 50, 0));
+        assertEquals(Block.GRASS_BLOCK.withProperty("snowy", "true"), loaded.getBlock(1, -10, 2));
+        assertEquals(nbtBlock, loaded.getBlock(3, 60, 3));
+        assertEquals(Block.DIAMOND_BLOCK, loaded.getBlock(-5, 100, 50));
+        assertEquals(instance.getBlock(8, 39, 8), loaded.getBlock(8, 39, 8));
+
+        // Missing chunks are left to the generator
+        assertNull(loader.loadChunk(loaded, 10, 10).join());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void partialSave(boolean compress, Env env, @TempDir Path dir) {
+        final Path path = dir.resolve("world.bin");
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        instance.loadChunk(1, 0).join();
+        CompactChunkLoader loader = new CompactChunkLoader(path, compress);
+        loader.saveChunks(instance.getChunks()).join();
+
+        // Saving a single chunk keeps the others
+        instance.setBlock(0, 50, 0, Block.STONE);
+        instance.setBlock(16, 50, 0, Block.DIRT);
+        loader.saveChunk(instance.getChunk(0, 0)).join();
+
+        var loaded = env.process().instance().createInstanceContainer(loader);
+        loaded.loadChunk(0, 0).join();
+        loaded.loadChunk(1, 0).join();
+        assertEquals(Block.STONE, loaded.getBlock(0, 50, 0));
+        assertEquals(Block.AIR, loaded.getBlock(16, 50, 0));
+    }
+
+    @Test
+    public void concurrentSaves(Env env, @TempDir Path dir) {
+        final Path path = dir.resolve("world.bin");
+        var instance = env.createFlatInstance();
+        CompactChunkLoader loader = new CompactChunkLoader(path);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int x = 0; x < 8; x++) {
+            instance.loadChunk(x, 0).join();
+            instance.setBlock(x * 16, 50, 0, Block.STONE);
+            // Saved in the same rewrite when queued before it starts
+            futures.add(loader.saveChunk(instance.getChunk(x, 0)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        var loaded = env.process().instance().createInstanceContainer(loader);
+        for (int x = 0; x < 8; x++) {
+            loaded.loadChunk(x, 0).join();
+            assertEquals(Block.STONE, loaded.getBlock(x * 16, 50, 0));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package net.minestom.server.instance;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EntityExtentsTest {
+
+    @Test
+    public void shrink() {
+        var extents = new EntityExtents();
+        assertEquals(0, extents.max());
+        extents.add(1);
+        extents.add(3);
+        extents.add(3);
+        assertEquals(3, extents.max());
+        extents.remove(3);
+        assertEquals(3, extents.max());
+        extents.remove(3);
+        assertEquals(1, extents.max());
+        extents.remove(1);
+        assertEquals(0, extents.max());
+    }
+
+    @Test
+    public void replace() {
+        var extents = new EntityExtents();
+        extents.add(1);
+        extents.add(2);
+        extents.replace(2, 0.5);
+        assertEquals(1, extents.max());
+        extents.replace(1, 4);
+        assertEquals(4, extents.max());
+    }
+}
@@ -1,5 +1,6 @@
 package net.minestom.server.instance;
 
+import net.minestom.server.collision.BoundingBox;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.EntityType;
@@ -12,6 +13,10 @@ import java.util.Set;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class EntityTrackerTest {
+    EntityTracker newTracker() {
+        return new EntityTrackerImpl();
+    }
+
     @Test
     public void register() {
         var ent1 = new Entity(EntityType.ZOMBIE);
@@ -28,7 +33,7 @@ public class EntityTrackerTest {
                 fail("No other entity should be registered yet");
             }
         };
-        EntityTracker tracker = EntityTracker.newTracker();
+        EntityTracker tracker = newTracker();
         var chunkEntities = tracker.chunkEntities(Vec.ZERO, EntityTracker.Target.ENTITIES);
         assertTrue(chunkEntities.isEmpty());
 
@@ -54,7 +59,7 @@ public class EntityTrackerTest {
             }
         };
 
-        EntityTracker tracker = EntityTracker.newTracker();
+        EntityTracker tracker = newTracker();
 
         tracker.register(ent1, Vec.ZERO, EntityTracker.Target.ENTITIES, updater);
         assertEquals(1, tracker.chunkEntities(Vec.ZERO, EntityTracker.Target.ENTITIES).size());
@@ -69,7 +74,7 @@ public class EntityTrackerTest {
         var ent1 = new Entity(EntityType.ZOMBIE);
         var ent2 = new Entity(EntityType.ZOMBIE);
 
-        EntityTracker tracker = EntityTracker.newTracker();
+        EntityTracker tracker = newTracker();
         tracker.register(ent1, Vec.ZERO, EntityTracker.Target.ENTITIES, new EntityTracker.Update<>() {
             @Override
             public void add(@NotNull Entity entity) {
@@ -140,7 +145,7 @@ public class EntityTrackerTest {
             }
         };
 
-        EntityTracker tracker = EntityTracker.newTracker();
+        EntityTracker tracker = newTracker();
         tracker.register(ent2, new Vec(5, 0, 0), EntityTracker.Target.ENTITIES, updater);
         tracker.register(ent3, new Vec(50, 0, 0), EntityTracker.Target.ENTITIES, updater);
 
@@ -176,6 +181,66 @@ public class EntityTrackerTest {
         assertEquals(0, entities.size());
     }
 
+    @Test
+    public void intersecting() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+        var ent3 = new Entity(EntityType.ZOMBIE);
+        var box = new BoundingBox(1, 1, 1);
+
+        EntityTracker tracker = newTracker();
+        tracker.register(ent1, Vec.ZERO, EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent2, new Vec(5, 20, 0), EntityTracker.Target.ENTITIES, null);
+        // Bounding box overlapping the chunk border
+        tracker.register(ent3, new Vec(16.2, 0, 0), EntityTracker.Target.ENTITIES, null);
+
+        assertEquals(Set.of(ent1), intersecting(tracker, Vec.ZERO, box));
+        assertEquals(Set.of(ent1), intersecting(tracker, new Vec(0, 1.9, 0), box));
+        assertEquals(Set.of(), intersecting(tracker, new Vec(0, 2, 0), box));
+        assertEquals(Set.of(ent3), intersecting(tracker, new Vec(15.5, 0, 0), box));
+        assertEquals(Set.of(), intersecting(tracker, new Vec(5, 0, 0), box));
+
+        // Different section
+        tracker.move(ent2, new Vec(5, 0.5, 0), EntityTracker.Target.ENTITIES, null);
+        assertEquals(Set.of(ent2), intersecting(tracker, new Vec(5, 0, 0), box));
+        assertEquals(Set.of(ent1, ent2, ent3), intersecting(tracker, new Vec(8, 0, 0), new BoundingBox(20, 1, 1)));
+
+        tracker.unregister(ent2, EntityTracker.Target.ENTITIES, null);
+        assertEquals(Set.of(), intersecting(tracker, new Vec(5, 0, 0), box));
+    }
+
+    @Test
+    public void raycast() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+        var ent3 = new Entity(EntityType.ZOMBIE);
+
+        EntityTracker tracker = newTracker();
+        tracker.register(ent1, Vec.ZERO, EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent2, new Vec(10, 0, 0), EntityTracker.Target.ENTITIES, null);
+        tracker.register(ent3, new Vec(0, 0, 40), EntityTracker.Target.ENTITIES, null);
+
+        assertEquals(Set.of(ent1, ent2), raycast(tracker, new Vec(-5, 1, 0), new Vec(1, 0, 0), 20));
+        assertEquals(Set.of(ent1), raycast(tracker, new Vec(-5, 1, 0), new Vec(2, 0, 0), 10));
+        assertEquals(Set.of(ent2), raycast(tracker, new Vec(20, 1, 0), new Vec(-1, 0, 0), 10.5));
+        assertEquals(Set.of(ent1, ent3), raycast(tracker, new Vec(0, 1, -5), new Vec(0, 0, 1), 100));
+        assertEquals(Set.of(), raycast(tracker, new Vec(0, 5, -5), new Vec(0, 0, 1), 100));
+        assertEquals(Set.of(ent1), raycast(tracker, new Vec(0, 20, 0), new Vec(0, -1, 0), 20));
+        assertEquals(Set.of(ent3), raycast(tracker, new Vec(-30, 31, 40), new Vec(1, -1, 0), 50));
+    }
+
+    private static Set<Entity> intersecting(EntityTracker tracker, Vec point, BoundingBox box) {
+        Set<Entity> entities = new HashSet<>();
+        tracker.intersectingEntities(point, box, EntityTracker.Target.ENTITIES, entity -> assertTrue(entities.add(entity)));
+        return entities;
+    }
+
+    private static Set<Entity> raycast(EntityTracker tracker, Vec origin, Vec direction, double maxDistance) {
+        Set<Entity> entities = new HashSet<>();
+        tracker.raycastEntities(origin, direction, maxDistance, EntityTracker.Target.ENTITIES, entity -> assertTrue(entities.add(entity)));
+        return entities;
+    }
+
     @Test
     public void nearbySingleChunk() {
         var ent1 = new Entity(EntityType.ZOMBIE);
@@ -193,7 +258,7 @@ public class EntityTrackerTest {
             }
         };
 
-        EntityTracker tracker = EntityTracker.newTracker();
+        EntityTracker tracker = newTracker();
         tracker.register(ent1, new Vec(5, 0, 5), EntityTracker.Target.ENTITIES, updater);
         tracker.register(ent2, new Vec(8, 0, 8), EntityTracker.Target.ENTITIES, updater);
         tracker.register(ent3, new Vec(17, 0, 17), EntityTracker.Target.ENTITIES, updater);
@@ -233,7 +298,7 @@ public class EntityTrackerTest {
             }
         };
 
-        EntityTracker tracker = EntityTracker.newTracker();
+        EntityTracker tracker = newTracker();
         var entities = tracker.entities();
         var chunkEntities = tracker.chunkEntities(Vec.ZERO, EntityTracker.Target.ENTITIES);
 
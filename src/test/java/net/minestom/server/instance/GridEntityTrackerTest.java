@@ -0,0 +1,8 @@
+package net.minestom.server.instance;
+
+public class GridEntityTrackerTest extends EntityTrackerTest {
+    @Override
+    EntityTracker newTracker() {
+        return new GridEntityTracker();
+    }
+}
@@ -0,0 +1,73 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.instance.block.Block;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class HeightmapIntegrationTest {
+
+    @Test
+    public void generated(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = instance.loadChunk(0, 0).join();
+        final Heightmap motionBlocking = chunk.heightmap(Heightmap.Type.MOTION_BLOCKING);
+        final Heightmap worldSurface = chunk.heightmap(Heightmap.Type.WORLD_SURFACE);
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                assertEquals(40, motionBlocking.getHeight(x, z));
+                assertEquals(40, worldSurface.getHeight(x, z));
+            }
+        }
+    }
+
+    @Test
+    public void incremental(Env env) {
+        var instance = env.createFlatInstance();
+        var chunk = instance.loadChunk(0, 0).join();
+        final Heightmap motionBlocking = chunk.heightmap(Heightmap.Type.MOTION_BLOCKING);
+        final Heightmap worldSurface = chunk.heightmap(Heightmap.Type.WORLD_SURFACE);
+
+        // Non-solid block only affects the world surface
+        instance.setBlock(1, 50, 2, Block.TORCH);
+        assertEquals(40, motionBlocking.getHeight(1, 2));
+        assertEquals(51, worldSurface.getHeight(1, 2));
+
+        instance.setBlock(1, 45, 2, Block.STONE);
+        assertEquals(46, motionBlocking.getHeight(1, 2));
+        assertEquals(51, worldSurface.getHeight(1, 2));
+
+        // Removing the highest block looks for the next one
+        instance.setBlock(1, 50, 2, Block.AIR);
+        assertEquals(46, worldSurface.getHeight(1, 2));
+        instance.setBlock(1, 45, 2, Block.AIR);
+        assertEquals(40, motionBlocking.getHeight(1, 2));
+        assertEquals(40, worldSurface.getHeight(1, 2));
+
+        // Below the highest block
+        instance.setBlock(1, 20, 2, Block.AIR);
+        assertEquals(40, worldSurface.getHeight(1, 2));
+
+        // Whole column cleared
+        for (int y = instance.getDimensionType().getMinY(); y < 40; y++) {
+            instance.setBlock(3, y, 3, Block.AIR);
+        }
+        assertEquals(instance.getDimensionType().getMinY(), worldSurface.getHeight(3, 3));
+    }
+
+    @Test
+    public void copy(Env env) {
+        var instance = (InstanceContainer) env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        instance.setBlock(0, 60, 0, Block.STONE);
+        var copy = instance.copy();
+        final Heightmap heightmap = copy.getChunk(0, 0).heightmap(Heightmap.Type.MOTION_BLOCKING);
+        assertEquals(61, heightmap.getHeight(0, 0));
+        copy.setBlock(0, 60, 0, Block.AIR);
+        assertEquals(40, heightmap.getHeight(0, 0));
+        assertEquals(61, instance.getChunk(0, 0).heightmap(Heightmap.Type.MOTION_BLOCKING).getHeight(0, 0));
+    }
+}
@@ -3,14 +3,60 @@ package net.minestom.server.instance;
 import net.minestom.server.api.Env;
 import net.minestom.server.api.EnvTest;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.utils.NamespaceID;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @EnvTest
 public class InstanceBlockIntegrationTest {
 
+    @Test
+    public void copyWhileWriting(Env env) throws InterruptedException {
+        var instance = (InstanceContainer) env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            int i = 0;
+            while (!stop.get()) {
+                instance.setBlock(i & 0xF, 50 + (i >> 4 & 0x7), 0, (i >> 7 & 1) == 0 ? Block.STONE : Block.DIRT);
+                i++;
+            }
+        });
+        writer.start();
+        List<Instance> copies = new ArrayList<>();
+        List<Block[]> contents = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            var copy = instance.copy();
+            copies.add(copy);
+            contents.add(region(copy));
+        }
+        stop.set(true);
+        writer.join();
+        // Writes to the source must not leak into the copies
+        for (int i = 0; i < copies.size(); i++) {
+            assertArrayEquals(contents.get(i), region(copies.get(i)));
+        }
+    }
+
+    private static Block[] region(Instance instance) {
+        Block[] blocks = new Block[128];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = instance.getBlock(i & 0xF, 50 + (i >> 4), 0);
+        }
+        return blocks;
+    }
+
     @Test
     public void basic(Env env) {
         var instance = env.createFlatInstance();
@@ -47,4 +93,56 @@ public class InstanceBlockIntegrationTest {
         instance.loadChunk(0, 0).join();
         assertEquals(Block.AIR, instance.getBlock(0, 50, 0));
     }
+
+    @Test
+    public void recursiveDestroy(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        AtomicInteger destroyCount = new AtomicInteger();
+        BlockHandler handler = new BlockHandler() {
+            @Override
+            public void onDestroy(@NotNull Destroy destroy) {
+                destroyCount.incrementAndGet();
+                // Already being changed, must be ignored
+                destroy.getInstance().setBlock(destroy.getBlockPosition(), Block.AIR);
+            }
+
+            @Override
+            public @NotNull NamespaceID getNamespaceId() {
+                return NamespaceID.from("minestom:test");
+            }
+        };
+        instance.setBlock(0, 50, 0, Block.STONE.withHandler(handler));
+        instance.setBlock(0, 50, 0, Block.AIR);
+        assertEquals(1, destroyCount.get());
+        assertEquals(Block.AIR, instance.getBlock(0, 50, 0));
+
+        // The same block can be changed again in the same tick
+        instance.setBlock(0, 50, 0, Block.STONE);
+        assertEquals(Block.STONE, instance.getBlock(0, 50, 0));
+    }
+
+    @Test
+    public void concurrentChanges(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        instance.loadChunk(1, 0).join();
+        CompletableFuture<?>[] futures = new CompletableFuture[2];
+        for (int i = 0; i < futures.length; i++) {
+            final int offset = i * 16;
+            futures[i] = CompletableFuture.runAsync(() -> {
+                for (int y = 41; y < 100; y++) {
+                    for (int x = 0; x < 16; x++) {
+                        instance.setBlock(offset + x, y, 0, Block.STONE);
+                    }
+                }
+            });
+        }
+        CompletableFuture.allOf(futures).join();
+        for (int y = 41; y < 100; y++) {
+            for (int x = 0; x < 32; x++) {
+                assertEquals(Block.STONE, instance.getBlock(x, y, 0));
+            }
+        }
+    }
 }
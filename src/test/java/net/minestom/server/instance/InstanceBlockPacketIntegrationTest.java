@@ -5,9 +5,12 @@ import net.minestom.server.api.EnvTest;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.batch.ChunkBatch;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.network.packet.server.play.BlockChangePacket;
 import net.minestom.server.network.packet.server.play.BlockEntityDataPacket;
+import net.minestom.server.network.packet.server.play.ChunkDataPacket;
+import net.minestom.server.network.packet.server.play.MultiBlockChangePacket;
 import net.minestom.server.tag.Tag;
 import net.minestom.server.utils.NamespaceID;
 import org.jetbrains.annotations.NotNull;
@@ -18,7 +21,9 @@ import org.junit.jupiter.api.Test;
 import java.io.StringReader;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @EnvTest
@@ -34,9 +39,12 @@ public class InstanceBlockPacketIntegrationTest {
 
         assertEquals(Block.AIR, instance.getBlock(blockPoint));
 
-        var tracker = connection.trackIncoming();
+        var tracker = connection.trackIncoming(BlockChangePacket.class);
         instance.setBlock(blockPoint, Block.STONE);
-        tracker.assertSingle(BlockChangePacket.class, packet -> {
+        // Sent at the end of the tick
+        tracker.assertEmpty();
+        env.tick();
+        tracker.assertSingle(packet -> {
             assertEquals(blockPoint, packet.blockPosition());
             assertEquals(Block.STONE.stateId(), packet.blockStateId());
         });
@@ -84,6 +92,7 @@ public class InstanceBlockPacketIntegrationTest {
         var blockChangeTracker = connection.trackIncoming(BlockChangePacket.class);
         var blockEntityTracker = connection.trackIncoming(BlockEntityDataPacket.class);
         instance.setBlock(blockPoint, block);
+        env.tick();
         blockChangeTracker.assertSingle(packet -> {
             assertEquals(blockPoint, packet.blockPosition());
             assertEquals(block.stateId(), packet.blockStateId());
@@ -96,4 +105,81 @@ public class InstanceBlockPacketIntegrationTest {
 
         assertEquals(block, instance.getBlock(blockPoint));
     }
+
+    @Test
+    public void coalescedChanges(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        connection.connect(instance, new Pos(0, 40, 0)).join();
+
+        var singleTracker = connection.trackIncoming(BlockChangePacket.class);
+        var multiTracker = connection.trackIncoming(MultiBlockChangePacket.class);
+        instance.setBlock(1, 41, 2, Block.STONE);
+        instance.setBlock(3, 42, 4, Block.STONE);
+        // Overwritten in the same tick
+        instance.setBlock(1, 41, 2, Block.DIRT);
+        // Different section
+        instance.setBlock(1, 70, 2, Block.GOLD_BLOCK);
+        env.tick();
+
+        singleTracker.assertSingle(packet -> {
+            assertEquals(new Vec(1, 70, 2), packet.blockPosition());
+            assertEquals(Block.GOLD_BLOCK.stateId(), packet.blockStateId());
+        });
+        multiTracker.assertSingle(packet -> assertArrayEquals(new long[]{
+                (long) Block.STONE.stateId() << 12 | 3 << 8 | 4 << 4 | 10,
+                (long) Block.DIRT.stateId() << 12 | 1 << 8 | 2 << 4 | 9
+        }, packet.blocks()));
+    }
+
+    @Test
+    public void changedByBatch(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        connection.connect(instance, new Pos(0, 40, 0)).join();
+
+        var tracker = connection.trackIncoming(BlockChangePacket.class);
+        instance.setBlock(1, 41, 2, Block.STONE);
+        // Sent immediately, the accumulated change must not override it
+        ChunkBatch batch = new ChunkBatch();
+        batch.setBlock(1, 41, 2, Block.DIRT);
+        CompletableFuture<Chunk> future = new CompletableFuture<>();
+        batch.unsafeApply(instance, instance.getChunk(0, 0), future::complete);
+        future.join();
+        env.tick();
+
+        tracker.assertSingle(packet -> {
+            assertEquals(new Vec(1, 41, 2), packet.blockPosition());
+            assertEquals(Block.DIRT.stateId(), packet.blockStateId());
+        });
+        assertEquals(Block.DIRT, instance.getBlock(1, 41, 2));
+    }
+
+    @Test
+    public void chunkBatchPartialUpdate(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        connection.connect(instance, new Pos(0, 40, 0)).join();
+
+        ChunkBatch batch = new ChunkBatch();
+        batch.setBlock(1, 41, 2, Block.STONE);
+        batch.setBlock(3, 60, 4, Block.DIRT);
+
+        var chunkTracker = connection.trackIncoming(ChunkDataPacket.class);
+        var changeTracker = connection.trackIncoming(MultiBlockChangePacket.class);
+        CompletableFuture<Chunk> future = new CompletableFuture<>();
+        batch.unsafeApply(instance, instance.getChunk(0, 0), future::complete);
+        future.join();
+        chunkTracker.assertEmpty();
+        var packets = changeTracker.collect();
+        assertEquals(2, packets.size());
+        for (MultiBlockChangePacket packet : packets) {
+            final long expected = (packet.chunkSectionPosition() & 0xFFFFF) == 2 ?
+                    (long) Block.STONE.stateId() << 12 | 1 << 8 | 2 << 4 | 9 :
+                    (long) Block.DIRT.stateId() << 12 | 3 << 8 | 4 << 4 | 12;
+            assertArrayEquals(new long[]{expected}, packet.blocks());
+        }
+        assertEquals(Block.STONE, instance.getBlock(1, 41, 2));
+        assertEquals(Block.DIRT, instance.getBlock(3, 60, 4));
+    }
 }
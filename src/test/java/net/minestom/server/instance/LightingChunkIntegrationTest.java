@@ -0,0 +1,108 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.instance.block.Block;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class LightingChunkIntegrationTest {
+
+    @Test
+    public void generated(Env env) {
+        var instance = (InstanceContainer) env.createFlatInstance();
+        instance.setChunkSupplier(LightingChunk::new);
+        var chunk = instance.loadChunk(0, 0).join();
+        assertInstanceOf(LightingChunk.class, chunk);
+        // Computed by the light workers
+        ((LightingChunk) chunk).relightAsync().join();
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                assertEquals(15, skyLight(chunk, x, 40, z));
+                assertEquals(15, skyLight(chunk, x, 300, z));
+                assertEquals(0, skyLight(chunk, x, 39, z));
+                assertEquals(0, skyLight(chunk, x, -10, z));
+            }
+        }
+    }
+
+    @Test
+    public void incremental(Env env) {
+        var instance = (InstanceContainer) env.createFlatInstance();
+        instance.setChunkSupplier(LightingChunk::new);
+        var chunk = instance.loadChunk(0, 0).join();
+        ((LightingChunk) chunk).relightAsync().join();
+
+        instance.setBlock(5, 50, 5, Block.STONE);
+        assertEquals(0, skyLight(chunk, 5, 50, 5));
+        assertEquals(14, skyLight(chunk, 5, 49, 5));
+        assertEquals(14, skyLight(chunk, 5, 40, 5));
+        assertEquals(15, skyLight(chunk, 5, 51, 5));
+
+        // Opening the ground lets the light go down
+        instance.setBlock(8, 39, 8, Block.AIR);
+        assertEquals(15, skyLight(chunk, 8, 39, 8));
+        assertEquals(0, skyLight(chunk, 8, 38, 8));
+
+        instance.setBlock(5, 50, 5, Block.AIR);
+        assertEquals(15, skyLight(chunk, 5, 50, 5));
+        assertEquals(15, skyLight(chunk, 5, 40, 5));
+    }
+
+    @Test
+    public void copy(Env env) {
+        var instance = (InstanceContainer) env.createFlatInstance();
+        instance.setChunkSupplier(LightingChunk::new);
+        ((LightingChunk) instance.loadChunk(0, 0).join()).relightAsync().join();
+        var copy = instance.copy();
+        var copiedChunk = copy.getChunk(0, 0);
+        assertInstanceOf(LightingChunk.class, copiedChunk);
+        copy.setBlock(5, 50, 5, Block.STONE);
+        assertEquals(14, skyLight(copiedChunk, 5, 49, 5));
+        assertEquals(15, skyLight(instance.getChunk(0, 0), 5, 49, 5));
+    }
+
+    @Test
+    public void border(Env env) {
+        var instance = (InstanceContainer) env.createFlatInstance();
+        instance.setChunkSupplier(LightingChunk::new);
+        var chunk = (LightingChunk) instance.loadChunk(0, 0).join();
+        chunk.relightAsync().join();
+        instance.setBlock(15, 45, 8, Block.TORCH);
+        // Loaded after the torch has been placed
+        var neighbour = (LightingChunk) instance.loadChunk(1, 0).join();
+        neighbour.relightAsync().join();
+        LightingChunk.awaitLightWorkers();
+        assertEquals(14, blockLight(chunk, 15, 45, 8));
+        assertEquals(13, blockLight(neighbour, 0, 45, 8));
+        assertEquals(12, blockLight(neighbour, 1, 45, 8));
+
+        // Light removed on both sides
+        instance.setBlock(15, 45, 8, Block.AIR);
+        LightingChunk.awaitLightWorkers();
+        assertEquals(0, blockLight(chunk, 15, 45, 8));
+        assertEquals(0, blockLight(neighbour, 0, 45, 8));
+
+        // Spreading from the neighbour
+        instance.setBlock(16, 45, 8, Block.TORCH);
+        LightingChunk.awaitLightWorkers();
+        assertEquals(13, blockLight(chunk, 15, 45, 8));
+        assertEquals(12, blockLight(chunk, 14, 45, 8));
+    }
+
+    private static int blockLight(Chunk chunk, int x, int y, int z) {
+        return nibble(chunk.getSectionAt(y).getBlockLight(), x, y, z);
+    }
+
+    private static int skyLight(Chunk chunk, int x, int y, int z) {
+        return nibble(chunk.getSectionAt(y).getSkyLight(), x, y, z);
+    }
+
+    private static int nibble(byte[] light, int x, int y, int z) {
+        if (light.length == 0) return 0;
+        final int index = (y & 0xF) << 8 | z << 4 | x;
+        return (light[index >> 1] >> ((index & 1) << 2)) & 0xF;
+    }
+}
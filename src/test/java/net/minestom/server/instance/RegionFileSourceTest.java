@@ -0,0 +1,89 @@
+package net.minestom.server.instance;
+
+import org.jglrxavpok.hephaistos.mca.BlockState;
+import org.jglrxavpok.hephaistos.mca.ChunkColumn;
+import org.jglrxavpok.hephaistos.mca.RegionFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegionFileSourceTest {
+
+    @Test
+    public void header(@TempDir Path dir) throws Exception {
+        final Path path = dir.resolve("r.0.0.mca");
+        try (RegionFileSource source = new RegionFileSource(path)) {
+            assertEquals(RegionFileSource.HEADER_LENGTH, source.length());
+            source.writeInt(4, 42);
+            assertEquals(42, source.readInt(4));
+        }
+        // Header has been mapped to the file
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            file.seek(4);
+            assertEquals(42, file.readInt());
+        }
+    }
+
+    @Test
+    public void batchedWrites(@TempDir Path dir) throws Exception {
+        final Path path = dir.resolve("r.0.0.mca");
+        try (RegionFileSource source = new RegionFileSource(path)) {
+            source.writeBytes(8192, new byte[]{1, 2, 3});
+            source.writeByte(8195, (byte) 4);
+            // Not flushed yet, but visible
+            assertEquals(8196, source.length());
+            assertEquals(RegionFileSource.HEADER_LENGTH, Files.size(path));
+            assertEquals(4, source.readByte(8195));
+            assertEquals(8196, Files.size(path));
+        }
+    }
+
+    @Test
+    public void sequentialStrings(@TempDir Path dir) throws Exception {
+        final Path path = dir.resolve("r.0.0.mca");
+        try (RegionFileSource source = new RegionFileSource(path)) {
+            source.seek(8192);
+            source.writeUTF("Hello é");
+            source.writeBytes("line1\r\nline2\n");
+            source.writeChars("ab");
+            source.flush();
+
+            source.seek(8192);
+            assertEquals("Hello é", source.readUTF());
+            assertEquals("line1", source.readLine());
+            assertEquals("line2", source.readLine());
+            assertEquals('a', source.readChar());
+            assertEquals('b', source.readChar());
+            assertNull(source.readLine());
+        }
+    }
+
+    @Test
+    public void regionRoundTrip(@TempDir Path dir) throws Exception {
+        final Path path = dir.resolve("r.0.0.mca");
+        final BlockState stone = new BlockState("minecraft:stone");
+        RegionFile region = new RegionFile(new RegionFileSource(path), 0, 0, 0, 255);
+        for (int i = 0; i < 8; i++) {
+            ChunkColumn column = region.getOrCreateChunk(i, i);
+            column.setBlockState(i, i, i, stone);
+            region.writeColumn(column);
+            region.forget(column);
+        }
+        region.close();
+
+        // Read back with the hephaistos file implementation
+        RegionFile reader = new RegionFile(new RandomAccessFile(path.toFile(), "r"), 0, 0, 0, 255);
+        for (int i = 0; i < 8; i++) {
+            final ChunkColumn column = reader.getChunk(i, i);
+            assertNotNull(column);
+            assertEquals(stone, column.getBlockState(i, i, i));
+            assertEquals("minecraft:air", column.getBlockState(i, i + 1, i).getName());
+        }
+        reader.close();
+    }
+}
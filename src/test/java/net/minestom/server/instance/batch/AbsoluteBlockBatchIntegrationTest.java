@@ -0,0 +1,52 @@
+package net.minestom.server.instance.batch;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.instance.block.Block;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@EnvTest
+public class AbsoluteBlockBatchIntegrationTest {
+
+    @Test
+    public void bulkApplyInverse(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        instance.loadChunk(1, 0).join();
+        instance.setBlock(5, 45, 5, Block.DIRT);
+
+        // Enough blocks per chunk to write the palettes directly
+        AbsoluteBlockBatch batch = new AbsoluteBlockBatch(new BatchOption().setCalculateInverse(true));
+        for (int x = 0; x < 32; x++) {
+            for (int z = 0; z < 16; z++) {
+                for (int y = 30; y < 50; y++) {
+                    batch.setBlock(x, y, z, Block.GOLD_BLOCK);
+                }
+            }
+        }
+        final long start = System.currentTimeMillis();
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        AbsoluteBlockBatch inverse = batch.unsafeApply(instance, () -> future.complete(null));
+        future.join();
+        for (int x = 0; x < 32; x++) {
+            for (int y = 30; y < 50; y++) {
+                assertEquals(Block.GOLD_BLOCK, instance.getBlock(x, y, 7));
+            }
+        }
+        assertEquals(Block.STONE, instance.getBlock(0, 29, 0));
+        // Only palette writes in this chunk, still considered as changed
+        assertTrue(instance.getChunk(1, 0).getLastChangeTime() >= start);
+
+        CompletableFuture<Void> inverseFuture = new CompletableFuture<>();
+        inverse.unsafeApply(instance, () -> inverseFuture.complete(null));
+        inverseFuture.join();
+        assertEquals(Block.STONE, instance.getBlock(3, 35, 3));
+        assertEquals(Block.AIR, instance.getBlock(20, 45, 3));
+        assertEquals(Block.DIRT, instance.getBlock(5, 45, 5));
+    }
+}
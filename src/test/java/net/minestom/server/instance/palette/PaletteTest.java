@@ -2,6 +2,8 @@ package net.minestom.server.instance.palette;
 
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
+import net.minestom.server.utils.binary.BinaryReader;
+import net.minestom.server.utils.binary.BinaryWriter;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
@@ -276,6 +278,55 @@ public class PaletteTest {
         assertDoesNotThrow(() -> Palette.newPalette(16, 5, 3));
     }
 
+    @Test
+    public void read() {
+        var palettes = testPalettes();
+        for (Palette palette : palettes) {
+            final int dimension = palette.dimension();
+            // Filled, indirect and direct palettes
+            for (int valueCount : new int[]{1, 3, dimension * dimension * dimension}) {
+                palette.setAll((x, y, z) -> (x + y * dimension + z * dimension * dimension) % valueCount);
+                palette.set(0, 0, 0, 5);
+                BinaryWriter writer = new BinaryWriter();
+                writer.write(palette);
+
+                Palette read = Palette.newPalette(dimension, 5, 3);
+                read.read(new BinaryReader(writer.toByteArray()));
+                assertEquals(palette.count(), read.count());
+                palette.getAll((x, y, z, value) -> assertEquals(value, read.get(x, y, z)));
+                // Still modifiable
+                read.set(1, 0, 0, 1000);
+                assertEquals(1000, read.get(1, 0, 0));
+            }
+        }
+    }
+
+    @Test
+    public void cloneCopyOnWrite() {
+        var palettes = testPalettes();
+        for (Palette palette : palettes) {
+            palette.set(0, 0, 0, 1);
+            palette.set(1, 0, 0, 2);
+            Palette clone = palette.clone();
+            assertSame(((AdaptivePalette) palette).palette, ((AdaptivePalette) clone).palette,
+                    "Clone should share the palette until modified");
+
+            clone.set(0, 0, 0, 3);
+            assertNotSame(((AdaptivePalette) palette).palette, ((AdaptivePalette) clone).palette);
+            assertEquals(1, palette.get(0, 0, 0));
+            assertEquals(3, clone.get(0, 0, 0));
+            assertEquals(2, clone.get(1, 0, 0));
+
+            // Source modification after cloning
+            Palette secondClone = palette.clone();
+            palette.replaceAll((x, y, z, value) -> value + 10);
+            assertEquals(11, palette.get(0, 0, 0));
+            assertEquals(1, secondClone.get(0, 0, 0));
+            assertEquals(2, secondClone.get(1, 0, 0));
+            assertEquals(2, secondClone.count());
+        }
+    }
+
     private static List<Palette> testPalettes() {
         return List.of(
                 Palette.newPalette(2, 5, 3),
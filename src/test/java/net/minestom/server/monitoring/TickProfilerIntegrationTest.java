@@ -0,0 +1,60 @@
+package net.minestom.server.monitoring;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.event.server.ServerTickProfileEvent;
+import net.minestom.server.instance.Instance;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class TickProfilerIntegrationTest {
+
+    @Test
+    public void disabled(Env env) {
+        final TickProfiler profiler = env.process().profiler();
+        assertFalse(profiler.isEnabled());
+        var listener = env.listen(ServerTickProfileEvent.class);
+        listener.failFollowup();
+        env.tick();
+        assertEquals(0, profiler.tickCount());
+        assertThrows(IllegalStateException.class, () -> profiler.tickTime(0));
+    }
+
+    @Test
+    public void phases(Env env) {
+        final Instance instance = env.createFlatInstance();
+        new Entity(EntityType.ZOMBIE).setInstance(instance, new Pos(0, 42, 0)).join();
+
+        final TickProfiler profiler = env.process().profiler();
+        profiler.enable();
+        var listener = env.listen(ServerTickProfileEvent.class);
+        listener.followup(event -> assertSame(profiler, event.getProfiler()));
+        env.tick();
+        assertEquals(1, profiler.tickCount());
+
+        long phasesTime = 0;
+        for (TickProfiler.Phase phase : TickProfiler.Phase.values()) {
+            final long time = profiler.phaseTime(phase, 0);
+            assertTrue(time >= 0);
+            phasesTime += time;
+        }
+        assertTrue(phasesTime <= profiler.tickTime(0));
+        assertTrue(profiler.entityTypeTime(EntityType.ZOMBIE, 0) > 0);
+
+        AtomicInteger partitionCount = new AtomicInteger();
+        profiler.partitions(0, (partition, time) -> {
+            assertTrue(time > 0);
+            partitionCount.incrementAndGet();
+        });
+        assertTrue(partitionCount.get() > 0);
+
+        profiler.disable();
+    }
+}
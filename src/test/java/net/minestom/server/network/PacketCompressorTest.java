@@ -0,0 +1,93 @@
+package net.minestom.server.network;
+
+import net.minestom.server.network.compression.PacketCompressor;
+import net.minestom.server.network.packet.server.ServerPacketIdentifier;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PacketCompressorTest {
+
+    @Test
+    public void fast() throws DataFormatException {
+        Random random = new Random(0);
+        for (int level = 0; level <= 9; level++) {
+            PacketCompressor compressor = PacketCompressor.fast(PacketCompressor.LevelPolicy.constant(level));
+            assertRoundTrip(compressor, new byte[0]);
+            assertRoundTrip(compressor, new byte[]{1, 2, 3});
+            assertRoundTrip(compressor, new byte[100_000]);
+            assertRoundTrip(compressor, randomBytes(random, 100_000, 256));
+            assertRoundTrip(compressor, randomBytes(random, 200_000, 4));
+            assertRoundTrip(compressor, "Hello World! ".repeat(1000).getBytes());
+        }
+    }
+
+    @Test
+    public void fastCompresses() throws DataFormatException {
+        byte[] data = "Hello World! ".repeat(1000).getBytes();
+        final int size = assertRoundTrip(PacketCompressor.fast(), data);
+        assertTrue(size < data.length / 10, "Repetitive data should be compressed");
+        // Incompressible data uses stored blocks
+        byte[] random = randomBytes(new Random(0), 50_000, 256);
+        assertTrue(assertRoundTrip(PacketCompressor.fast(), random) <= random.length + 11);
+    }
+
+    @Test
+    public void fastDefaultPolicy() {
+        // The zlib header flag reflects the level selected for the packet
+        PacketCompressor compressor = PacketCompressor.fast();
+        assertEquals((byte) 0xDA, compressHeaderFlag(compressor, ServerPacketIdentifier.CHUNK_DATA));
+        assertEquals((byte) 0x01, compressHeaderFlag(compressor, ServerPacketIdentifier.ENTITY_POSITION));
+        assertEquals((byte) 0x9C, compressHeaderFlag(compressor, ServerPacketIdentifier.CHAT_MESSAGE));
+    }
+
+    @Test
+    public void zlib() throws DataFormatException {
+        PacketCompressor compressor = PacketCompressor.zlib();
+        assertRoundTrip(compressor, "Hello World! ".repeat(1000).getBytes());
+        assertRoundTrip(compressor, randomBytes(new Random(0), 10_000, 16));
+    }
+
+    @Test
+    public void invalidLevel() {
+        assertThrows(IllegalArgumentException.class, () -> PacketCompressor.LevelPolicy.constant(10));
+        assertThrows(IllegalArgumentException.class, () -> PacketCompressor.fast(id -> -2)
+                .compress(0, ByteBuffer.allocate(1), ByteBuffer.allocate(16)));
+    }
+
+    private static int assertRoundTrip(PacketCompressor compressor, byte[] data) throws DataFormatException {
+        ByteBuffer input = ByteBuffer.allocateDirect(data.length).put(data).flip();
+        ByteBuffer output = ByteBuffer.allocateDirect(data.length * 2 + 64);
+        compressor.compress(0, input, output);
+        assertFalse(input.hasRemaining());
+        output.flip();
+        final int size = output.remaining();
+
+        Inflater inflater = new Inflater();
+        inflater.setInput(output);
+        byte[] result = new byte[data.length];
+        final int length = inflater.inflate(result);
+        assertTrue(inflater.finished());
+        assertEquals(data.length, length);
+        assertArrayEquals(data, result);
+        inflater.end();
+        return size;
+    }
+
+    private static byte compressHeaderFlag(PacketCompressor compressor, int packetId) {
+        ByteBuffer output = ByteBuffer.allocate(256);
+        compressor.compress(packetId, ByteBuffer.wrap(new byte[100]), output);
+        return output.get(1);
+    }
+
+    private static byte[] randomBytes(Random random, int length, int bound) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) bytes[i] = (byte) random.nextInt(bound);
+        return bytes;
+    }
+}
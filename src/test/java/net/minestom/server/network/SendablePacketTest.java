@@ -1,6 +1,7 @@
 package net.minestom.server.network;
 
 import net.kyori.adventure.text.Component;
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.message.ChatPosition;
 import net.minestom.server.network.packet.server.CachedPacket;
 import net.minestom.server.network.packet.server.LazyPacket;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -43,4 +45,41 @@ public class SendablePacketTest {
 
         assertSame(packet, cached.packet());
     }
+
+    @Test
+    public void cachedCompression() {
+        var packet = new ChatMessagePacket(Component.text("Hello World!".repeat(100)), ChatPosition.CHAT, UUID.randomUUID());
+        var cached = new CachedPacket(packet);
+
+        var compressed = cached.body(true);
+        var uncompressed = cached.body(false);
+        assertEquals(PacketUtils.allocateTrimmedPacket(packet, MinecraftServer.getCompressionThreshold()).body(), compressed);
+        assertEquals(PacketUtils.allocateTrimmedPacket(packet, 0).body(), uncompressed);
+        assertTrue(compressed.remaining() < uncompressed.remaining());
+        // Both frames are cached
+        assertSame(compressed, cached.body(true));
+        assertSame(uncompressed, cached.body(false));
+
+        cached.invalidate();
+        assertNotSame(compressed, cached.body(true));
+    }
+
+    @Test
+    public void cachedInvalidationDuringComputation() {
+        var first = new ChatMessagePacket(Component.text("First"), ChatPosition.CHAT, UUID.randomUUID());
+        var second = new ChatMessagePacket(Component.text("Second"), ChatPosition.CHAT, UUID.randomUUID());
+        AtomicReference<CachedPacket> ref = new AtomicReference<>();
+        AtomicBoolean invalidated = new AtomicBoolean();
+        var cached = new CachedPacket(() -> {
+            if (invalidated.getAndSet(true)) return second;
+            // Data modified while the frame is being computed
+            ref.get().invalidate();
+            return first;
+        });
+        ref.set(cached);
+
+        assertEquals(PacketUtils.allocateTrimmedPacket(first, 0).body(), cached.body(false));
+        // The outdated frame must not be reused
+        assertEquals(PacketUtils.allocateTrimmedPacket(second, 0).body(), cached.body(false));
+    }
 }
@@ -0,0 +1,31 @@
+package net.minestom.server.network;
+
+import net.minestom.server.utils.binary.PooledBuffers;
+import net.minestom.server.utils.binary.SharedBuffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SharedBufferTest {
+
+    @Test
+    public void release() {
+        PooledBuffers.clear();
+        var pooled = PooledBuffers.get();
+        pooled.writeBytes(new byte[]{1, 2, 3});
+        SharedBuffer buffer = SharedBuffer.of(pooled);
+        assertEquals(3, buffer.size());
+        assertEquals(2, buffer.view(1, 2).get(0));
+
+        buffer.retain();
+        assertEquals(2, buffer.refCount());
+        buffer.release();
+        assertEquals(0, PooledBuffers.count());
+        // Last reference returns the buffer to the pool
+        buffer.release();
+        assertEquals(1, PooledBuffers.count());
+        assertSame(pooled, PooledBuffers.get());
+
+        assertThrows(IllegalStateException.class, buffer::retain);
+    }
+}
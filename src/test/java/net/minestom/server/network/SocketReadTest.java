@@ -124,4 +124,33 @@ public class SocketReadTest {
         assertEquals("channel", readPacket.channel());
         assertEquals(2000, readPacket.data().length);
     }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void filtered(boolean compressed) throws DataFormatException {
+        var packet = new ClientPluginMessagePacket("channel", new byte[2000]);
+
+        var buffer = PooledBuffers.packetBuffer();
+        PacketUtils.writeFramedPacket(buffer, 0x0A, packet, compressed ? 256 : 0);
+        final int firstSize = buffer.position();
+        PacketUtils.writeFramedPacket(buffer, 0x0B, packet, compressed ? 256 : 0);
+
+        var wrapper = BinaryBuffer.wrap(buffer);
+        wrapper.reset(0, buffer.position());
+
+        // The second packet is kept for later
+        List<Pair<Integer, ByteBuffer>> packets = new ArrayList<>();
+        var remaining = PacketUtils.readPackets(wrapper, compressed, id -> id == 0x0A,
+                (integer, payload) -> packets.add(Pair.of(integer, payload)));
+        assertNotNull(remaining);
+        assertEquals(buffer.position() - firstSize, remaining.readableBytes());
+        assertEquals(1, packets.size());
+        assertEquals(0x0A, packets.get(0).left());
+
+        packets.clear();
+        assertNull(PacketUtils.readPackets(remaining, compressed, id -> true,
+                (integer, payload) -> packets.add(Pair.of(integer, payload))));
+        assertEquals(1, packets.size());
+        assertEquals(0x0B, packets.get(0).left());
+    }
 }
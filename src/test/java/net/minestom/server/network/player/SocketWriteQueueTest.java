@@ -0,0 +1,99 @@
+package net.minestom.server.network.player;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayDeque;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SocketWriteQueueTest {
+
+    @Test
+    public void moreSegmentsThanGatherLimit() throws Exception {
+        var channel = new TestChannel(Integer.MAX_VALUE);
+        var queue = queue(100, 10);
+        assertTrue(PlayerSocketConnection.writeQueue(channel, queue, new ByteBuffer[64]));
+        assertTrue(queue.isEmpty());
+        assertEquals(2, channel.writes);
+        assertEquals(1000, channel.output.size());
+    }
+
+    @Test
+    public void emptySegments() throws Exception {
+        var channel = new TestChannel(Integer.MAX_VALUE);
+        var queue = queue(10, 0);
+        assertTrue(PlayerSocketConnection.writeQueue(channel, queue, new ByteBuffer[4]));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void channelFull() throws Exception {
+        var channel = new TestChannel(25);
+        var queue = queue(100, 10);
+        assertFalse(PlayerSocketConnection.writeQueue(channel, queue, new ByteBuffer[64]));
+        assertEquals(1, channel.writes);
+        // Two segments written, the third partially
+        assertEquals(98, queue.size());
+        assertEquals(5, queue.peek().data().remaining());
+
+        channel.capacity = Integer.MAX_VALUE;
+        assertTrue(PlayerSocketConnection.writeQueue(channel, queue, new ByteBuffer[64]));
+        assertEquals(1000, channel.output.size());
+    }
+
+    private static ArrayDeque<PlayerSocketConnection.Segment> queue(int count, int size) {
+        ArrayDeque<PlayerSocketConnection.Segment> queue = new ArrayDeque<>();
+        for (int i = 0; i < count; i++) {
+            queue.add(new PlayerSocketConnection.Segment(ByteBuffer.allocate(size), null, null));
+        }
+        return queue;
+    }
+
+    private static final class TestChannel implements GatheringByteChannel {
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        private int capacity;
+        private int writes;
+
+        private TestChannel(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            this.writes++;
+            long written = 0;
+            for (int i = offset; i < offset + length && capacity > 0; i++) {
+                final ByteBuffer src = srcs[i];
+                final int count = Math.min(src.remaining(), capacity);
+                final byte[] bytes = new byte[count];
+                src.get(bytes);
+                output.writeBytes(bytes);
+                capacity -= count;
+                written += count;
+            }
+            return written;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            return (int) write(new ByteBuffer[]{src}, 0, 1);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
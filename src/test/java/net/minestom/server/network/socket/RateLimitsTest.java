@@ -0,0 +1,35 @@
+package net.minestom.server.network.socket;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitsTest {
+
+    @Test
+    public void budget() {
+        RateLimits limits = new RateLimits();
+        limits.set(0x05, 10, 2);
+        assertEquals(10, limits.rate(0x05));
+        assertEquals(RateLimits.DEFAULT_BURST, limits.burst(0x06));
+
+        var budget = limits.newBudget();
+        assertTrue(budget.tryAcquire(0x05));
+        assertTrue(budget.tryAcquire(0x05));
+        assertFalse(budget.tryAcquire(0x05), "Burst should be exhausted");
+        // Other packet ids have their own bucket
+        assertTrue(budget.tryAcquire(0x06));
+
+        // 10 packets per second, 100ms for a single token
+        budget.refill(System.nanoTime() + 100_000_000L);
+        assertTrue(budget.tryAcquire(0x05));
+        assertFalse(budget.tryAcquire(0x05));
+    }
+
+    @Test
+    public void invalid() {
+        RateLimits limits = new RateLimits();
+        assertThrows(IllegalArgumentException.class, () -> limits.set(0, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> limits.set(0, 1, 0));
+    }
+}
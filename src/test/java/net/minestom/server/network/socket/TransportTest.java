@@ -0,0 +1,29 @@
+package net.minestom.server.network.socket;
+
+import net.minestom.server.network.PacketProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransportTest {
+
+    @Test
+    public void find() {
+        assertSame(Transport.nio(), Transport.find("nio"));
+        assertTrue(Transport.nio().isAvailable());
+        // Unknown transports fall back to NIO
+        assertSame(Transport.nio(), Transport.find("unknown"));
+    }
+
+    @Test
+    public void server() throws IOException {
+        var server = new Server(new PacketProcessor(), Transport.nio());
+        assertSame(Transport.nio(), server.transport());
+        server.init(new InetSocketAddress("localhost", 0));
+        assertDoesNotThrow(server::start);
+        assertDoesNotThrow(server::stop);
+    }
+}
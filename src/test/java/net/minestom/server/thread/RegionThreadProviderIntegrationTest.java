@@ -0,0 +1,36 @@
+package net.minestom.server.thread;
+
+import net.minestom.server.api.Env;
+import net.minestom.server.api.EnvTest;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class RegionThreadProviderIntegrationTest {
+
+    @Test
+    public void sameRegion(Env env) {
+        final Instance instance = env.createFlatInstance();
+        ThreadProvider<Chunk> provider = ThreadProvider.region(4, 8);
+        assertEquals(ThreadProvider.RefreshType.ALWAYS, provider.refreshType());
+
+        final int thread = provider.findThread(instance.loadChunk(0, 0).join());
+        assertEquals(thread, provider.findThread(instance.loadChunk(7, 7).join()));
+        assertEquals(thread, provider.findThread(instance.loadChunk(3, 5).join()));
+        // Negative coordinates are part of a different region
+        assertNotEquals(thread, provider.findThread(instance.loadChunk(-1, 0).join()));
+    }
+
+    @Test
+    public void balance(Env env) {
+        final Instance instance = env.createFlatInstance();
+        ThreadProvider<Chunk> provider = ThreadProvider.region(2, 1);
+
+        final int first = provider.findThread(instance.loadChunk(0, 0).join());
+        final int second = provider.findThread(instance.loadChunk(1, 0).join());
+        assertNotEquals(first, second, "Regions should be spread over the threads");
+    }
+}
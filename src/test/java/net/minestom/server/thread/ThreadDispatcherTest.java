@@ -4,11 +4,13 @@ import net.minestom.server.Tickable;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -167,4 +169,118 @@ public class ThreadDispatcherTest {
 
         dispatcher.shutdown();
     }
+
+    @Test
+    public void workStealing() {
+        // Ensure that partitions of a busy thread are ticked by idle threads
+        final int threadCount = 4;
+        final int partitionCount = 16;
+        ThreadDispatcher<Tickable> dispatcher = ThreadDispatcher.workStealing(partition -> 0, threadCount);
+        assertEquals(threadCount, dispatcher.threads().size());
+
+        final AtomicInteger counter = new AtomicInteger();
+        Set<Thread> threads = new CopyOnWriteArraySet<>();
+        IntStream.range(0, partitionCount)
+                .mapToObj(value -> (Tickable) (time) -> {
+                    assertInstanceOf(TickThread.class, Thread.currentThread());
+                    threads.add(Thread.currentThread());
+                    counter.getAndIncrement();
+                    LockSupport.parkNanos(5_000_000);
+                })
+                .forEach(dispatcher::createPartition);
+
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(partitionCount, counter.get());
+        assertTrue(threads.size() > 1, "Partitions have not been stolen");
+
+        // Partitions must keep their thread
+        for (int i = 1; i < threadCount; i++) {
+            assertTrue(dispatcher.threads().get(i).entries().isEmpty());
+        }
+        assertEquals(partitionCount, dispatcher.threads().get(0).entries().size());
+
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(partitionCount * 2, counter.get());
+
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void balancing() {
+        // Ensure that partitions are moved based on their tick time
+        ThreadDispatcher<Tickable> dispatcher = ThreadDispatcher.of(ThreadProvider.balanced(), 2);
+        List<Tickable> heavyPartitions = List.of(
+                time -> LockSupport.parkNanos(2_000_000),
+                time -> LockSupport.parkNanos(2_000_000));
+        // Counter provider, both heavy partitions end up in the first thread
+        dispatcher.createPartition(heavyPartitions.get(0));
+        dispatcher.createPartition(time -> {});
+        dispatcher.createPartition(heavyPartitions.get(1));
+        dispatcher.createPartition(time -> {});
+
+        for (int i = 0; i < 20; i++) {
+            dispatcher.updateAndAwait(System.currentTimeMillis());
+        }
+        var partitions = dispatcher.partitions();
+        assertEquals(4, partitions.size());
+        final TickThread firstThread = partitions.get(heavyPartitions.get(0)).thread();
+        assertEquals(firstThread, partitions.get(heavyPartitions.get(1)).thread());
+        assertTrue(partitions.get(heavyPartitions.get(0)).averageTickTime() > 1_000_000);
+
+        dispatcher.refreshThreads();
+        partitions = dispatcher.partitions();
+        assertNotEquals(partitions.get(heavyPartitions.get(0)).thread(), partitions.get(heavyPartitions.get(1)).thread(),
+                "Heavy partitions should be split between the threads");
+
+        // Balanced threads should not be modified
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        dispatcher.refreshThreads();
+        assertEquals(partitions.get(heavyPartitions.get(0)).thread(), dispatcher.partitions().get(heavyPartitions.get(0)).thread());
+        assertEquals(partitions.get(heavyPartitions.get(1)).thread(), dispatcher.partitions().get(heavyPartitions.get(1)).thread());
+
+        dispatcher.shutdown();
+    }
+
+    @Test
+    public void balancingGroups() {
+        // Ensure that partitions of the same group are moved together
+        record Heavy(int id, int group) implements Tickable {
+            @Override
+            public void tick(long time) {
+                LockSupport.parkNanos(2_000_000);
+            }
+        }
+        ThreadDispatcher<Heavy> dispatcher = ThreadDispatcher.of(ThreadProvider.balanced(new ThreadProvider<>() {
+            @Override
+            public int findThread(@NotNull Heavy partition) {
+                return 0;
+            }
+
+            @Override
+            public @NotNull Object group(@NotNull Heavy partition) {
+                return partition.group();
+            }
+        }), 2);
+        List<Heavy> heavyPartitions = List.of(new Heavy(0, 0), new Heavy(1, 0), new Heavy(2, 1), new Heavy(3, 1));
+        heavyPartitions.forEach(dispatcher::createPartition);
+
+        for (int i = 0; i < 20; i++) {
+            dispatcher.updateAndAwait(System.currentTimeMillis());
+        }
+        var partitions = dispatcher.partitions();
+        assertEquals(4, partitions.size());
+        dispatcher.refreshThreads();
+        assertEquals(partitions.get(heavyPartitions.get(0)).thread(), partitions.get(heavyPartitions.get(1)).thread());
+        assertEquals(partitions.get(heavyPartitions.get(2)).thread(), partitions.get(heavyPartitions.get(3)).thread());
+        assertNotEquals(partitions.get(heavyPartitions.get(0)).thread(), partitions.get(heavyPartitions.get(2)).thread(),
+                "Groups should be split between the threads");
+
+        // New partitions join the thread of their group
+        var late = new Heavy(4, 1);
+        dispatcher.createPartition(late);
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(partitions.get(heavyPartitions.get(2)).thread(), dispatcher.partitions().get(late).thread());
+
+        dispatcher.shutdown();
+    }
 }